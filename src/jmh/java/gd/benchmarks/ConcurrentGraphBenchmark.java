@@ -0,0 +1,121 @@
+package gd.benchmarks;
+
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Edge update throughput of {@link ConcurrentGraph} with one and with several writer threads, compared to the
+ * single-threaded {@link Graph}. Every operation inserts the edges of one source vertex and removes them again,
+ * so the graphs stay the same size. Each writer thread cycles through its own range of source vertices.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentGraphBenchmark
+{
+    private static final int VERTEX_COUNT = 100_000;
+    private static final int EDGES_PER_VERTEX = 4;
+
+    private List<DspVertex> vertices;
+    private int[][] edgeTargets;
+    private DspEdge edge;
+
+    private Graph<DspVertex, DspEdge> graph;
+    private ConcurrentGraph<DspVertex, DspEdge> concurrentGraph;
+    private AtomicInteger nextThread;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        vertices = new ArrayList<>(TestData.generateRandomGraph(VERTEX_COUNT, 0, 42).getVertices());
+        edge = new DspEdge(1.0);
+
+        var random = new Random(42);
+        edgeTargets = new int[VERTEX_COUNT][];
+        for (int source = 0; source < VERTEX_COUNT; ++source)
+        {
+            edgeTargets[source] = random.ints(0, VERTEX_COUNT).distinct().limit(EDGES_PER_VERTEX).toArray();
+        }
+
+        graph = new Graph<>();
+        concurrentGraph = new ConcurrentGraph<>();
+        for (var vertex : vertices)
+        {
+            graph.addVertex(vertex);
+            concurrentGraph.addVertex(vertex);
+        }
+        nextThread = new AtomicInteger();
+    }
+
+    @State(Scope.Thread)
+    public static class WriterState
+    {
+        private int firstSource;
+        private int endSource;
+        private int nextSource;
+
+        @Setup(Level.Trial)
+        public void assignSources(ConcurrentGraphBenchmark benchmark, BenchmarkParams parameters)
+        {
+            var threadCount = parameters.getThreads();
+            var thread = benchmark.nextThread.getAndIncrement();
+            firstSource = thread * VERTEX_COUNT / threadCount;
+            endSource = (thread + 1) * VERTEX_COUNT / threadCount;
+            nextSource = firstSource;
+        }
+
+        private int next()
+        {
+            var source = nextSource;
+            nextSource = nextSource + 1 < endSource ? nextSource + 1 : firstSource;
+            return source;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Graph<DspVertex, DspEdge> updateGraph(WriterState state)
+    {
+        updateEdges(state, (source, target) -> graph.addEdge(source, target, edge), graph::removeEdge);
+        return graph;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ConcurrentGraph<DspVertex, DspEdge> updateConcurrentGraphSingleThreaded(WriterState state)
+    {
+        updateEdges(state, (source, target) -> concurrentGraph.addEdge(source, target, edge), concurrentGraph::removeEdge);
+        return concurrentGraph;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ConcurrentGraph<DspVertex, DspEdge> updateConcurrentGraph(WriterState state)
+    {
+        updateEdges(state, (source, target) -> concurrentGraph.addEdge(source, target, edge), concurrentGraph::removeEdge);
+        return concurrentGraph;
+    }
+
+    private void updateEdges(WriterState state, BiConsumer<DspVertex, DspVertex> addEdge, BiConsumer<DspVertex, DspVertex> removeEdge)
+    {
+        var source = state.next();
+        for (var target : edgeTargets[source])
+        {
+            addEdge.accept(vertices.get(source), vertices.get(target));
+        }
+        for (var target : edgeTargets[source])
+        {
+            removeEdge.accept(vertices.get(source), vertices.get(target));
+        }
+    }
+}
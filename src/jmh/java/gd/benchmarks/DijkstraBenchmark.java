@@ -0,0 +1,107 @@
+package gd.benchmarks;
+
+import gd.graph.*;
+import gd.graphalgorithms.*;
+import gd.utilities.TestData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DijkstraBenchmark
+{
+    @Param({"grid", "random"})
+    public String graphType;
+
+    @Param({"10000", "100000"})
+    public int vertexCount;
+
+    private Graph<DspVertex, DspEdge> graph;
+    private CsrGraph<DspVertex> csrGraph;
+    private DspVertex sourceVertex;
+    private DspVertex targetVertex;
+    private DijkstraShortestPaths<DspVertex, DspEdge> completedSearch;
+    private ContractionHierarchyQuery<DspVertex> hierarchyQuery;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = switch (graphType)
+        {
+            case "grid" -> TestData.generateGridGraph((int) Math.sqrt(vertexCount), 42);
+            case "random" -> TestData.generateRandomGraph(vertexCount, vertexCount * 4, 42);
+            default -> throw new IllegalArgumentException("Unknown graph type " + graphType);
+        };
+        csrGraph = CsrGraph.of(graph, DspEdge::weight);
+        sourceVertex = graph.getVertices().iterator().next();
+
+        completedSearch = runToCompletion(new DijkstraShortestPaths<>(graph, sourceVertex, DspEdge::weight));
+
+        targetVertex = sourceVertex;
+        for (var vertex : graph.getVertices())
+        {
+            var cost = completedSearch.getShortestPathCostTo(vertex);
+            if (cost != Double.MAX_VALUE && cost > completedSearch.getShortestPathCostTo(targetVertex))
+            {
+                targetVertex = vertex;
+            }
+        }
+
+        hierarchyQuery = new ContractionHierarchyQuery<>(ContractionHierarchy.build(csrGraph));
+    }
+
+    @Benchmark
+    public ShortestPathSearch<DspVertex> fullRun()
+    {
+        return runToCompletion(new DijkstraShortestPaths<>(graph, sourceVertex, DspEdge::weight));
+    }
+
+    @Benchmark
+    public ShortestPathSearch<DspVertex> fullRunOnCsrGraph()
+    {
+        return runToCompletion(new CsrDijkstraShortestPaths<>(csrGraph, sourceVertex));
+    }
+
+    @Benchmark
+    public ShortestPathSearch<DspVertex> fullRunDeltaStepping()
+    {
+        var search = new DeltaSteppingShortestPaths<>(csrGraph, sourceVertex);
+        search.run();
+        return search;
+    }
+
+    @Benchmark
+    public double runUntilTargetSettledFromSourceOnly()
+    {
+        var search = new DijkstraShortestPaths<>(graph, sourceVertex, DspEdge::weight, DijkstraShortestPaths.Initialization.SOURCE_ONLY);
+        search.runUntilSettled(targetVertex);
+        return search.getShortestPathCostTo(targetVertex);
+    }
+
+    @Benchmark
+    public List<DspVertex> getShortestPathTo()
+    {
+        return completedSearch.getShortestPathTo(targetVertex);
+    }
+
+    @Benchmark
+    public List<DspVertex> contractionHierarchyQuery()
+    {
+        return hierarchyQuery.getShortestPath(sourceVertex, targetVertex);
+    }
+
+    private static <S extends ShortestPathSearch<DspVertex>> S runToCompletion(S search)
+    {
+        while (!search.isCompleted())
+        {
+            search.step();
+        }
+        return search;
+    }
+}
@@ -0,0 +1,97 @@
+package gd.benchmarks;
+
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBenchmark
+{
+    private static final int EDGES_PER_VERTEX = 4;
+
+    @Param({"1000", "10000", "100000"})
+    public int vertexCount;
+
+    private List<DspVertex> vertices;
+    private int[] edgeSources;
+    private int[] edgeTargets;
+
+    private Graph<DspVertex, DspEdge> graph;
+    private int nextRemovedVertex;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = TestData.generateRandomGraph(vertexCount, vertexCount * EDGES_PER_VERTEX, 42);
+        vertices = new ArrayList<>(graph.getVertices());
+
+        var vertexIndices = new HashMap<DspVertex, Integer>();
+        for (int i = 0; i < vertices.size(); ++i)
+        {
+            vertexIndices.put(vertices.get(i), i);
+        }
+
+        edgeSources = new int[vertexCount * EDGES_PER_VERTEX];
+        edgeTargets = new int[vertexCount * EDGES_PER_VERTEX];
+        var edge = 0;
+        for (var source : vertices)
+        {
+            for (var target : graph.getNeighbours(source))
+            {
+                edgeSources[edge] = vertexIndices.get(source);
+                edgeTargets[edge] = vertexIndices.get(target);
+                edge++;
+            }
+        }
+    }
+
+    @Benchmark
+    public Graph<DspVertex, DspEdge> addVertices()
+    {
+        var newGraph = new Graph<DspVertex, DspEdge>();
+        for (var vertex : vertices)
+        {
+            newGraph.addVertex(vertex);
+        }
+        return newGraph;
+    }
+
+    @Benchmark
+    public Graph<DspVertex, DspEdge> addVerticesAndEdges()
+    {
+        var newGraph = addVertices();
+        for (int i = 0; i < edgeSources.length; ++i)
+        {
+            newGraph.addEdge(vertices.get(edgeSources[i]), vertices.get(edgeTargets[i]), new DspEdge(1.0));
+        }
+        return newGraph;
+    }
+
+    /**
+     * Removes a vertex and restores it along with its outgoing edges, so the graph stays the same size
+     * across invocations.
+     */
+    @Benchmark
+    public Graph<DspVertex, DspEdge> removeAndRestoreVertex()
+    {
+        var vertex = vertices.get(nextRemovedVertex);
+        nextRemovedVertex = (nextRemovedVertex + 1) % vertices.size();
+
+        var outgoingEdges = new HashMap<DspVertex, DspEdge>();
+        graph.forEachEdge(vertex, outgoingEdges::put);
+
+        graph.removeVertex(vertex);
+        graph.addVertex(vertex);
+        outgoingEdges.forEach((neighbour, edge) -> graph.addEdge(vertex, neighbour, edge));
+
+        return graph;
+    }
+}
@@ -0,0 +1,53 @@
+package gd.benchmarks;
+
+import gd.graph.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+final class GraphMlFiles
+{
+    static void write(Graph<DspVertex, DspEdge> graph, Path path) throws IOException
+    {
+        try (var writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+        {
+            writer.write("""
+                    <?xml version="1.0" encoding="UTF-8"?>
+                    <graphml xmlns="http://graphml.graphdrawing.org/xmlns">
+                        <key id="d0" for="node" attr.name="x" attr.type="double"/>
+                        <key id="d1" for="node" attr.name="y" attr.type="double"/>
+                        <key id="d2" for="node" attr.name="label" attr.type="string"/>
+                        <key id="d4" for="edge" attr.name="weight" attr.type="double">
+                            <default>0.0</default>
+                        </key>
+                        <graph id="G" edgedefault="directed">
+                    """);
+
+            for (var vertex : graph.getVertices())
+            {
+                writer.write("        <node id=\"" + vertex.key() + "\">");
+                writer.write("<data key=\"d0\">" + vertex.position().getX() + "</data>");
+                writer.write("<data key=\"d1\">" + vertex.position().getY() + "</data>");
+                writer.write("<data key=\"d2\">" + vertex.label() + "</data>");
+                writer.write("</node>\n");
+            }
+
+            var edgeId = 0;
+            for (var source : graph.getVertices())
+            {
+                for (var target : graph.getNeighbours(source))
+                {
+                    writer.write("        <edge id=\"e" + edgeId++ + "\" source=\"" + source.key() + "\" target=\"" + target.key() + "\">");
+                    writer.write("<data key=\"d4\">" + graph.getEdge(source, target).weight() + "</data>");
+                    writer.write("</edge>\n");
+                }
+            }
+
+            writer.write("""
+                        </graph>
+                    </graphml>
+                    """);
+        }
+    }
+}
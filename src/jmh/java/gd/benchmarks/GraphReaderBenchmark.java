@@ -0,0 +1,63 @@
+package gd.benchmarks;
+
+import gd.filesystem.*;
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class GraphReaderBenchmark
+{
+    private static final int EDGES_PER_VERTEX = 5;
+
+    @Param({"1000", "100000", "1000000"})
+    public int edgeCount;
+
+    private Path graphMlFile;
+    private Path binaryGraphFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        var graph = TestData.generateRandomGraph(edgeCount / EDGES_PER_VERTEX, edgeCount, 42);
+        graphMlFile = Files.createTempFile("dsp-benchmark-", ".xml");
+        GraphMlFiles.write(graph, graphMlFile);
+
+        binaryGraphFile = Files.createTempFile("dsp-benchmark-", ".dspg");
+        BinaryGraphWriter.writeGraph(graph, binaryGraphFile.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(graphMlFile);
+        Files.deleteIfExists(binaryGraphFile);
+    }
+
+    @Benchmark
+    public Graph<DspVertex, DspEdge> readGraphMl() throws GraphReaderException
+    {
+        return GraphReader.readGraphMl(graphMlFile.toString());
+    }
+
+    @Benchmark
+    public Graph<DspVertex, DspEdge> readGraphMlStreaming() throws GraphReaderException
+    {
+        return StreamingGraphReader.readGraphMl(graphMlFile.toString());
+    }
+
+    @Benchmark
+    public MappedGraph openBinaryGraph() throws GraphReaderException
+    {
+        return BinaryGraphReader.openGraph(binaryGraphFile.toString());
+    }
+}
@@ -0,0 +1,93 @@
+package gd;
+
+import gd.cli.*;
+import gd.filesystem.*;
+import gd.graph.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+/**
+ * Headless entry point that answers a file of shortest path queries and streams the results to standard output,
+ * see {@link BatchQueryRunner}. Does not load any JavaFX classes.
+ * <p>
+ * Usage: {@code <graph.graphml> <queries|-> [--format csv|jsonl] [--engine dijkstra|ch] [--threads N] [--path]}
+ * <p>
+ * The query file holds one {@code source,target} pair of vertex keys per line; {@code -} reads the queries from
+ * standard input. The default engine answers each query with bidirectional Dijkstra, which needs no
+ * preprocessing; {@code ch} builds a contraction hierarchy first, which pays off for large batches.
+ */
+public final class BatchMain
+{
+    private BatchMain() {}
+
+    public static void main(String[] args)
+    {
+        if (args.length < 2 || args[0].startsWith("--") || args[1].startsWith("--"))
+        {
+            System.err.println("Usage: <graph.graphml> <queries|-> [--format csv|jsonl] [--engine dijkstra|ch] [--threads N] [--path]");
+            System.exit(2);
+        }
+
+        try
+        {
+            var format = BatchQueryRunner.Format.CSV;
+            var engine = BatchQueryRunner.Engine.DIJKSTRA;
+            var threadCount = Runtime.getRuntime().availableProcessors();
+            var includePath = false;
+
+            for (int i = 2; i < args.length; ++i)
+            {
+                if (args[i].equals("--path"))
+                {
+                    includePath = true;
+                    continue;
+                }
+                if (i + 1 >= args.length)
+                {
+                    throw new IllegalArgumentException("Missing value for option " + args[i]);
+                }
+
+                var value = args[++i];
+                switch (args[i - 1])
+                {
+                    case "--format" -> format = switch (value)
+                    {
+                        case "csv" -> BatchQueryRunner.Format.CSV;
+                        case "jsonl" -> BatchQueryRunner.Format.JSONL;
+                        default -> throw new IllegalArgumentException("Unknown format " + value);
+                    };
+                    case "--engine" -> engine = switch (value)
+                    {
+                        case "dijkstra" -> BatchQueryRunner.Engine.DIJKSTRA;
+                        case "ch" -> BatchQueryRunner.Engine.CONTRACTION_HIERARCHY;
+                        default -> throw new IllegalArgumentException("Unknown engine " + value);
+                    };
+                    case "--threads" -> threadCount = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i - 1]);
+                }
+            }
+
+            var graph = CsrGraph.of(GraphReader.readGraphMl(args[0]), DspEdge::weight);
+            var pool = new ForkJoinPool(threadCount);
+            try (var queries = args[1].equals("-")
+                    ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                    : Files.newBufferedReader(Path.of(args[1]), StandardCharsets.UTF_8))
+            {
+                var output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+                new BatchQueryRunner(graph, engine, format, includePath, pool).run(queries, output);
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        catch (GraphReaderException | IOException | IllegalArgumentException e)
+        {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
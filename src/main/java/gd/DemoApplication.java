@@ -5,6 +5,7 @@ import gd.filesystem.*;
 import gd.geometry.Vector2D;
 import gd.graph.*;
 import gd.graphalgorithms.*;
+import gd.graphalgorithms.DijkstraShortestPaths.VertexState;
 import gd.utilities.*;
 import javafx.application.*;
 import javafx.beans.value.ChangeListener;
@@ -24,17 +25,35 @@ import javafx.util.StringConverter;
 import org.controlsfx.control.*;
 
 import java.io.*;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public final class DemoApplication extends Application
 {
+    private static final String ALGORITHM_DIJKSTRA = "Dijkstra";
+    private static final String ALGORITHM_A_STAR = "A*";
+    private static final long TREE_CACHE_CAPACITY = 1_000_000;
+
+    private static final Color COLOR_PENDING = Color.BLACK;
+    private static final Color COLOR_FRONTIER = Color.YELLOW;
+    private static final Color COLOR_SOURCE = Color.GREEN;
+    private static final Color COLOR_TARGET = Color.BLUE;
+    private static final Color COLOR_EXPANDED = Color.RED;
+    private static final Color COLOR_PATH = Color.BLUE;
+
     private Graph<DspVertex, DspEdge> currentGraph;
-    private DijkstraShortestPaths<DspVertex, DspEdge> dijkstraShortestPaths;
+    private EuclideanHeuristic heuristic;
+    private ShortestPathTreeCache<DspVertex, DspEdge> treeCache;
+    private ShortestPathSearch<DspVertex> shortestPathSearch;
 
     private DspView dspView;
     private SearchableComboBox<DspVertex> sourceVertexSelector;
     private SearchableComboBox<DspVertex> targetVertexSelector;
+    private ChoiceBox<String> algorithmSelector;
     private Text totalCostInfo;
 
     public static void main(String[] args)
@@ -47,119 +66,141 @@ public final class DemoApplication extends Application
     {
         sourceVertexSelector = new SearchableComboBox<>();
         targetVertexSelector = new SearchableComboBox<>();
+        algorithmSelector = new ChoiceBox<>(FXCollections.observableArrayList(ALGORITHM_DIJKSTRA, ALGORITHM_A_STAR));
+        algorithmSelector.setValue(ALGORITHM_DIJKSTRA);
+        algorithmSelector.getSelectionModel().selectedItemProperty().addListener((s, o, n) -> {
+            totalCostInfo.setText("N/A");
+            reset();
+        });
         totalCostInfo = new Text("N/A");
 
         var canvas = new Canvas();
         dspView = new DspView(canvas);
+        dspView.setLegend(new Legend(
+                new LegendEntry(LegendEntryType.VERTEX, COLOR_FRONTIER, "Frontier vertex"),
+                new LegendEntry(LegendEntryType.VERTEX, COLOR_EXPANDED, "Expanded vertex"),
+                new LegendEntry(LegendEntryType.VERTEX, COLOR_SOURCE, "Source vertex"),
+                new LegendEntry(LegendEntryType.VERTEX, COLOR_TARGET, "Target vertex"),
+                new LegendEntry(LegendEntryType.EDGE, COLOR_EXPANDED, "Visited edge"),
+                new LegendEntry(LegendEntryType.EDGE, COLOR_PATH, "Shortest path edge")
+        ));
 
         currentGraph = TestData.generateTestGraph2();
 
         updateControls();
-        dijkstraShortestPaths = new DijkstraShortestPaths<>(currentGraph, sourceVertexSelector.getValue(), DspEdge::weight);
+        shortestPathSearch = createShortestPathSearch();
 
         initializeLayout(stage, canvas);
         draw();
     }
 
+    /**
+     * Updates the colours of every vertex and edge in the render model of the view, which then repaints only what
+     * changed. Used whenever the search, graph or target is replaced; steps go through {@link #drawDelta}.
+     */
     private void draw()
     {
-        final Color COLOR_PENDING = Color.BLACK;
-        final Color COLOR_FRONTIER = Color.YELLOW;
-        final Color COLOR_SOURCE = Color.GREEN;
-        final Color COLOR_TARGET = Color.BLUE;
-        final Color COLOR_EXPANDED = Color.RED;
-        final Color COLOR_PATH = Color.BLUE;
-
-        dspView.clear();
+        var source = shortestPathSearch.getSourceVertex();
+        var target = targetVertexSelector.getValue();
+        for (var vState : shortestPathSearch.getState().entrySet())
+        {
+            var vertex = vState.getKey();
+            dspView.setVertexColor(vertex, getVertexColor(vertex, vState.getValue(), source, target));
+            setEdgeColors(vertex, vState.getValue() == VertexState.EXPANDED ? COLOR_EXPANDED : COLOR_PENDING);
+        }
 
-        for (var vState : dijkstraShortestPaths.getState().entrySet())
+        if (shortestPathSearch.isCompleted())
         {
-            var source = vState.getKey();
-            switch (vState.getValue())
-            {
-                case PENDING -> {
-                    dspView.drawVertex(source, COLOR_PENDING);
-                    currentGraph.getNeighbours(source).forEach(neighbour ->
-                            dspView.drawEdge(
-                                    source, neighbour,
-                                    currentGraph.getEdge(source, neighbour),
-                                    COLOR_PENDING,
-                                    currentGraph.hasEdge(neighbour, source)
-                            )
-                    );
-                }
-                case FRONTIER -> {
-                    dspView.drawVertex(vState.getKey(), COLOR_FRONTIER);
-                    currentGraph.getNeighbours(source).forEach(neighbour ->
-                            dspView.drawEdge(
-                                    source, neighbour,
-                                    currentGraph.getEdge(source, neighbour),
-                                    COLOR_PENDING,
-                                    currentGraph.hasEdge(neighbour, source)
-                            )
-                    );
-                }
-                case EXPANDED -> {
-                    dspView.drawVertex(vState.getKey(), COLOR_EXPANDED);
-                    currentGraph.getNeighbours(source).forEach(neighbour ->
-                            dspView.drawEdge(
-                                    source, neighbour,
-                                    currentGraph.getEdge(source, neighbour),
-                                    COLOR_EXPANDED,
-                                    currentGraph.hasEdge(neighbour, source)
-                            )
-                    );
-                }
-            }
+            drawShortestPath(target);
         }
+        dspView.render();
+    }
 
-        if (dijkstraShortestPaths.isCompleted())
+    /**
+     * Updates only the vertices whose state changed in a step and the outgoing edges of the vertices it expanded,
+     * so a step costs time proportional to its changes instead of the size of the graph.
+     */
+    private void drawDelta(SearchDelta<DspVertex> delta)
+    {
+        var source = shortestPathSearch.getSourceVertex();
+        var target = targetVertexSelector.getValue();
+        delta.getChangedStates().forEach((vertex, state) ->
         {
-            var shortestPath = dijkstraShortestPaths.getShortestPathTo(targetVertexSelector.getValue());
-            for (int i = 0; i < shortestPath.size()-1; i++)
+            dspView.setVertexColor(vertex, getVertexColor(vertex, state, source, target));
+            if (state == VertexState.EXPANDED)
             {
-                var currentPathVertex = shortestPath.get(i);
-                var nextPathVertex = shortestPath.get(i+1);
-
-                dspView.drawEdge(
-                        currentPathVertex, nextPathVertex,
-                        currentGraph.getEdge(currentPathVertex, nextPathVertex),
-                        COLOR_PATH,
-                        currentGraph.hasEdge(nextPathVertex, currentPathVertex)
-                );
+                setEdgeColors(vertex, COLOR_EXPANDED);
             }
+        });
+
+        if (shortestPathSearch.isCompleted())
+        {
+            drawShortestPath(target);
         }
+        dspView.render();
+    }
 
-        var source = dijkstraShortestPaths.getSourceVertex();
-        if (source != null)
+    private static Color getVertexColor(DspVertex vertex, VertexState state, DspVertex source, DspVertex target)
+    {
+        if (vertex.equals(target))
+        {
+            return COLOR_TARGET;
+        }
+        if (vertex.equals(source))
         {
-            dspView.drawVertex(source, COLOR_SOURCE);
+            return COLOR_SOURCE;
         }
+        return switch (state)
+        {
+            case PENDING -> COLOR_PENDING;
+            case FRONTIER -> COLOR_FRONTIER;
+            case EXPANDED -> COLOR_EXPANDED;
+        };
+    }
 
-        var target = targetVertexSelector.getValue();
-        if (target != null)
+    private void drawShortestPath(DspVertex target)
+    {
+        var shortestPath = shortestPathSearch.getShortestPathTo(target);
+        for (int i = 0; i < shortestPath.size()-1; i++)
         {
-            dspView.drawVertex(target, COLOR_TARGET);
+            var vertex = shortestPath.get(i);
+            var successor = shortestPath.get(i+1);
+            setEdgeColor(vertex, successor, currentGraph.getEdge(vertex, successor), COLOR_PATH);
         }
+    }
 
-        dspView.drawLegend(new Legend(
-                new LegendEntry(LegendEntryType.VERTEX, COLOR_FRONTIER, "Frontier vertex"),
-                new LegendEntry(LegendEntryType.VERTEX, COLOR_EXPANDED, "Expanded vertex"),
-                new LegendEntry(LegendEntryType.VERTEX, COLOR_SOURCE, "Source vertex"),
-                new LegendEntry(LegendEntryType.VERTEX, COLOR_TARGET, "Target vertex"),
-                new LegendEntry(LegendEntryType.EDGE, COLOR_EXPANDED, "Visited edge"),
-                new LegendEntry(LegendEntryType.EDGE, COLOR_PATH, "Shortest path edge")
-        ));
+    private void setEdgeColors(DspVertex vertex, Color color)
+    {
+        currentGraph.forEachEdge(vertex, (neighbour, edge) -> setEdgeColor(vertex, neighbour, edge, color));
+    }
+
+    private void setEdgeColor(DspVertex source, DspVertex target, DspEdge edge, Color color)
+    {
+        dspView.setEdgeColor(source, target, edge, color, currentGraph.hasEdge(target, source));
     }
 
     private void updateControls()
     {
+        dspView.reset();
+        heuristic = EuclideanHeuristic.calibrate(currentGraph, DspEdge::weight);
+        if (treeCache != null)
+        {
+            treeCache.detach();
+        }
+        treeCache = new ShortestPathTreeCache<>(currentGraph, DspEdge::weight, TREE_CACHE_CAPACITY);
+
         initializeVertexSelector(sourceVertexSelector, (s, o, n) ->
         {
-            dijkstraShortestPaths = new DijkstraShortestPaths<>(currentGraph, n, DspEdge::weight);
+            shortestPathSearch = createShortestPathSearch();
             draw();
         });
         initializeVertexSelector(targetVertexSelector, (s, o, n) -> {
+            //A* searches towards a fixed target, so it has to start over
+            if (ALGORITHM_A_STAR.equals(algorithmSelector.getValue()))
+            {
+                shortestPathSearch = createShortestPathSearch();
+                sourceVertexSelector.setDisable(false);
+            }
             updateTotalCost();
             draw();
         });
@@ -167,14 +208,26 @@ public final class DemoApplication extends Application
 
     private void reset()
     {
-        dijkstraShortestPaths = new DijkstraShortestPaths<>(currentGraph, sourceVertexSelector.getValue(), DspEdge::weight);
+        shortestPathSearch = createShortestPathSearch();
         sourceVertexSelector.setDisable(false);
         draw();
     }
 
+    private ShortestPathSearch<DspVertex> createShortestPathSearch()
+    {
+        var source = sourceVertexSelector.getValue();
+        var target = targetVertexSelector.getValue();
+
+        if (ALGORITHM_A_STAR.equals(algorithmSelector.getValue()) && source != null && target != null)
+        {
+            return new AStarShortestPaths<>(currentGraph, source, target, DspEdge::weight, heuristic);
+        }
+        return new DijkstraShortestPaths<>(currentGraph, source, DspEdge::weight);
+    }
+
     private void updateTotalCost()
     {
-        var totalCost = dijkstraShortestPaths.getShortestPathCostTo(targetVertexSelector.getValue());
+        var totalCost = shortestPathSearch.getShortestPathCostTo(targetVertexSelector.getValue());
         totalCostInfo.setText(totalCost == Double.MAX_VALUE ? "N/A" : Double.toString(totalCost));
     }
 
@@ -215,10 +268,15 @@ public final class DemoApplication extends Application
                 columnConstraints
         );
 
+        var algorithmLabel = new Label("Algorithm:");
+        algorithmLabel.setLabelFor(algorithmSelector);
+        controls.add(algorithmLabel, 0, 0);
+        controls.add(algorithmSelector, 1, 0);
+
         var sourceLabel = new Label("Source:");
         sourceLabel.setLabelFor(sourceVertexSelector);
-        controls.add(sourceLabel, 0, 0);
-        controls.add(sourceVertexSelector, 1, 0);
+        controls.add(sourceLabel, 0, 1);
+        controls.add(sourceVertexSelector, 1, 1);
 
         var demoControls = new HBox(10.0);
         demoControls.setAlignment(Pos.CENTER);
@@ -236,20 +294,20 @@ public final class DemoApplication extends Application
         demoControls.getChildren().add(stepButton);
         demoControls.getChildren().add(stepAllButton);
 
-        controls.add(demoControls, 0, 1, 2, 1);
+        controls.add(demoControls, 0, 2, 2, 1);
 
-        controls.add(new Separator(), 0, 2, 2, 1);
+        controls.add(new Separator(), 0, 3, 2, 1);
 
         var targetLabel = new Label("Target:");
         targetLabel.setLabelFor(targetVertexSelector);
-        controls.add(targetLabel, 0, 3);
-        controls.add(targetVertexSelector, 1, 3);
+        controls.add(targetLabel, 0, 4);
+        controls.add(targetVertexSelector, 1, 4);
 
         var totalCostLabel = new Label("Total Cost:");
         totalCostLabel.setLabelFor(totalCostInfo);
-        controls.add(totalCostLabel, 0, 4);
+        controls.add(totalCostLabel, 0, 5);
 
-        controls.add(totalCostInfo, 1, 4);
+        controls.add(totalCostInfo, 1, 5);
 
         parent.setLeft(controls);
 
@@ -377,21 +435,39 @@ public final class DemoApplication extends Application
 
     private void onStepButtonPressed(ActionEvent event)
     {
-        if (!dijkstraShortestPaths.isCompleted())
+        if (!shortestPathSearch.isCompleted())
         {
             sourceVertexSelector.setDisable(true);
-            dijkstraShortestPaths.step();
+            if (shortestPathSearch instanceof DijkstraShortestPaths)
+            {
+                //The demo only creates Dijkstra searches over its own graph type
+                @SuppressWarnings("unchecked")
+                var dijkstraSearch = (DijkstraShortestPaths<DspVertex, DspEdge>) shortestPathSearch;
+                drawDelta(dijkstraSearch.step(1));
+            }
+            else
+            {
+                shortestPathSearch.step();
+                draw();
+            }
             updateTotalCost();
-            draw();
         }
     }
 
     private void onStepAllButtonPressed(ActionEvent event)
     {
         sourceVertexSelector.setDisable(true);
-        while (!dijkstraShortestPaths.isCompleted())
+
+        //Completed Dijkstra searches are shared through the cache, so revisiting a source is instant
+        var source = sourceVertexSelector.getValue();
+        if (shortestPathSearch instanceof DijkstraShortestPaths && source != null)
         {
-            dijkstraShortestPaths.step();
+            shortestPathSearch = new CachedSearch(currentGraph, treeCache.get(source));
+        }
+
+        while (!shortestPathSearch.isCompleted())
+        {
+            shortestPathSearch.step();
         }
 
         updateTotalCost();
@@ -402,15 +478,18 @@ public final class DemoApplication extends Application
     {
         var fileChooser = new FileChooser();
         fileChooser.setTitle("Open Graph File");
-        fileChooser.getExtensionFilters().add(
-                new FileChooser.ExtensionFilter("XML Files", "*.xml")
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("XML Files", "*.xml"),
+                new FileChooser.ExtensionFilter("Binary Graph Files", "*.dspg")
         );
         fileChooser.setInitialDirectory(new File(System.getProperty("user.home")));
         var selectedFile = fileChooser.showOpenDialog(Stage.getWindows().get(0));
         if (selectedFile != null)
         {
             try {
-                currentGraph = GraphReader.readGraphMl(selectedFile.getAbsolutePath());
+                currentGraph = selectedFile.getName().endsWith(".dspg")
+                        ? BinaryGraphReader.openGraph(selectedFile.getAbsolutePath()).toGraph()
+                        : StreamingGraphReader.readGraphMl(selectedFile.getAbsolutePath());
                 updateControls();
                 reset();
             }
@@ -469,4 +548,56 @@ public final class DemoApplication extends Application
             comboBox.setValue(comboBox.getItems().get(0));
         }
     }
+
+    /**
+     * Completed Dijkstra search that reads costs and paths from a shared tree of the cache. Its state is that of the demo's own search stepped to completion, in which every vertex is
+     * expanded, whether it is reachable or not.
+     */
+    private static final class CachedSearch implements ShortestPathSearch<DspVertex>
+    {
+        private final ShortestPathSearch<DspVertex> tree;
+        private final Map<DspVertex, VertexState> state;
+
+        private CachedSearch(Graph<DspVertex, DspEdge> graph, ShortestPathSearch<DspVertex> tree)
+        {
+            this.tree = tree;
+
+            var expandedState = new HashMap<DspVertex, VertexState>();
+            graph.getVertices().forEach(vertex -> expandedState.put(vertex, VertexState.EXPANDED));
+            this.state = Collections.unmodifiableMap(expandedState);
+        }
+
+        @Override
+        public boolean isCompleted()
+        {
+            return true;
+        }
+
+        @Override
+        public void step() {}
+
+        @Override
+        public List<DspVertex> getShortestPathTo(DspVertex targetVertex)
+        {
+            return tree.getShortestPathTo(targetVertex);
+        }
+
+        @Override
+        public double getShortestPathCostTo(DspVertex targetVertex)
+        {
+            return tree.getShortestPathCostTo(targetVertex);
+        }
+
+        @Override
+        public DspVertex getSourceVertex()
+        {
+            return tree.getSourceVertex();
+        }
+
+        @Override
+        public Map<DspVertex, VertexState> getState()
+        {
+            return state;
+        }
+    }
 }
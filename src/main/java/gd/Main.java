@@ -1,10 +1,23 @@
 package gd;
 
+import java.util.Arrays;
+
+/**
+ * Starts the JavaFX demo, or with {@code batch} or {@code serve} as first argument one of the headless modes
+ * {@link BatchMain} and {@link ServerMain}, which receive the remaining arguments. The demo class is only
+ * referenced on its own branch, so the headless modes never load JavaFX.
+ */
 public class Main
 {
     public static void main(String[] args)
     {
-        DemoApplication.main(args);
+        var mode = args.length == 0 ? "" : args[0];
+        switch (mode)
+        {
+            case "batch" -> BatchMain.main(Arrays.copyOfRange(args, 1, args.length));
+            case "serve" -> ServerMain.main(Arrays.copyOfRange(args, 1, args.length));
+            default -> DemoApplication.main(args);
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package gd;
+
+import gd.filesystem.*;
+import gd.graph.*;
+import gd.graphalgorithms.*;
+import gd.server.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.file.*;
+import java.time.Duration;
+
+/**
+ * Headless entry point that serves shortest path queries over HTTP, see {@link QueryServer}. Does not load
+ * any JavaFX classes.
+ * <p>
+ * Usage: {@code <graph.graphml> [--host ADDRESS] [--port PORT] [--hierarchy FILE] [--max-concurrent N]
+ * [--max-queued N] [--queue-timeout-ms N]}
+ * <p>
+ * If a hierarchy file is given, the contraction hierarchy is read from it, or built and written to it if the
+ * file does not exist yet.
+ */
+public final class ServerMain
+{
+    private static final int DEFAULT_PORT = 8080;
+
+    private ServerMain() {}
+
+    public static void main(String[] args)
+    {
+        if (args.length == 0 || args[0].startsWith("--"))
+        {
+            System.err.println("Usage: <graph.graphml> [--host ADDRESS] [--port PORT] [--hierarchy FILE] "
+                    + "[--max-concurrent N] [--max-queued N] [--queue-timeout-ms N]");
+            System.exit(2);
+        }
+
+        try
+        {
+            var defaults = QueryServer.Options.defaults(DEFAULT_PORT);
+            var host = defaults.host();
+            var port = defaults.port();
+            var maxConcurrentQueries = defaults.maxConcurrentQueries();
+            var maxQueuedQueries = defaults.maxQueuedQueries();
+            var queueTimeout = defaults.queueTimeout();
+            Path hierarchyPath = null;
+
+            for (int i = 1; i < args.length; i += 2)
+            {
+                if (i + 1 >= args.length)
+                {
+                    throw new IllegalArgumentException("Missing value for option " + args[i]);
+                }
+
+                var value = args[i + 1];
+                switch (args[i])
+                {
+                    case "--host" -> host = InetAddress.getByName(value);
+                    case "--port" -> port = Integer.parseInt(value);
+                    case "--hierarchy" -> hierarchyPath = Path.of(value);
+                    case "--max-concurrent" -> maxConcurrentQueries = Integer.parseInt(value);
+                    case "--max-queued" -> maxQueuedQueries = Integer.parseInt(value);
+                    case "--queue-timeout-ms" -> queueTimeout = Duration.ofMillis(Long.parseLong(value));
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+
+            var hierarchy = loadHierarchy(args[0], hierarchyPath);
+            var options = new QueryServer.Options(host, port, maxConcurrentQueries, maxQueuedQueries, queueTimeout, defaults.backlog());
+            var server = new QueryServer(hierarchy, options);
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(Duration.ofSeconds(1))));
+
+            System.out.println("Serving " + hierarchy.getGraph().getVertexCount() + " vertices on http://"
+                    + host.getHostAddress() + ":" + server.getPort() + "/route");
+        }
+        catch (GraphReaderException | IOException | IllegalArgumentException e)
+        {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static ContractionHierarchy<DspVertex> loadHierarchy(String graphPath, Path hierarchyPath) throws GraphReaderException, IOException
+    {
+        var graph = CsrGraph.of(GraphReader.readGraphMl(graphPath), DspEdge::weight);
+        if (hierarchyPath != null && Files.exists(hierarchyPath))
+        {
+            return ContractionHierarchy.read(hierarchyPath, graph);
+        }
+
+        var hierarchy = ContractionHierarchy.build(graph);
+        if (hierarchyPath != null)
+        {
+            hierarchy.write(hierarchyPath);
+        }
+        return hierarchy;
+    }
+}
@@ -0,0 +1,196 @@
+package gd.cli;
+
+import gd.graph.*;
+import gd.graphalgorithms.*;
+import gd.utilities.Json;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Answers a stream of shortest path queries and writes one result line per query, in input order.
+ * <p>
+ * Every non-empty input line that does not start with {@code #} holds a source and a target vertex key,
+ * separated by a comma or whitespace. Queries are read in chunks of {@value #CHUNK_SIZE}; each chunk is answered
+ * in parallel and written before the next one is read, so results stream out while memory stays bounded.
+ * Unreachable targets have an empty cost in CSV and a null cost in JSONL, and malformed queries or unknown
+ * vertices produce a result with an error message instead of aborting the batch.
+ */
+public final class BatchQueryRunner
+{
+    static final int CHUNK_SIZE = 4096;
+
+    public enum Format
+    {
+        CSV,
+        JSONL
+    }
+
+    public enum Engine
+    {
+        /**
+         * Bidirectional Dijkstra per query, without preprocessing
+         */
+        DIJKSTRA,
+
+        /**
+         * Contraction hierarchy queries, after building the hierarchy once
+         */
+        CONTRACTION_HIERARCHY
+    }
+
+    private final Format format;
+    private final boolean includePath;
+    private final ForkJoinPool pool;
+    private final HashMap<String, DspVertex> verticesByKey;
+
+    private final ThreadLocal<BidirectionalDijkstraQuery<DspVertex>> dijkstraQueries;
+    private final ThreadLocal<ContractionHierarchyQuery<DspVertex>> hierarchyQueries;
+
+    public BatchQueryRunner(CsrGraph<DspVertex> graph, Engine engine, Format format, boolean includePath, ForkJoinPool pool)
+    {
+        this.format = format;
+        this.includePath = includePath;
+        this.pool = pool;
+
+        this.verticesByKey = new HashMap<>();
+        for (int vertexId = 0; vertexId < graph.getVertexCount(); ++vertexId)
+        {
+            var vertex = graph.getVertex(vertexId);
+            verticesByKey.put(vertex.key(), vertex);
+        }
+
+        if (engine == Engine.CONTRACTION_HIERARCHY)
+        {
+            var hierarchy = ContractionHierarchy.build(graph);
+            this.dijkstraQueries = null;
+            this.hierarchyQueries = ThreadLocal.withInitial(() -> new ContractionHierarchyQuery<>(hierarchy));
+        }
+        else
+        {
+            var reverseGraph = graph.reverse();
+            this.dijkstraQueries = ThreadLocal.withInitial(() -> new BidirectionalDijkstraQuery<>(graph, reverseGraph));
+            this.hierarchyQueries = null;
+        }
+    }
+
+    /**
+     * @return Number of answered queries
+     */
+    public long run(BufferedReader queries, Writer output) throws IOException
+    {
+        if (format == Format.CSV)
+        {
+            output.write(includePath ? "source,target,cost,path,error\n" : "source,target,cost,error\n");
+        }
+
+        var queryCount = 0L;
+        var chunk = new ArrayList<String>(CHUNK_SIZE);
+        String line;
+        while ((line = queries.readLine()) != null)
+        {
+            var trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#"))
+            {
+                continue;
+            }
+
+            chunk.add(trimmed);
+            if (chunk.size() == CHUNK_SIZE)
+            {
+                queryCount += answer(chunk, output);
+                chunk.clear();
+            }
+        }
+        queryCount += answer(chunk, output);
+
+        output.flush();
+        return queryCount;
+    }
+
+    private int answer(List<String> chunk, Writer output) throws IOException
+    {
+        var results = pool.submit(() -> chunk.parallelStream().map(this::answer).collect(Collectors.toList())).join();
+        for (var result : results)
+        {
+            output.write(result);
+            output.write('\n');
+        }
+        output.flush();
+        return results.size();
+    }
+
+    private String answer(String query)
+    {
+        var keys = query.split("\\s*[,\\s]\\s*");
+        if (keys.length != 2)
+        {
+            return format(query, "", Double.MAX_VALUE, List.of(), "Expected a source and a target");
+        }
+
+        var sourceVertex = verticesByKey.get(keys[0]);
+        var targetVertex = verticesByKey.get(keys[1]);
+        if (sourceVertex == null || targetVertex == null)
+        {
+            return format(keys[0], keys[1], Double.MAX_VALUE, List.of(), "Unknown vertex " + (sourceVertex == null ? keys[0] : keys[1]));
+        }
+
+        if (includePath)
+        {
+            var shortestPath = hierarchyQueries != null
+                    ? hierarchyQueries.get().findShortestPath(sourceVertex, targetVertex)
+                    : dijkstraQueries.get().findShortestPath(sourceVertex, targetVertex);
+            return format(keys[0], keys[1], shortestPath.cost(), shortestPath.vertices(), null);
+        }
+
+        var cost = hierarchyQueries != null
+                ? hierarchyQueries.get().getShortestPathCost(sourceVertex, targetVertex)
+                : dijkstraQueries.get().getShortestPathCost(sourceVertex, targetVertex);
+        return format(keys[0], keys[1], cost, List.of(), null);
+    }
+
+    private String format(String sourceKey, String targetKey, double cost, List<DspVertex> path, String error)
+    {
+        var isReachable = cost < Double.MAX_VALUE;
+        var pathKeys = path.stream().map(DspVertex::key).collect(Collectors.toList());
+
+        if (format == Format.JSONL)
+        {
+            var json = new StringBuilder();
+            json.append("{\"source\":").append(Json.quote(sourceKey));
+            json.append(",\"target\":").append(Json.quote(targetKey));
+            json.append(",\"cost\":").append(isReachable ? Double.toString(cost) : "null");
+            if (includePath)
+            {
+                json.append(",\"path\":").append(pathKeys.stream().map(Json::quote).collect(Collectors.joining(",", "[", "]")));
+            }
+            if (error != null)
+            {
+                json.append(",\"error\":").append(Json.quote(error));
+            }
+            return json.append('}').toString();
+        }
+
+        var fields = new ArrayList<String>();
+        fields.add(sourceKey);
+        fields.add(targetKey);
+        fields.add(isReachable ? Double.toString(cost) : "");
+        if (includePath)
+        {
+            fields.add(String.join(" ", pathKeys));
+        }
+        fields.add(error == null ? "" : error);
+        return fields.stream().map(BatchQueryRunner::escapeCsv).collect(Collectors.joining(","));
+    }
+
+    private static String escapeCsv(String field)
+    {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0)
+        {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
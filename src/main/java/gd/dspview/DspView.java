@@ -7,17 +7,47 @@ import gd.graph.DspVertex;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
+import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Draws vertices, edges and a legend onto a canvas.
+ * <p>
+ * Besides the immediate drawing methods, the view keeps a retained render model: callers set the colour of every
+ * vertex and edge and the legend, and {@link #render()} repaints only the screen regions of items whose colour
+ * changed since the previous frame. Each dirty region is cleared and every item overlapping it is redrawn in model
+ * order, clipped to the region, so the result is the same as a full redraw. The whole canvas is redrawn after a
+ * resize, after {@link #reset()}, and when the dirty regions would cover most of it anyway.
+ */
 public final class DspView
 {
     private final double VERTEX_SIZE = 30.0;
 
+    private static final double LEGEND_X = 40.0;
+    private static final double LEGEND_Y = 20.0;
+    private static final double CELL_HEIGHT = 40.0;
+    private static final double CELL_WIDTH = 40.0;
+
+    private static final int MAX_DIRTY_REGIONS = 64;
+    private static final double MAX_DIRTY_AREA_SHARE = 0.5;
+
     private final Canvas canvas;
 
     private BoundingBox bounds;
     private double aspectRatio;
 
+    //Render model, painted in this order: edges, vertices, legend
+    private final LinkedHashMap<EdgeKey, EdgeItem> edgeItems = new LinkedHashMap<>();
+    private final LinkedHashMap<DspVertex, VertexItem> vertexItems = new LinkedHashMap<>();
+    private LegendItem legendItem;
+
+    private final LinkedHashSet<RenderItem> changedItems = new LinkedHashSet<>();
+    private final ArrayList<BoundingBox> dirtyRegions = new ArrayList<>();
+    private boolean fullRedraw = true;
+
     public DspView(Canvas canvas)
     {
         this.canvas = canvas;
@@ -35,6 +65,125 @@ public final class DspView
     {
         aspectRatio = canvas.getWidth() / canvas.getHeight();
         recalculateBoundingBox();
+        invalidate();
+    }
+
+    /**
+     * Sets the colour of a vertex in the render model, adding the vertex if it is not part of the model yet.
+     */
+    public void setVertexColor(DspVertex vertex, Color color)
+    {
+        var item = vertexItems.computeIfAbsent(vertex, VertexItem::new);
+        setColor(item, color);
+    }
+
+    /**
+     * Sets the colour of an edge in the render model, adding the edge if it is not part of the model yet.
+     */
+    public void setEdgeColor(DspVertex source, DspVertex target, DspEdge edge, Color color, boolean curveEdge)
+    {
+        var key = new EdgeKey(source, target);
+        var item = edgeItems.get(key);
+        if (item == null || !item.edge.equals(edge) || item.curveEdge != curveEdge)
+        {
+            if (item != null)
+            {
+                markDirty(item);
+            }
+            item = new EdgeItem(source, target, edge, curveEdge);
+            edgeItems.put(key, item);
+        }
+        setColor(item, color);
+    }
+
+    public void setLegend(Legend legend)
+    {
+        if (legendItem != null)
+        {
+            if (legendItem.legend == legend)
+            {
+                return;
+            }
+            markDirty(legendItem);
+        }
+        //A legend has no colour of its own; setting one marks it as changed
+        legendItem = new LegendItem(legend);
+        setColor(legendItem, Color.BLACK);
+    }
+
+    /**
+     * Removes all vertices, edges and the legend from the render model.
+     */
+    public void reset()
+    {
+        edgeItems.clear();
+        vertexItems.clear();
+        legendItem = null;
+        invalidate();
+    }
+
+    /**
+     * Makes the next {@link #render()} redraw the whole canvas.
+     */
+    public void invalidate()
+    {
+        fullRedraw = true;
+        changedItems.clear();
+        dirtyRegions.clear();
+        edgeItems.values().forEach(RenderItem::invalidateBounds);
+        vertexItems.values().forEach(RenderItem::invalidateBounds);
+        if (legendItem != null)
+        {
+            legendItem.invalidateBounds();
+        }
+    }
+
+    /**
+     * Paints the render model, repainting only the regions of items that changed since the last call.
+     */
+    public void render()
+    {
+        for (var item : changedItems)
+        {
+            if (!Objects.equals(item.color, item.paintedColor))
+            {
+                markDirty(item);
+            }
+        }
+        changedItems.clear();
+
+        var canvasArea = canvas.getWidth() * canvas.getHeight();
+        var dirtyArea = dirtyRegions.stream().mapToDouble(region -> region.getWidth() * region.getHeight()).sum();
+        if (fullRedraw || dirtyArea > MAX_DIRTY_AREA_SHARE * canvasArea)
+        {
+            clear();
+            forEachItem(RenderItem::paint);
+        }
+        else
+        {
+            var context = canvas.getGraphicsContext2D();
+            for (var region : dirtyRegions)
+            {
+                context.save();
+                context.beginPath();
+                context.rect(region.getLowerLeft().getX(), region.getLowerLeft().getY(), region.getWidth(), region.getHeight());
+                context.clip();
+                context.setFill(Color.WHITE);
+                context.fillRect(region.getLowerLeft().getX(), region.getLowerLeft().getY(), region.getWidth(), region.getHeight());
+
+                forEachItem(item ->
+                {
+                    if (item.getBounds().intersects(region))
+                    {
+                        item.paint();
+                    }
+                });
+                context.restore();
+            }
+        }
+
+        fullRedraw = false;
+        dirtyRegions.clear();
     }
 
     public void clear()
@@ -46,11 +195,6 @@ public final class DspView
 
     public void drawLegend(Legend legend)
     {
-        final double LEGEND_X = 40.0;
-        final double LEGEND_Y = 20.0;
-        final double CELL_HEIGHT = 40.0;
-        final double CELL_WIDTH = 40.0;
-
         var entryPosition = new Vector2D(LEGEND_X, LEGEND_Y + CELL_HEIGHT / 2.0);
 
         for (var entry : legend.getEntries())
@@ -103,14 +247,7 @@ public final class DspView
             Boolean curveEdge
     )
     {
-        var sourcePosition = toScreenSpace(source.position());
-        var targetPosition = toScreenSpace(target.position());
-
-        var delta = targetPosition.subtract(sourcePosition);
-        var unitTangent = delta.normalize();
-
-        var edgeStart= sourcePosition.add(unitTangent.scale(VERTEX_SIZE / 2.0));
-        var edgeEnd= targetPosition.subtract(unitTangent.scale(VERTEX_SIZE / 2.0));
+        var geometry = computeEdgeGeometry(source, target, curveEdge);
 
         var context = canvas.getGraphicsContext2D();
 
@@ -118,36 +255,31 @@ public final class DspView
         context.setStroke(color);
         context.setFill(color);
 
-        var midpoint = delta.scale(0.5).add(sourcePosition);
         if (curveEdge)
         {
             context.beginPath();
-            context.moveTo(edgeStart.getX(), edgeStart.getY());
-            var unitNormal = new Vector2D(-unitTangent.getY(), unitTangent.getX());
-            var centerControlPoint = midpoint.add(unitNormal.scale(30));
+            context.moveTo(geometry.start().getX(), geometry.start().getY());
             context.quadraticCurveTo(
-                    centerControlPoint.getX(),
-                    centerControlPoint.getY(),
-                    edgeEnd.getX(),
-                    edgeEnd.getY()
+                    geometry.controlPoint().getX(),
+                    geometry.controlPoint().getY(),
+                    geometry.end().getX(),
+                    geometry.end().getY()
             );
             context.stroke();
 
-            midpoint = computeCurvedEdgeMidpoint(edgeStart, centerControlPoint, edgeEnd);
-            unitTangent = computeCurvedEdgeUnitTangent(centerControlPoint, edgeEnd);
-            drawLabel(midpoint, Double.toString(edge.weight()), color);
-            drawArrowHead(edgeEnd, unitTangent, color);
+            drawLabel(geometry.labelPosition(), Double.toString(edge.weight()), color);
+            drawArrowHead(geometry.end(), geometry.endTangent(), color);
         }
         else
         {
             context.strokeLine(
-                    edgeStart.getX(),
-                    edgeStart.getY(),
-                    edgeEnd.getX(),
-                    edgeEnd.getY()
+                    geometry.start().getX(),
+                    geometry.start().getY(),
+                    geometry.end().getX(),
+                    geometry.end().getY()
             );
-            drawArrowHead(edgeEnd, unitTangent, color);
-            drawLabel(midpoint, Double.toString(edge.weight()), color);
+            drawArrowHead(geometry.end(), geometry.endTangent(), color);
+            drawLabel(geometry.labelPosition(), Double.toString(edge.weight()), color);
         }
     }
 
@@ -250,6 +382,105 @@ public final class DspView
         drawText(text, midpoint, 14, color, TextAlignment.CENTER);
     }
 
+    private EdgeGeometry computeEdgeGeometry(DspVertex source, DspVertex target, boolean curveEdge)
+    {
+        var sourcePosition = toScreenSpace(source.position());
+        var targetPosition = toScreenSpace(target.position());
+
+        var delta = targetPosition.subtract(sourcePosition);
+        var unitTangent = delta.normalize();
+
+        var edgeStart = sourcePosition.add(unitTangent.scale(VERTEX_SIZE / 2.0));
+        var edgeEnd = targetPosition.subtract(unitTangent.scale(VERTEX_SIZE / 2.0));
+
+        var midpoint = delta.scale(0.5).add(sourcePosition);
+        if (!curveEdge)
+        {
+            return new EdgeGeometry(edgeStart, edgeEnd, null, midpoint, unitTangent);
+        }
+
+        var unitNormal = new Vector2D(-unitTangent.getY(), unitTangent.getX());
+        var centerControlPoint = midpoint.add(unitNormal.scale(30));
+        return new EdgeGeometry(
+                edgeStart,
+                edgeEnd,
+                centerControlPoint,
+                computeCurvedEdgeMidpoint(edgeStart, centerControlPoint, edgeEnd),
+                computeCurvedEdgeUnitTangent(centerControlPoint, edgeEnd)
+        );
+    }
+
+    private void setColor(RenderItem item, Color color)
+    {
+        item.color = color;
+        if (!color.equals(item.paintedColor))
+        {
+            changedItems.add(item);
+        }
+    }
+
+    private void markDirty(RenderItem item)
+    {
+        if (fullRedraw)
+        {
+            return;
+        }
+
+        //Whole pixels, so that the clip of a region does not blend with its surroundings
+        var itemBounds = item.getBounds();
+        var region = new BoundingBox(
+                new Vector2D(Math.floor(itemBounds.getLowerLeft().getX()), Math.floor(itemBounds.getLowerLeft().getY())),
+                new Vector2D(Math.ceil(itemBounds.getUpperRight().getX()), Math.ceil(itemBounds.getUpperRight().getY()))
+        );
+
+        //Overlapping regions are merged, so that no item is painted twice over itself
+        for (int i = 0; i < dirtyRegions.size(); )
+        {
+            if (dirtyRegions.get(i).intersects(region))
+            {
+                region = region.union(dirtyRegions.remove(i));
+                i = 0;
+            }
+            else
+            {
+                ++i;
+            }
+        }
+        dirtyRegions.add(region);
+
+        if (dirtyRegions.size() > MAX_DIRTY_REGIONS)
+        {
+            fullRedraw = true;
+        }
+    }
+
+    private void forEachItem(Consumer<RenderItem> action)
+    {
+        edgeItems.values().forEach(action);
+        vertexItems.values().forEach(action);
+        if (legendItem != null)
+        {
+            action.accept(legendItem);
+        }
+    }
+
+    /**
+     * @return Screen space box around text drawn by {@link #drawText}, including the stroke width
+     */
+    private static BoundingBox computeTextBounds(String text, Vector2D position, int fontSize, TextAlignment alignment)
+    {
+        var measuredText = new Text(text);
+        measuredText.setFont(new Font(fontSize));
+        var width = measuredText.getLayoutBounds().getWidth();
+
+        var left = alignment == TextAlignment.LEFT ? position.getX() : position.getX() - width / 2.0;
+        var baseline = position.getY() + fontSize / 3.0;
+        return new BoundingBox(
+                new Vector2D(left, baseline - fontSize),
+                new Vector2D(left + width, baseline + fontSize / 2.0)
+        ).expand(1.0);
+    }
+
     private Vector2D toScreenSpace(Vector2D vector)
     {
         var vbWidth = bounds.getUpperRight().getX() - bounds.getLowerLeft().getX();
@@ -308,4 +539,141 @@ public final class DspView
                 .add(point3.scale(0.25));
     }
 
+    private record EdgeKey(DspVertex source, DspVertex target) {}
+
+    /**
+     * Screen space geometry of an edge; the control point is null for straight edges.
+     */
+    private record EdgeGeometry(Vector2D start, Vector2D end, Vector2D controlPoint, Vector2D labelPosition, Vector2D endTangent) {}
+
+    /**
+     * Item of the render model. The colour is the one set for the next frame and the painted colour the one on
+     * screen; the screen space bounds are cached until the canvas is resized.
+     */
+    private abstract class RenderItem
+    {
+        private Color color;
+        private Color paintedColor;
+        private BoundingBox bounds;
+
+        BoundingBox getBounds()
+        {
+            if (bounds == null)
+            {
+                bounds = computeBounds();
+            }
+            return bounds;
+        }
+
+        void invalidateBounds()
+        {
+            bounds = null;
+        }
+
+        void paint()
+        {
+            paint(color);
+            paintedColor = color;
+        }
+
+        abstract BoundingBox computeBounds();
+
+        abstract void paint(Color color);
+    }
+
+    private final class VertexItem extends RenderItem
+    {
+        private final DspVertex vertex;
+
+        private VertexItem(DspVertex vertex)
+        {
+            this.vertex = vertex;
+        }
+
+        @Override
+        BoundingBox computeBounds()
+        {
+            var position = toScreenSpace(vertex.position());
+            var circleBounds = BoundingBox.of(position).expand(VERTEX_SIZE / 2.0 + 2.0);
+            return circleBounds.union(computeTextBounds(vertex.label(), position, 18, TextAlignment.CENTER));
+        }
+
+        @Override
+        void paint(Color color)
+        {
+            drawVertex(vertex, color);
+        }
+    }
+
+    private final class EdgeItem extends RenderItem
+    {
+        private final DspVertex source;
+        private final DspVertex target;
+        private final DspEdge edge;
+        private final boolean curveEdge;
+
+        private EdgeItem(DspVertex source, DspVertex target, DspEdge edge, boolean curveEdge)
+        {
+            this.source = source;
+            this.target = target;
+            this.edge = edge;
+            this.curveEdge = curveEdge;
+        }
+
+        @Override
+        BoundingBox computeBounds()
+        {
+            //A quadratic curve stays within the triangle of its control points, and the arrow head within its
+            //length of the end point
+            var geometry = computeEdgeGeometry(source, target, curveEdge);
+            var lineBounds = curveEdge
+                    ? BoundingBox.of(geometry.start(), geometry.controlPoint(), geometry.end())
+                    : BoundingBox.of(geometry.start(), geometry.end());
+
+            var labelText = Double.toString(edge.weight());
+            var labelBounds = BoundingBox.of(geometry.labelPosition())
+                    .expand(20.0 + 1.0)
+                    .union(computeTextBounds(labelText, geometry.labelPosition(), 14, TextAlignment.CENTER));
+            return lineBounds.expand(12.0).union(labelBounds);
+        }
+
+        @Override
+        void paint(Color color)
+        {
+            drawEdge(source, target, edge, color, curveEdge);
+        }
+    }
+
+    private final class LegendItem extends RenderItem
+    {
+        private final Legend legend;
+
+        private LegendItem(Legend legend)
+        {
+            this.legend = legend;
+        }
+
+        @Override
+        BoundingBox computeBounds()
+        {
+            var legendBounds = new BoundingBox(
+                    new Vector2D(LEGEND_X - CELL_WIDTH / 2.0, LEGEND_Y),
+                    new Vector2D(LEGEND_X + CELL_WIDTH, LEGEND_Y + legend.getEntries().size() * CELL_HEIGHT)
+            );
+
+            var entryPosition = new Vector2D(LEGEND_X + CELL_WIDTH, LEGEND_Y + CELL_HEIGHT / 2.0);
+            for (var entry : legend.getEntries())
+            {
+                legendBounds = legendBounds.union(computeTextBounds(entry.getDescription(), entryPosition, 14, TextAlignment.LEFT));
+                entryPosition = entryPosition.add(new Vector2D(0.0, CELL_HEIGHT));
+            }
+            return legendBounds.expand(4.0);
+        }
+
+        @Override
+        void paint(Color color)
+        {
+            drawLegend(legend);
+        }
+    }
 }
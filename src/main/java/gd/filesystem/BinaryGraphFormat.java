@@ -0,0 +1,36 @@
+package gd.filesystem;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary graph format written by {@link BinaryGraphWriter} and read by {@link BinaryGraphReader}.
+ * <p>
+ * All values are little-endian. The header is followed by these sections, each starting on an 8-byte boundary:
+ * <pre>
+ * x coordinates      double[vertexCount]
+ * y coordinates      double[vertexCount]
+ * edge offsets       int[vertexCount + 1]
+ * edge targets       int[edgeCount]
+ * edge weights       double[edgeCount]
+ * key offsets        int[vertexCount + 1]
+ * key bytes          byte[keyBytes], UTF-8
+ * label offsets      int[vertexCount + 1]
+ * label bytes        byte[labelBytes], UTF-8
+ * </pre>
+ */
+final class BinaryGraphFormat
+{
+    static final int MAGIC = 0x47505344; // "DSPG" read as little-endian
+    static final int VERSION = 1;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // magic, version, vertexCount, edgeCount, keyBytes, labelBytes
+    static final int HEADER_SIZE = 4 + 4 + 4 + 4 + 8 + 8;
+
+    private BinaryGraphFormat() {}
+
+    static long align(long position)
+    {
+        return (position + 7) & ~7L;
+    }
+}
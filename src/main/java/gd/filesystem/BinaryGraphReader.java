@@ -0,0 +1,122 @@
+package gd.filesystem;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+import static gd.filesystem.BinaryGraphFormat.*;
+
+public final class BinaryGraphReader
+{
+    private final FileChannel channel;
+    private long position;
+
+    private BinaryGraphReader(FileChannel channel)
+    {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a binary graph file by memory-mapping its sections. Nothing but the header is read eagerly, and
+     * the mappings stay valid after the file is closed, so pages are loaded on demand and shared through the
+     * page cache with other processes mapping the same file.
+     */
+    public static MappedGraph openGraph(String path) throws GraphReaderException
+    {
+        try (var channel = FileChannel.open(Path.of(path), StandardOpenOption.READ))
+        {
+            return new BinaryGraphReader(channel).read();
+        }
+        catch (IOException e)
+        {
+            throw new GraphReaderException("An error occurred when reading file: " + path);
+        }
+    }
+
+    private MappedGraph read() throws IOException, GraphReaderException
+    {
+        if (channel.size() < HEADER_SIZE)
+        {
+            throw new GraphReaderException("File too short to contain a binary graph header");
+        }
+
+        var header = map(HEADER_SIZE);
+        if (header.getInt() != MAGIC)
+        {
+            throw new GraphReaderException("Not a binary graph file");
+        }
+
+        var version = header.getInt();
+        if (version != VERSION)
+        {
+            throw new GraphReaderException("Unsupported binary graph version: " + version);
+        }
+
+        var vertexCount = header.getInt();
+        var edgeCount = header.getInt();
+        var keyBytes = header.getLong();
+        var labelBytes = header.getLong();
+
+        if (vertexCount < 0 || edgeCount < 0 || keyBytes < 0 || keyBytes > Integer.MAX_VALUE
+                || labelBytes < 0 || labelBytes > Integer.MAX_VALUE)
+        {
+            throw new GraphReaderException("Corrupt binary graph header");
+        }
+
+        if (channel.size() < expectedFileSize(vertexCount, edgeCount, keyBytes, labelBytes))
+        {
+            throw new GraphReaderException("Binary graph file is truncated");
+        }
+
+        var xCoordinates = mapSection((long) vertexCount * Double.BYTES).asDoubleBuffer();
+        var yCoordinates = mapSection((long) vertexCount * Double.BYTES).asDoubleBuffer();
+        var offsets = mapSection((long) (vertexCount + 1) * Integer.BYTES).asIntBuffer();
+        var targets = mapSection((long) edgeCount * Integer.BYTES).asIntBuffer();
+        var weights = mapSection((long) edgeCount * Double.BYTES).asDoubleBuffer();
+        var keyOffsets = mapSection((long) (vertexCount + 1) * Integer.BYTES).asIntBuffer();
+        var keys = mapSection(keyBytes);
+        var labelOffsets = mapSection((long) (vertexCount + 1) * Integer.BYTES).asIntBuffer();
+        var labels = mapSection(labelBytes);
+
+        return new MappedGraph(
+                vertexCount, edgeCount,
+                xCoordinates, yCoordinates,
+                offsets, targets, weights,
+                keyOffsets, keys,
+                labelOffsets, labels
+        );
+    }
+
+    private ByteBuffer mapSection(long size) throws IOException, GraphReaderException
+    {
+        position = align(position);
+        if (size > Integer.MAX_VALUE)
+        {
+            throw new GraphReaderException("Binary graph section exceeds the maximum mappable size");
+        }
+        return map(size);
+    }
+
+    private ByteBuffer map(long size) throws IOException
+    {
+        var buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(BYTE_ORDER);
+        position += size;
+        return buffer;
+    }
+
+    private static long expectedFileSize(int vertexCount, int edgeCount, long keyBytes, long labelBytes)
+    {
+        long size = HEADER_SIZE;
+        size = align(size) + (long) vertexCount * Double.BYTES;
+        size = align(size) + (long) vertexCount * Double.BYTES;
+        size = align(size) + (long) (vertexCount + 1) * Integer.BYTES;
+        size = align(size) + (long) edgeCount * Integer.BYTES;
+        size = align(size) + (long) edgeCount * Double.BYTES;
+        size = align(size) + (long) (vertexCount + 1) * Integer.BYTES;
+        size = align(size) + keyBytes;
+        size = align(size) + (long) (vertexCount + 1) * Integer.BYTES;
+        size = align(size) + labelBytes;
+        return size;
+    }
+}
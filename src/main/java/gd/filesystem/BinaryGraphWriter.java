@@ -0,0 +1,182 @@
+package gd.filesystem;
+
+import gd.graph.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+import static gd.filesystem.BinaryGraphFormat.*;
+
+public final class BinaryGraphWriter
+{
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long position;
+
+    private BinaryGraphWriter(FileChannel channel)
+    {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+    }
+
+    public static void writeGraph(Graph<DspVertex, DspEdge> graph, String path) throws IOException
+    {
+        var csrGraph = CsrGraph.of(graph, DspEdge::weight);
+        var vertexCount = csrGraph.getVertexCount();
+        var edgeCount = csrGraph.getEdgeCount();
+
+        var keys = new byte[vertexCount][];
+        var labels = new byte[vertexCount][];
+        long keyBytes = 0;
+        long labelBytes = 0;
+        for (int i = 0; i < vertexCount; ++i)
+        {
+            var vertex = csrGraph.getVertex(i);
+            keys[i] = vertex.key().getBytes(StandardCharsets.UTF_8);
+            labels[i] = (vertex.label() == null ? "" : vertex.label()).getBytes(StandardCharsets.UTF_8);
+            keyBytes += keys[i].length;
+            labelBytes += labels[i].length;
+        }
+
+        if (keyBytes > Integer.MAX_VALUE || labelBytes > Integer.MAX_VALUE)
+        {
+            throw new IOException("Vertex keys or labels exceed the maximum size of the binary graph format");
+        }
+
+        try (var channel = FileChannel.open(
+                Path.of(path),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+        ))
+        {
+            var writer = new BinaryGraphWriter(channel);
+
+            writer.putInt(MAGIC);
+            writer.putInt(VERSION);
+            writer.putInt(vertexCount);
+            writer.putInt(edgeCount);
+            writer.putLong(keyBytes);
+            writer.putLong(labelBytes);
+
+            writer.alignSection();
+            for (int i = 0; i < vertexCount; ++i)
+            {
+                writer.putDouble(csrGraph.getVertex(i).position().getX());
+            }
+
+            writer.alignSection();
+            for (int i = 0; i < vertexCount; ++i)
+            {
+                writer.putDouble(csrGraph.getVertex(i).position().getY());
+            }
+
+            writer.alignSection();
+            for (int i = 0; i < vertexCount; ++i)
+            {
+                writer.putInt(csrGraph.getFirstEdge(i));
+            }
+            writer.putInt(edgeCount);
+
+            writer.alignSection();
+            for (int edge = 0; edge < edgeCount; ++edge)
+            {
+                writer.putInt(csrGraph.getTarget(edge));
+            }
+
+            writer.alignSection();
+            for (int edge = 0; edge < edgeCount; ++edge)
+            {
+                writer.putDouble(csrGraph.getWeight(edge));
+            }
+
+            writer.putStrings(keys);
+            writer.putStrings(labels);
+
+            writer.flush();
+        }
+    }
+
+    private void putStrings(byte[][] strings) throws IOException
+    {
+        alignSection();
+        var offset = 0;
+        for (var string : strings)
+        {
+            putInt(offset);
+            offset += string.length;
+        }
+        putInt(offset);
+
+        alignSection();
+        for (var string : strings)
+        {
+            putBytes(string);
+        }
+    }
+
+    private void alignSection() throws IOException
+    {
+        while (position != align(position))
+        {
+            ensureRemaining(1);
+            buffer.put((byte) 0);
+            position++;
+        }
+    }
+
+    private void putInt(int value) throws IOException
+    {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    private void putLong(long value) throws IOException
+    {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+        position += Long.BYTES;
+    }
+
+    private void putDouble(double value) throws IOException
+    {
+        ensureRemaining(Double.BYTES);
+        buffer.putDouble(value);
+        position += Double.BYTES;
+    }
+
+    private void putBytes(byte[] bytes) throws IOException
+    {
+        var offset = 0;
+        while (offset < bytes.length)
+        {
+            ensureRemaining(1);
+            var length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+        position += bytes.length;
+    }
+
+    private void ensureRemaining(int bytes) throws IOException
+    {
+        if (buffer.remaining() < bytes)
+        {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
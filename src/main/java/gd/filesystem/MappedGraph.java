@@ -0,0 +1,184 @@
+package gd.filesystem;
+
+import gd.geometry.*;
+import gd.graph.*;
+
+import java.nio.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A graph served directly from the memory-mapped sections of a binary graph file. Adjacency and weight
+ * lookups read straight from the mapped buffers; vertex objects are only created when asked for.
+ */
+public final class MappedGraph implements IndexedGraph<DspVertex>
+{
+    private final int vertexCount;
+    private final int edgeCount;
+
+    private final DoubleBuffer xCoordinates;
+    private final DoubleBuffer yCoordinates;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+    private final IntBuffer keyOffsets;
+    private final ByteBuffer keys;
+    private final IntBuffer labelOffsets;
+    private final ByteBuffer labels;
+
+    private volatile HashMap<String, Integer> vertexIds;
+
+    MappedGraph(
+            int vertexCount, int edgeCount,
+            DoubleBuffer xCoordinates, DoubleBuffer yCoordinates,
+            IntBuffer offsets, IntBuffer targets, DoubleBuffer weights,
+            IntBuffer keyOffsets, ByteBuffer keys,
+            IntBuffer labelOffsets, ByteBuffer labels
+    )
+    {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.xCoordinates = xCoordinates;
+        this.yCoordinates = yCoordinates;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.keyOffsets = keyOffsets;
+        this.keys = keys;
+        this.labelOffsets = labelOffsets;
+        this.labels = labels;
+    }
+
+    @Override
+    public int getVertexCount()
+    {
+        return vertexCount;
+    }
+
+    @Override
+    public int getEdgeCount()
+    {
+        return edgeCount;
+    }
+
+    @Override
+    public boolean hasVertex(DspVertex vertex)
+    {
+        return vertexIds().containsKey(vertex.key());
+    }
+
+    /**
+     * Looks up the id of a vertex by its key. The key index is built on first use, as it is the only part
+     * of the graph that cannot be served from the mapped file.
+     */
+    @Override
+    public int getId(DspVertex vertex)
+    {
+        var id = vertexIds().get(Objects.requireNonNull(vertex).key());
+        if (id == null)
+        {
+            throw new IllegalArgumentException("Vertex with key " + vertex + " does not exist.");
+        }
+        return id;
+    }
+
+    @Override
+    public DspVertex getVertex(int vertexId)
+    {
+        return new DspVertex(getKey(vertexId), getPosition(vertexId), getLabel(vertexId));
+    }
+
+    public String getKey(int vertexId)
+    {
+        return readString(keys, keyOffsets, vertexId);
+    }
+
+    public String getLabel(int vertexId)
+    {
+        return readString(labels, labelOffsets, vertexId);
+    }
+
+    public Vector2D getPosition(int vertexId)
+    {
+        return new Vector2D(xCoordinates.get(vertexId), yCoordinates.get(vertexId));
+    }
+
+    @Override
+    public int getFirstEdge(int vertexId)
+    {
+        return offsets.get(vertexId);
+    }
+
+    @Override
+    public int getEndEdge(int vertexId)
+    {
+        return offsets.get(vertexId + 1);
+    }
+
+    @Override
+    public int getTarget(int edgeId)
+    {
+        return targets.get(edgeId);
+    }
+
+    @Override
+    public double getWeight(int edgeId)
+    {
+        return weights.get(edgeId);
+    }
+
+    /**
+     * Copies the mapped graph into a mutable {@link Graph}.
+     */
+    public Graph<DspVertex, DspEdge> toGraph()
+    {
+        var graph = new Graph<DspVertex, DspEdge>();
+        var vertices = new DspVertex[vertexCount];
+        for (int i = 0; i < vertexCount; ++i)
+        {
+            vertices[i] = getVertex(i);
+            graph.addVertex(vertices[i]);
+        }
+
+        for (int i = 0; i < vertexCount; ++i)
+        {
+            for (int edge = getFirstEdge(i); edge < getEndEdge(i); ++edge)
+            {
+                graph.addEdge(vertices[i], vertices[getTarget(edge)], new DspEdge(getWeight(edge)));
+            }
+        }
+
+        return graph;
+    }
+
+    private HashMap<String, Integer> vertexIds()
+    {
+        var ids = vertexIds;
+        if (ids == null)
+        {
+            synchronized (this)
+            {
+                ids = vertexIds;
+                if (ids == null)
+                {
+                    ids = new HashMap<>(vertexCount * 2);
+                    for (int i = 0; i < vertexCount; ++i)
+                    {
+                        ids.put(getKey(i), i);
+                    }
+                    vertexIds = ids;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String readString(ByteBuffer bytes, IntBuffer stringOffsets, int index)
+    {
+        var start = stringOffsets.get(index);
+        var end = stringOffsets.get(index + 1);
+        var buffer = new byte[end - start];
+        bytes.get(start, buffer);
+        return new String(buffer, StandardCharsets.UTF_8);
+    }
+}
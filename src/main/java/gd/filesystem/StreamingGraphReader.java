@@ -0,0 +1,323 @@
+package gd.filesystem;
+
+import gd.geometry.*;
+import gd.graph.*;
+
+import javax.xml.stream.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ * Reads the same subset of GraphML as {@link GraphReader}, but pulls the document through a StAX stream
+ * reader and builds the graph in a single pass instead of materializing a DOM.
+ * <p>
+ * Edges that refer to nodes not yet read are parked in a small buffer, keyed by the missing node, and
+ * added as soon as that node shows up.
+ * <p>
+ * Unlike {@link GraphReader}, nodes and edges without child elements, such as {@code <node id="n0"/>} or
+ * {@code <edge source="n0" target="n1"/>}, are added with the {@code <default>} values of their keys, as GraphML
+ * specifies. {@link GraphReader} skips them, so a file that relies on defaults this way loads with more vertices
+ * and edges here.
+ */
+public final class StreamingGraphReader
+{
+    private final XMLStreamReader reader;
+
+    private final Graph<DspVertex, DspEdge> graph = new Graph<>();
+    private final HashMap<String, String> graphAttributes = new HashMap<>();
+    private final HashMap<String, DspVertex> vertexKeyMap = new HashMap<>();
+    private final HashMap<String, List<PendingEdge>> pendingEdges = new HashMap<>();
+
+    private boolean graphElementRead = false;
+
+    private Double xDefault = null;
+    private Double yDefault = null;
+    private String labelDefault = null;
+    private Double weightDefault = null;
+
+    private StreamingGraphReader(XMLStreamReader reader)
+    {
+        this.reader = reader;
+    }
+
+    public static Graph<DspVertex, DspEdge> readGraphMl(String path) throws GraphReaderException
+    {
+        var inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try (var input = new BufferedInputStream(new FileInputStream(path)))
+        {
+            var reader = inputFactory.createXMLStreamReader(input);
+            try {
+                return new StreamingGraphReader(reader).read();
+            }
+            finally
+            {
+                reader.close();
+            }
+        }
+        catch (IOException | XMLStreamException e)
+        {
+            throw new GraphReaderException("An error occurred when parsing file: " + path);
+        }
+    }
+
+    private Graph<DspVertex, DspEdge> read() throws XMLStreamException, GraphReaderException
+    {
+        while (reader.hasNext())
+        {
+            if (reader.next() != XMLStreamConstants.START_ELEMENT)
+            {
+                continue;
+            }
+
+            switch (reader.getLocalName())
+            {
+                case "key" -> readKey();
+                case "graph" -> readGraph();
+                case "node" -> readNode();
+                case "edge" -> readEdge();
+            }
+        }
+
+        if (!graphElementRead)
+        {
+            throw new GraphReaderException("No graph elements defined");
+        }
+
+        if (!pendingEdges.isEmpty())
+        {
+            throw new GraphReaderException("Edge references undefined node: " + pendingEdges.keySet().iterator().next());
+        }
+
+        return graph;
+    }
+
+    private void readKey() throws XMLStreamException
+    {
+        var id = reader.getAttributeValue(null, "id");
+        var name = reader.getAttributeValue(null, "attr.name");
+
+        while (nextChildElement())
+        {
+            if (!"default".equals(reader.getLocalName()))
+            {
+                skipElement();
+                continue;
+            }
+
+            var defaultValue = reader.getElementText();
+            switch (Objects.toString(name, ""))
+            {
+                case "x" -> xDefault = Double.parseDouble(defaultValue);
+                case "y" -> yDefault = Double.parseDouble(defaultValue);
+                case "label" -> labelDefault = defaultValue;
+                case "weight" -> weightDefault = Double.parseDouble(defaultValue);
+            }
+        }
+
+        graphAttributes.put(id, name);
+    }
+
+    private void readGraph() throws GraphReaderException
+    {
+        //We only validate the first <graph> element
+        if (graphElementRead)
+        {
+            return;
+        }
+        graphElementRead = true;
+
+        //"edgedefault" must be equal to 'directed'
+        if (!"directed".equals(reader.getAttributeValue(null, "edgedefault")))
+        {
+            throw new GraphReaderException("only value 'directed' supported for graph attribute 'edgedefault'");
+        }
+
+        //Keys precede the graph in GraphML, so all required attributes must be defined by now
+        for (var requiredAttribute : Set.of("x", "y", "label", "weight"))
+        {
+            if (!graphAttributes.containsValue(requiredAttribute))
+            {
+                throw new GraphReaderException("Attribute definition missing: " + requiredAttribute + " not found");
+            }
+        }
+    }
+
+    private void readNode() throws XMLStreamException, GraphReaderException
+    {
+        requireGraphElementRead();
+
+        var nodeId = reader.getAttributeValue(null, "id");
+
+        Double xCoordinate = xDefault;
+        Double yCoordinate = yDefault;
+        String label = labelDefault;
+
+        while (nextChildElement())
+        {
+            var attributeName = readDataAttributeName();
+            if (attributeName == null)
+            {
+                skipElement();
+                continue;
+            }
+
+            var attributeValue = reader.getElementText();
+            switch (attributeName)
+            {
+                case "x" -> xCoordinate = Double.parseDouble(attributeValue);
+                case "y" -> yCoordinate = Double.parseDouble(attributeValue);
+                case "label" -> label = attributeValue;
+            }
+        }
+
+        if (xCoordinate == null) throw new GraphReaderException("Node description incomplete: X coordinate not defined");
+        if (yCoordinate == null) throw new GraphReaderException("Node description incomplete: Y coordinate not defined");
+        if (label == null) throw new GraphReaderException("Node description incomplete: Label not defined");
+
+        var vertex = new DspVertex(nodeId, new Vector2D(xCoordinate, yCoordinate), label);
+        try {
+            graph.addVertex(vertex);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new GraphReaderException(e.getMessage());
+        }
+        vertexKeyMap.put(nodeId, vertex);
+
+        var waitingEdges = pendingEdges.remove(nodeId);
+        if (waitingEdges != null)
+        {
+            for (var pendingEdge : waitingEdges)
+            {
+                addOrDeferEdge(pendingEdge);
+            }
+        }
+    }
+
+    private void readEdge() throws XMLStreamException, GraphReaderException
+    {
+        requireGraphElementRead();
+
+        var edgeSource = reader.getAttributeValue(null, "source");
+        var edgeTarget = reader.getAttributeValue(null, "target");
+        if ("false".equals(reader.getAttributeValue(null, "directed")))
+        {
+            throw new GraphReaderException("Undirected edges are not supported");
+        }
+        if (Objects.equals(edgeSource, edgeTarget))
+        {
+            throw new GraphReaderException("Self-referencing edges are not supported");
+        }
+
+        Double edgeWeight = weightDefault;
+
+        while (nextChildElement())
+        {
+            var attributeName = readDataAttributeName();
+            if (attributeName == null)
+            {
+                skipElement();
+                continue;
+            }
+
+            var attributeValue = reader.getElementText();
+            if ("weight".equals(attributeName))
+            {
+                edgeWeight = Double.parseDouble(attributeValue);
+            }
+        }
+
+        if (edgeWeight == null)
+        {
+            throw new GraphReaderException("Edge description incomplete: Edge weight not defined.");
+        }
+
+        addOrDeferEdge(new PendingEdge(edgeSource, edgeTarget, edgeWeight));
+    }
+
+    private void addOrDeferEdge(PendingEdge edge) throws GraphReaderException
+    {
+        var source = vertexKeyMap.get(edge.source());
+        var target = vertexKeyMap.get(edge.target());
+
+        if (source == null || target == null)
+        {
+            var missingNode = source == null ? edge.source() : edge.target();
+            pendingEdges.computeIfAbsent(missingNode, k -> new ArrayList<>()).add(edge);
+            return;
+        }
+
+        try {
+            graph.addEdge(source, target, new DspEdge(edge.weight()));
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new GraphReaderException(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the attribute name of the current &lt;data&gt; element, or null if the current element is not
+     * a &lt;data&gt; element with a recognized key.
+     */
+    private String readDataAttributeName()
+    {
+        if (!"data".equals(reader.getLocalName()))
+        {
+            return null;
+        }
+        return graphAttributes.get(reader.getAttributeValue(null, "key"));
+    }
+
+    /**
+     * Advances to the next child element of the current element.
+     *
+     * @return true if positioned on a child start element, false if the end of the current element was reached
+     */
+    private boolean nextChildElement() throws XMLStreamException
+    {
+        while (reader.hasNext())
+        {
+            var event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void skipElement() throws XMLStreamException
+    {
+        var depth = 1;
+        while (depth > 0 && reader.hasNext())
+        {
+            var event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                depth--;
+            }
+        }
+    }
+
+    private void requireGraphElementRead() throws GraphReaderException
+    {
+        if (!graphElementRead)
+        {
+            throw new GraphReaderException("No graph elements defined");
+        }
+    }
+
+    private record PendingEdge(String source, String target, double weight) {}
+}
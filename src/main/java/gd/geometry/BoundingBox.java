@@ -22,6 +22,70 @@ public final class BoundingBox
         return upperRight;
     }
 
+    /**
+     * @return Smallest box containing all given points
+     */
+    public static BoundingBox of(Vector2D... points)
+    {
+        if (points.length == 0)
+        {
+            throw new IllegalArgumentException("At least one point is required");
+        }
+
+        var minX = points[0].getX();
+        var minY = points[0].getY();
+        var maxX = minX;
+        var maxY = minY;
+        for (var point : points)
+        {
+            minX = Math.min(minX, point.getX());
+            minY = Math.min(minY, point.getY());
+            maxX = Math.max(maxX, point.getX());
+            maxY = Math.max(maxY, point.getY());
+        }
+        return new BoundingBox(new Vector2D(minX, minY), new Vector2D(maxX, maxY));
+    }
+
+    public double getWidth()
+    {
+        return upperRight.getX() - lowerLeft.getX();
+    }
+
+    public double getHeight()
+    {
+        return upperRight.getY() - lowerLeft.getY();
+    }
+
+    /**
+     * @return Whether the boxes overlap, including boxes that only touch at their borders
+     */
+    public boolean intersects(BoundingBox other)
+    {
+        return lowerLeft.getX() <= other.upperRight.getX()
+                && other.lowerLeft.getX() <= upperRight.getX()
+                && lowerLeft.getY() <= other.upperRight.getY()
+                && other.lowerLeft.getY() <= upperRight.getY();
+    }
+
+    /**
+     * @return Smallest box containing both boxes
+     */
+    public BoundingBox union(BoundingBox other)
+    {
+        return of(lowerLeft, upperRight, other.lowerLeft, other.upperRight);
+    }
+
+    /**
+     * @return Box grown by the margin on every side
+     */
+    public BoundingBox expand(double margin)
+    {
+        return new BoundingBox(
+                lowerLeft.subtract(new Vector2D(margin, margin)),
+                upperRight.add(new Vector2D(margin, margin))
+        );
+    }
+
     @Override
     public boolean equals(Object o)
     {
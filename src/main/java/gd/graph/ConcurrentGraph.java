@@ -0,0 +1,305 @@
+package gd.graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Directed graph that many threads can read and modify at the same time, e.g. for parallel ingestion.
+ * <p>
+ * Adjacencies are concurrent maps, and every vertex keeps its incoming edges next to its outgoing ones. Edge
+ * modifications lock the stripes of their two endpoints in a fixed order, so an edge and its reverse entry
+ * always change together, while modifications of unrelated vertices proceed in parallel. Reads take no locks.
+ * <p>
+ * Concurrent semantics:
+ * <ul>
+ * <li>{@link #addVertex}, {@link #addEdge}, {@link #replaceEdge} and {@link #removeEdge} are atomic. Competing
+ * calls for the same vertex or edge are serialized, and exactly one of them wins where they conflict.</li>
+ * <li>{@link #removeVertex} first marks the vertex as being removed, after which no edges can be added to or from
+ * it, then removes its edges one at a time and finally the vertex itself. It holds no more than two stripe locks
+ * at a time. Until it returns, the vertex still exists, and other threads may observe its remaining edges.</li>
+ * <li>{@link #getNeighbours} and {@link #getVertices} return live, weakly consistent views that reflect some of
+ * the modifications made while iterating, but never throw {@link ConcurrentModificationException}.</li>
+ * </ul>
+ * Use {@link #toGraph()} to run the algorithms of this project on the current contents.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public final class ConcurrentGraph<V, E>
+{
+    private final ConcurrentHashMap<V, Adjacency<V, E>> adjacencies;
+    private final Object[] locks;
+
+    public ConcurrentGraph()
+    {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param concurrencyLevel Expected number of concurrently modifying threads, rounded up to a power of two
+     *                         and multiplied by four to get the number of lock stripes
+     */
+    public ConcurrentGraph(int concurrencyLevel)
+    {
+        if (concurrencyLevel < 1)
+        {
+            throw new IllegalArgumentException("Concurrency level must be positive, was " + concurrencyLevel);
+        }
+
+        adjacencies = new ConcurrentHashMap<>();
+        locks = new Object[4 * Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 24) * 2 - 1)];
+        for (int i = 0; i < locks.length; ++i)
+        {
+            locks[i] = new Object();
+        }
+    }
+
+    public void addVertex(V vertex)
+    {
+        Objects.requireNonNull(vertex);
+
+        if (adjacencies.putIfAbsent(vertex, new Adjacency<>()) != null)
+        {
+            throw new IllegalArgumentException("Vertex with key " + vertex + " already exists.");
+        }
+    }
+
+    public void addEdge(V sourceVertex, V targetVertex, E edge)
+    {
+        Objects.requireNonNull(edge);
+
+        withLocks(sourceVertex, targetVertex, (source, target) ->
+        {
+            if (source.outgoing.containsKey(targetVertex))
+            {
+                throw new IllegalArgumentException("Edge (" + sourceVertex + ", " + targetVertex + ") already exists.");
+            }
+            if (source.removing || target.removing)
+            {
+                throw new IllegalArgumentException("Edge (" + sourceVertex + ", " + targetVertex + ") touches a vertex that is being removed.");
+            }
+
+            source.outgoing.put(targetVertex, edge);
+            target.incoming.put(sourceVertex, edge);
+            return null;
+        });
+    }
+
+    /**
+     * Replaces the existing edge between two vertices, e.g. to change the weight of an immutable edge.
+     */
+    public void replaceEdge(V sourceVertex, V targetVertex, E edge)
+    {
+        Objects.requireNonNull(edge);
+
+        withLocks(sourceVertex, targetVertex, (source, target) ->
+        {
+            if (source.outgoing.replace(targetVertex, edge) == null)
+            {
+                throw new IllegalArgumentException("Edge (" + sourceVertex + ", " + targetVertex + ") does not exist.");
+            }
+            target.incoming.put(sourceVertex, edge);
+            return null;
+        });
+    }
+
+    public void removeEdge(V sourceVertex, V targetVertex)
+    {
+        withLocks(sourceVertex, targetVertex, (source, target) ->
+        {
+            if (source.outgoing.remove(targetVertex) == null)
+            {
+                throw new IllegalArgumentException("Edge (" + sourceVertex + ", " + targetVertex + ") does not exist.");
+            }
+            target.incoming.remove(sourceVertex);
+            return null;
+        });
+    }
+
+    public void removeVertex(V vertex)
+    {
+        Adjacency<V, E> adjacency;
+        synchronized (getLock(vertex))
+        {
+            adjacency = requireVertexExists(vertex);
+            if (adjacency.removing)
+            {
+                throw new IllegalArgumentException("Vertex with key " + vertex + " does not exist.");
+            }
+            adjacency.removing = true;
+        }
+
+        //No edges can be added to the vertex any more, so these loops remove all of them
+        for (var target : adjacency.outgoing.keySet())
+        {
+            unlink(vertex, target);
+        }
+        for (var source : adjacency.incoming.keySet())
+        {
+            unlink(source, vertex);
+        }
+
+        adjacencies.remove(vertex, adjacency);
+    }
+
+    public E getEdge(V sourceVertex, V targetVertex)
+    {
+        var source = requireVertexExists(sourceVertex);
+        requireVertexExists(targetVertex);
+
+        var edge = source.outgoing.get(targetVertex);
+        if (edge == null)
+        {
+            throw new IllegalArgumentException("Edge (" + sourceVertex + ", " + targetVertex + ") does not exist.");
+        }
+        return edge;
+    }
+
+    public boolean hasVertex(V vertex)
+    {
+        return adjacencies.containsKey(vertex);
+    }
+
+    public boolean hasEdge(V sourceVertex, V targetVertex)
+    {
+        var source = requireVertexExists(sourceVertex);
+        requireVertexExists(targetVertex);
+        return source.outgoing.containsKey(targetVertex);
+    }
+
+    public Set<V> getNeighbours(V vertex)
+    {
+        return Collections.unmodifiableSet(requireVertexExists(vertex).outgoing.keySet());
+    }
+
+    /**
+     * @return Live view of the vertices with an edge to the given vertex
+     */
+    public Set<V> getPredecessors(V vertex)
+    {
+        return Collections.unmodifiableSet(requireVertexExists(vertex).incoming.keySet());
+    }
+
+    public int getOutDegree(V vertex)
+    {
+        return requireVertexExists(vertex).outgoing.size();
+    }
+
+    public int getInDegree(V vertex)
+    {
+        return requireVertexExists(vertex).incoming.size();
+    }
+
+    public Collection<V> getVertices()
+    {
+        return Collections.unmodifiableCollection(adjacencies.keySet());
+    }
+
+    /**
+     * Copies the graph into a {@link Graph}. The copy is consistent if no thread modifies this graph meanwhile;
+     * otherwise it contains some of the concurrent modifications, but every copied edge connects copied vertices.
+     */
+    public Graph<V, E> toGraph()
+    {
+        var graph = new Graph<V, E>();
+        var vertices = new ArrayList<>(adjacencies.entrySet());
+        for (var vertex : vertices)
+        {
+            graph.addVertex(vertex.getKey());
+        }
+        for (var vertex : vertices)
+        {
+            vertex.getValue().outgoing.forEach((target, edge) ->
+            {
+                if (graph.hasVertex(target))
+                {
+                    graph.addEdge(vertex.getKey(), target, edge);
+                }
+            });
+        }
+        return graph;
+    }
+
+    /**
+     * Runs the action on the adjacencies of both vertices while holding their stripe locks. The vertices are
+     * looked up under the locks, since they might be removed concurrently.
+     */
+    private <T> T withLocks(V sourceVertex, V targetVertex, BiFunction<Adjacency<V, E>, Adjacency<V, E>, T> action)
+    {
+        requireVertexExists(sourceVertex);
+        requireVertexExists(targetVertex);
+        return locked(sourceVertex, targetVertex, () -> action.apply(requireVertexExists(sourceVertex), requireVertexExists(targetVertex)));
+    }
+
+    /**
+     * Removes the edge between two vertices if it is still present, tolerating that the other endpoint of the
+     * vertex being removed disappeared meanwhile.
+     */
+    private void unlink(V sourceVertex, V targetVertex)
+    {
+        locked(sourceVertex, targetVertex, () ->
+        {
+            var source = adjacencies.get(sourceVertex);
+            var target = adjacencies.get(targetVertex);
+            if (source != null)
+            {
+                source.outgoing.remove(targetVertex);
+            }
+            if (target != null)
+            {
+                target.incoming.remove(sourceVertex);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Acquires the stripe locks of both vertices in stripe order, which rules out deadlocks between threads.
+     */
+    private <T> T locked(V firstVertex, V secondVertex, Supplier<T> action)
+    {
+        var firstStripe = getStripe(firstVertex);
+        var secondStripe = getStripe(secondVertex);
+
+        synchronized (locks[Math.min(firstStripe, secondStripe)])
+        {
+            synchronized (locks[Math.max(firstStripe, secondStripe)])
+            {
+                return action.get();
+            }
+        }
+    }
+
+    private Object getLock(V vertex)
+    {
+        return locks[getStripe(vertex)];
+    }
+
+    private int getStripe(V vertex)
+    {
+        var hash = vertex.hashCode();
+        return (hash ^ (hash >>> 16)) & (locks.length - 1);
+    }
+
+    private Adjacency<V, E> requireVertexExists(V vertex)
+    {
+        Objects.requireNonNull(vertex);
+
+        var adjacency = adjacencies.get(vertex);
+        if (adjacency == null)
+        {
+            throw new IllegalArgumentException("Vertex with key " + vertex + " does not exist.");
+        }
+        return adjacency;
+    }
+
+    private static final class Adjacency<V, E>
+    {
+        private final ConcurrentHashMap<V, E> outgoing = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<V, E> incoming = new ConcurrentHashMap<>();
+
+        //Guarded by the stripe lock of the vertex
+        private boolean removing;
+    }
+}
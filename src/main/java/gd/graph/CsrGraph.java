@@ -0,0 +1,161 @@
+package gd.graph;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Immutable compressed sparse row (CSR) snapshot of a {@link Graph}.
+ * <p>
+ * Vertices are mapped to dense ids in the range [0, vertexCount). The outgoing edges of vertex i occupy the
+ * edge ids [getFirstEdge(i), getEndEdge(i)), and each edge id indexes the target and weight arrays directly.
+ *
+ * @param <V> Vertex type
+ */
+public final class CsrGraph<V> implements IndexedGraph<V>
+{
+    private final ArrayList<V> vertices;
+    private final HashMap<V, Integer> vertexIds;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private CsrGraph(ArrayList<V> vertices, HashMap<V, Integer> vertexIds, int[] offsets, int[] targets, double[] weights)
+    {
+        this.vertices = vertices;
+        this.vertexIds = vertexIds;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static <V, E> CsrGraph<V> of(Graph<V, E> graph, ToDoubleFunction<E> costFunction)
+    {
+        var vertices = new ArrayList<V>(graph.getVertices());
+        var vertexIds = new HashMap<V, Integer>();
+        for (int i = 0; i < vertices.size(); ++i)
+        {
+            vertexIds.put(vertices.get(i), i);
+        }
+
+        var offsets = new int[vertices.size() + 1];
+        for (int i = 0; i < vertices.size(); ++i)
+        {
+            offsets[i + 1] = offsets[i] + graph.getNeighbours(vertices.get(i)).size();
+        }
+
+        var targets = new int[offsets[vertices.size()]];
+        var weights = new double[offsets[vertices.size()]];
+        var nextEdge = Arrays.copyOf(offsets, vertices.size());
+        for (int i = 0; i < vertices.size(); ++i)
+        {
+            var sourceId = i;
+            graph.forEachEdge(vertices.get(i), (neighbour, edge) ->
+            {
+                var edgeId = nextEdge[sourceId]++;
+                targets[edgeId] = vertexIds.get(neighbour);
+                weights[edgeId] = costFunction.applyAsDouble(edge);
+            });
+        }
+
+        return new CsrGraph<>(vertices, vertexIds, offsets, targets, weights);
+    }
+
+    /**
+     * Creates a CSR graph with every edge reversed. Vertex ids are the same as in this graph, which makes the
+     * result usable as the backward graph of bidirectional searches.
+     */
+    public CsrGraph<V> reverse()
+    {
+        var vertexCount = getVertexCount();
+
+        var reverseOffsets = new int[vertexCount + 1];
+        for (var target : targets)
+        {
+            reverseOffsets[target + 1]++;
+        }
+        for (int i = 0; i < vertexCount; ++i)
+        {
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+
+        var nextEdge = Arrays.copyOf(reverseOffsets, vertexCount);
+        var reverseTargets = new int[targets.length];
+        var reverseWeights = new double[weights.length];
+        for (int source = 0; source < vertexCount; ++source)
+        {
+            for (int edge = offsets[source]; edge < offsets[source + 1]; ++edge)
+            {
+                var reverseEdge = nextEdge[targets[edge]]++;
+                reverseTargets[reverseEdge] = source;
+                reverseWeights[reverseEdge] = weights[edge];
+            }
+        }
+
+        return new CsrGraph<>(vertices, vertexIds, reverseOffsets, reverseTargets, reverseWeights);
+    }
+
+    @Override
+    public int getVertexCount()
+    {
+        return vertices.size();
+    }
+
+    @Override
+    public int getEdgeCount()
+    {
+        return targets.length;
+    }
+
+    @Override
+    public boolean hasVertex(V vertex)
+    {
+        return vertexIds.containsKey(vertex);
+    }
+
+    @Override
+    public int getId(V vertex)
+    {
+        var id = vertexIds.get(Objects.requireNonNull(vertex));
+        if (id == null)
+        {
+            throw new IllegalArgumentException("Vertex with key " + vertex + " does not exist.");
+        }
+        return id;
+    }
+
+    @Override
+    public V getVertex(int vertexId)
+    {
+        return vertices.get(vertexId);
+    }
+
+    @Override
+    public int getOutDegree(int vertexId)
+    {
+        return offsets[vertexId + 1] - offsets[vertexId];
+    }
+
+    @Override
+    public int getFirstEdge(int vertexId)
+    {
+        return offsets[vertexId];
+    }
+
+    @Override
+    public int getEndEdge(int vertexId)
+    {
+        return offsets[vertexId + 1];
+    }
+
+    @Override
+    public int getTarget(int edgeId)
+    {
+        return targets[edgeId];
+    }
+
+    @Override
+    public double getWeight(int edgeId)
+    {
+        return weights[edgeId];
+    }
+}
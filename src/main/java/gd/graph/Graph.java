@@ -1,40 +1,163 @@
 package gd.graph;
 
 import java.util.*;
+import java.util.function.*;
 
+/**
+ * Directed graph with one edge object per ordered pair of vertices. Besides the outgoing edges of each vertex,
+ * the graph indexes its incoming edges, so predecessors can be listed and vertices removed in time proportional
+ * to their degree.
+ * <p>
+ * A graph is not thread-safe, but {@link #snapshot()} returns an immutable copy that any number of threads can
+ * read while the graph keeps changing. Snapshots share the adjacency maps of all vertices that were not
+ * modified since; the graph copies an adjacency map before its first modification after a snapshot.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
 public final class Graph<V, E>
 {
     private final HashMap<V, HashMap<V, E>> adjacencies;
+    private final HashMap<V, HashMap<V, E>> incomingAdjacencies;
+    private final ArrayList<GraphListener<V, E>> listeners;
+    private final boolean immutable;
+    private long version;
+
+    //Vertices whose adjacency maps were created or copied after the last snapshot and are not shared with it
+    private final HashSet<V> unsharedAdjacencies;
+    private final HashSet<V> unsharedIncomingAdjacencies;
+    private Graph<V, E> lastSnapshot;
 
     public Graph()
     {
         adjacencies = new HashMap<>();
+        incomingAdjacencies = new HashMap<>();
+        listeners = new ArrayList<>();
+        immutable = false;
+        unsharedAdjacencies = new HashSet<>();
+        unsharedIncomingAdjacencies = new HashSet<>();
+    }
+
+    private Graph(Graph<V, E> graph)
+    {
+        adjacencies = new HashMap<>(graph.adjacencies);
+        incomingAdjacencies = new HashMap<>(graph.incomingAdjacencies);
+        listeners = new ArrayList<>();
+        immutable = true;
+        version = graph.version;
+        lastSnapshot = this;
+        unsharedAdjacencies = new HashSet<>();
+        unsharedIncomingAdjacencies = new HashSet<>();
+    }
+
+    /**
+     * Returns an immutable snapshot of the current state. Its version is the version of the graph when it was
+     * taken, so versions of successive snapshots increase with every modification in between. Taking a snapshot
+     * copies the vertex maps, but no adjacency maps, and is free if the graph did not change since the last one.
+     * <p>
+     * Modifying a snapshot throws an {@link UnsupportedOperationException}. Snapshots must be handed to other
+     * threads through a safe publication mechanism, e.g. a volatile field or a concurrent collection.
+     */
+    public Graph<V, E> snapshot()
+    {
+        if (lastSnapshot == null || lastSnapshot.version != version)
+        {
+            lastSnapshot = new Graph<>(this);
+            unsharedAdjacencies.clear();
+            unsharedIncomingAdjacencies.clear();
+        }
+        return lastSnapshot;
+    }
+
+    /**
+     * @return Whether this graph is a snapshot that cannot be modified
+     */
+    public boolean isSnapshot()
+    {
+        return immutable;
+    }
+
+    public void addListener(GraphListener<V, E> listener)
+    {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(GraphListener<V, E> listener)
+    {
+        listeners.remove(listener);
     }
 
     public void addVertex(V vertex)
     {
+        requireMutable();
         requireVertexDoesNotExist(vertex);
         adjacencies.put(vertex, new HashMap<>());
+        incomingAdjacencies.put(vertex, new HashMap<>());
+        if (lastSnapshot != null)
+        {
+            unsharedAdjacencies.add(vertex);
+            unsharedIncomingAdjacencies.add(vertex);
+        }
+        version++;
+        listeners.forEach(listener -> listener.vertexAdded(vertex));
     }
 
     public void addEdge(V sourceVertex, V targetVertex, E edge)
     {
+        requireMutable();
         Objects.requireNonNull(edge);
         requireEdgeDoesNotExist(sourceVertex, targetVertex);
-        adjacencies.get(sourceVertex).put(targetVertex, edge);
+        getMutableAdjacency(adjacencies, unsharedAdjacencies, sourceVertex).put(targetVertex, edge);
+        getMutableAdjacency(incomingAdjacencies, unsharedIncomingAdjacencies, targetVertex).put(sourceVertex, edge);
+        version++;
+        listeners.forEach(listener -> listener.edgeAdded(sourceVertex, targetVertex, edge));
+    }
+
+    /**
+     * Replaces the existing edge between two vertices, e.g. to change the weight of an immutable edge.
+     */
+    public void replaceEdge(V sourceVertex, V targetVertex, E edge)
+    {
+        requireMutable();
+        Objects.requireNonNull(edge);
+        requireEdgeExists(sourceVertex, targetVertex);
+        var oldEdge = getMutableAdjacency(adjacencies, unsharedAdjacencies, sourceVertex).put(targetVertex, edge);
+        getMutableAdjacency(incomingAdjacencies, unsharedIncomingAdjacencies, targetVertex).put(sourceVertex, edge);
+        version++;
+        listeners.forEach(listener -> listener.edgeReplaced(sourceVertex, targetVertex, oldEdge, edge));
     }
 
     public void removeVertex(V vertex)
     {
+        requireMutable();
         requireVertexExists(vertex);
+
+        //Edges are removed one at a time, so listeners always see a consistent graph
+        for (var target : new ArrayList<>(adjacencies.get(vertex).keySet()))
+        {
+            removeEdge(vertex, target);
+        }
+        for (var source : new ArrayList<>(incomingAdjacencies.get(vertex).keySet()))
+        {
+            removeEdge(source, vertex);
+        }
+
         adjacencies.remove(vertex);
-        adjacencies.forEach((source, neighbours) -> neighbours.remove(vertex));
+        incomingAdjacencies.remove(vertex);
+        unsharedAdjacencies.remove(vertex);
+        unsharedIncomingAdjacencies.remove(vertex);
+        version++;
+        listeners.forEach(listener -> listener.vertexRemoved(vertex));
     }
 
     public void removeEdge(V sourceVertex, V targetVertex)
     {
+        requireMutable();
         requireEdgeExists(sourceVertex, targetVertex);
-        adjacencies.get(sourceVertex).remove(targetVertex);
+        var edge = getMutableAdjacency(adjacencies, unsharedAdjacencies, sourceVertex).remove(targetVertex);
+        getMutableAdjacency(incomingAdjacencies, unsharedIncomingAdjacencies, targetVertex).remove(sourceVertex);
+        version++;
+        listeners.forEach(listener -> listener.edgeRemoved(sourceVertex, targetVertex, edge));
     }
 
     public E getEdge(V sourceVertex, V targetVertex)
@@ -61,11 +184,78 @@ public final class Graph<V, E>
         return Collections.unmodifiableSet(adjacencies.get(vertex).keySet());
     }
     
+    /**
+     * Calls the action with the target and edge object of every outgoing edge of the source vertex. Unlike looking
+     * up each neighbour with {@link #getEdge}, this walks the adjacency map once without further lookups.
+     */
+    public void forEachEdge(V sourceVertex, BiConsumer<? super V, ? super E> action)
+    {
+        requireVertexExists(sourceVertex);
+        adjacencies.get(sourceVertex).forEach(action);
+    }
+
+    /**
+     * Calls the action with the source and edge object of every incoming edge of the target vertex.
+     */
+    public void forEachIncomingEdge(V targetVertex, BiConsumer<? super V, ? super E> action)
+    {
+        requireVertexExists(targetVertex);
+        incomingAdjacencies.get(targetVertex).forEach(action);
+    }
+
+    /**
+     * @return Vertices with an edge to the given vertex
+     */
+    public Set<V> getPredecessors(V vertex)
+    {
+        requireVertexExists(vertex);
+        return Collections.unmodifiableSet(incomingAdjacencies.get(vertex).keySet());
+    }
+
+    public int getOutDegree(V vertex)
+    {
+        requireVertexExists(vertex);
+        return adjacencies.get(vertex).size();
+    }
+
+    public int getInDegree(V vertex)
+    {
+        requireVertexExists(vertex);
+        return incomingAdjacencies.get(vertex).size();
+    }
+
     public Collection<V> getVertices()
     {
         return Collections.unmodifiableCollection(adjacencies.keySet());
     }
 
+    /**
+     * @return Counter that changes with every modification of the graph, for detecting stale derived data
+     */
+    public long getVersion()
+    {
+        return version;
+    }
+
+    private HashMap<V, E> getMutableAdjacency(HashMap<V, HashMap<V, E>> adjacencyMaps, HashSet<V> unsharedVertices, V vertex)
+    {
+        var adjacency = adjacencyMaps.get(vertex);
+        if (lastSnapshot != null && unsharedVertices.add(vertex))
+        {
+            adjacency = new HashMap<>(adjacency);
+            adjacencyMaps.put(vertex, adjacency);
+        }
+        return adjacency;
+    }
+
+    private void requireMutable()
+    {
+        if (immutable)
+        {
+            throw new UnsupportedOperationException("Graph snapshots cannot be modified.");
+        }
+    }
+
     private void requireVertexExists(V vertex)
     {
         Objects.requireNonNull(vertex);
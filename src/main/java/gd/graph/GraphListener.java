@@ -0,0 +1,21 @@
+package gd.graph;
+
+/**
+ * Receives the modifications of a {@link Graph} after they have been applied. Removing a vertex is reported
+ * as the removal of each of its edges, followed by the removal of the isolated vertex.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public interface GraphListener<V, E>
+{
+    default void vertexAdded(V vertex) {}
+
+    default void vertexRemoved(V vertex) {}
+
+    default void edgeAdded(V sourceVertex, V targetVertex, E edge) {}
+
+    default void edgeRemoved(V sourceVertex, V targetVertex, E edge) {}
+
+    default void edgeReplaced(V sourceVertex, V targetVertex, E oldEdge, E newEdge) {}
+}
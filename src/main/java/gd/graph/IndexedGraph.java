@@ -0,0 +1,36 @@
+package gd.graph;
+
+/**
+ * Read-only graph addressed through dense int ids, with the outgoing edges of each vertex stored in a
+ * contiguous range of edge ids.
+ *
+ * @param <V> Vertex type
+ */
+public interface IndexedGraph<V>
+{
+    int getVertexCount();
+
+    int getEdgeCount();
+
+    boolean hasVertex(V vertex);
+
+    int getId(V vertex);
+
+    V getVertex(int vertexId);
+
+    int getFirstEdge(int vertexId);
+
+    /**
+     * @return The edge id following the last outgoing edge of the vertex
+     */
+    int getEndEdge(int vertexId);
+
+    int getTarget(int edgeId);
+
+    double getWeight(int edgeId);
+
+    default int getOutDegree(int vertexId)
+    {
+        return getEndEdge(vertexId) - getFirstEdge(vertexId);
+    }
+}
@@ -0,0 +1,13 @@
+package gd.graphalgorithms;
+
+/**
+ * Lower bound on the cost of the shortest path between two vertices. To guarantee shortest paths, the
+ * estimate must never exceed the true cost and must satisfy the triangle inequality over every edge.
+ *
+ * @param <V> Vertex type
+ */
+@FunctionalInterface
+public interface AStarHeuristic<V>
+{
+    double estimate(V vertex, V targetVertex);
+}
@@ -0,0 +1,169 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.graphalgorithms.DijkstraShortestPaths.VertexState;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A* search from a source towards a single target vertex. Vertices are expanded in order of their distance
+ * from the source plus the heuristic estimate of their remaining distance to the target, and only vertices
+ * reached by the search are ever put into the frontier.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public final class AStarShortestPaths<V, E> implements ShortestPathSearch<V>
+{
+    private final Graph<V, E> graph;
+    private final V sourceVertex;
+    private final V targetVertex;
+    private final ToDoubleFunction<E> costFunction;
+    private final AStarHeuristic<V> heuristic;
+
+    private final FrontierQueue<V> frontier;
+    private final HashMap<V, Double> distanceFromSource;
+    private final HashMap<V, V> previousNode;
+    private final HashMap<V, VertexState> states;
+
+    private int expandedVertexCount = 0;
+
+    public AStarShortestPaths(
+            Graph<V, E> graph,
+            V sourceVertex,
+            V targetVertex,
+            ToDoubleFunction<E> costFunction,
+            AStarHeuristic<V> heuristic
+    )
+    {
+        if (!graph.hasVertex(sourceVertex) || !graph.hasVertex(targetVertex))
+        {
+            throw new IllegalArgumentException("Source and target vertex must exist in graph");
+        }
+
+        this.graph = graph;
+        this.sourceVertex = sourceVertex;
+        this.targetVertex = targetVertex;
+        this.costFunction = costFunction;
+        this.heuristic = heuristic;
+
+        this.frontier = new IndexedDAryHeap<>();
+        this.distanceFromSource = new HashMap<>();
+        this.previousNode = new HashMap<>();
+        this.states = new HashMap<>();
+
+        distanceFromSource.put(sourceVertex, 0.0);
+        states.put(sourceVertex, VertexState.FRONTIER);
+        frontier.offer(sourceVertex, heuristic.estimate(sourceVertex, targetVertex));
+    }
+
+    public static <E> AStarShortestPaths<DspVertex, E> withEuclideanHeuristic(
+            Graph<DspVertex, E> graph,
+            DspVertex sourceVertex,
+            DspVertex targetVertex,
+            ToDoubleFunction<E> costFunction
+    )
+    {
+        return new AStarShortestPaths<>(
+                graph, sourceVertex, targetVertex, costFunction,
+                EuclideanHeuristic.calibrate(graph, costFunction)
+        );
+    }
+
+    @Override
+    public boolean isCompleted()
+    {
+        return frontier.isEmpty() || states.get(targetVertex) == VertexState.EXPANDED;
+    }
+
+    @Override
+    public void step()
+    {
+        if (isCompleted())
+        {
+            throw new IllegalStateException("Shortest path search is already completed");
+        }
+
+        var currentVertex = frontier.poll();
+        double currentDistance = distanceFromSource.get(currentVertex);
+        states.put(currentVertex, VertexState.EXPANDED);
+        expandedVertexCount++;
+
+        graph.forEachEdge(currentVertex, (neighbour, edge) ->
+        {
+            if (states.get(neighbour) != VertexState.EXPANDED)
+            {
+                states.put(neighbour, VertexState.FRONTIER);
+
+                var tentativeDistance = currentDistance + costFunction.applyAsDouble(edge);
+                if (tentativeDistance < distanceFromSource.getOrDefault(neighbour, Double.MAX_VALUE))
+                {
+                    distanceFromSource.put(neighbour, tentativeDistance);
+                    previousNode.put(neighbour, currentVertex);
+
+                    frontier.offer(neighbour, tentativeDistance + heuristic.estimate(neighbour, targetVertex));
+                }
+            }
+        });
+    }
+
+    public void run()
+    {
+        while (!isCompleted())
+        {
+            step();
+        }
+    }
+
+    @Override
+    public List<V> getShortestPathTo(V targetVertex)
+    {
+        var path = new LinkedList<V>();
+        if (previousNode.get(targetVertex) == null)
+        {
+            return path;
+        }
+
+        path.addFirst(targetVertex);
+        while (previousNode.get(path.getFirst()) != null)
+        {
+            path.addFirst(previousNode.get(path.getFirst()));
+        }
+
+        return path;
+    }
+
+    @Override
+    public double getShortestPathCostTo(V targetVertex)
+    {
+        return distanceFromSource.getOrDefault(targetVertex, Double.MAX_VALUE);
+    }
+
+    @Override
+    public V getSourceVertex()
+    {
+        return sourceVertex;
+    }
+
+    public V getTargetVertex()
+    {
+        return targetVertex;
+    }
+
+    public int getExpandedVertexCount()
+    {
+        return expandedVertexCount;
+    }
+
+    @Override
+    public Map<V, VertexState> getState()
+    {
+        var vertexStates = new HashMap<V, VertexState>();
+        for (var vertex : graph.getVertices())
+        {
+            vertexStates.put(vertex, states.getOrDefault(vertex, VertexState.PENDING));
+        }
+        return Collections.unmodifiableMap(vertexStates);
+    }
+}
@@ -0,0 +1,175 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Shortest path costs between all pairs of vertices of an {@link IndexedGraph}, computed with one run of
+ * Dijkstra's algorithm per source vertex. The sources are split recursively across a {@link ForkJoinPool},
+ * and the tasks share a {@link WorkspacePool} of search workspaces and row buffers, so each workspace is reused
+ * for many sources but released once the computation is done.
+ * <p>
+ * Row and column i of the result both belong to the vertex with id i. A computation can be cancelled from
+ * any thread, which makes {@link #compute(DistanceMatrix)} throw a {@link CancellationException} once the
+ * sources already in progress are done.
+ *
+ * @param <V> Vertex type
+ */
+public final class AllPairsShortestPaths<V>
+{
+    private static final int SOURCES_PER_TASK = 4;
+
+    private final IndexedGraph<V> graph;
+    private final ForkJoinPool pool;
+    private final ProgressListener progressListener;
+
+    private final AtomicInteger completedSources = new AtomicInteger();
+    private volatile boolean cancelled;
+
+    public AllPairsShortestPaths(IndexedGraph<V> graph)
+    {
+        this(graph, ForkJoinPool.commonPool(), (completed, total) -> {});
+    }
+
+    public AllPairsShortestPaths(IndexedGraph<V> graph, ForkJoinPool pool, ProgressListener progressListener)
+    {
+        this.graph = graph;
+        this.pool = pool;
+        this.progressListener = progressListener;
+    }
+
+    public static <V, E> AllPairsShortestPaths<V> of(Graph<V, E> graph, ToDoubleFunction<E> costFunction)
+    {
+        return new AllPairsShortestPaths<>(CsrGraph.of(graph, costFunction));
+    }
+
+    public ArrayDistanceMatrix compute()
+    {
+        var vertexCount = graph.getVertexCount();
+        return compute(new ArrayDistanceMatrix(vertexCount, vertexCount));
+    }
+
+    /**
+     * Computes the matrix into a memory-mapped file, see {@link MappedDistanceMatrix}.
+     */
+    public MappedDistanceMatrix compute(Path path) throws IOException
+    {
+        var vertexCount = graph.getVertexCount();
+        var matrix = compute(MappedDistanceMatrix.create(path, vertexCount, vertexCount));
+        matrix.force();
+        return matrix;
+    }
+
+    public <M extends DistanceMatrix> M compute(M matrix)
+    {
+        var vertexCount = graph.getVertexCount();
+        if (matrix.getRowCount() != vertexCount || matrix.getColumnCount() != vertexCount)
+        {
+            throw new IllegalArgumentException("Matrix must have one row and one column per vertex");
+        }
+
+        completedSources.set(0);
+        var workspaces = new WorkspacePool<>(() -> new Workspace(graph));
+        pool.invoke(new SourceRangeTask(matrix, workspaces, 0, vertexCount));
+
+        if (cancelled)
+        {
+            throw new CancellationException("All-pairs computation was cancelled");
+        }
+        return matrix;
+    }
+
+    /**
+     * Stops the running computation; sources that have not been started yet are skipped. Cancellation is
+     * permanent, later computations on this instance are cancelled as well.
+     */
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    public IndexedGraph<V> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * Receives the number of completed sources after each source. Called from the worker threads, so
+     * implementations must be thread-safe and should return quickly.
+     */
+    @FunctionalInterface
+    public interface ProgressListener
+    {
+        void progress(int completedSources, int totalSources);
+    }
+
+    private static final class Workspace
+    {
+        private final DijkstraKernel kernel;
+        private final double[] row;
+
+        private Workspace(IndexedGraph<?> graph)
+        {
+            this.kernel = new DijkstraKernel(graph);
+            this.row = new double[graph.getVertexCount()];
+        }
+    }
+
+    private final class SourceRangeTask extends RecursiveAction
+    {
+        //Tasks are never serialized, the ID only keeps the compiler from warning about it
+        private static final long serialVersionUID = 1L;
+
+        private final DistanceMatrix matrix;
+        private final WorkspacePool<Workspace> workspaces;
+        private final int firstSource;
+        private final int endSource;
+
+        private SourceRangeTask(DistanceMatrix matrix, WorkspacePool<Workspace> workspaces, int firstSource, int endSource)
+        {
+            this.matrix = matrix;
+            this.workspaces = workspaces;
+            this.firstSource = firstSource;
+            this.endSource = endSource;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (endSource - firstSource > SOURCES_PER_TASK)
+            {
+                var middleSource = (firstSource + endSource) >>> 1;
+                invokeAll(
+                        new SourceRangeTask(matrix, workspaces, firstSource, middleSource),
+                        new SourceRangeTask(matrix, workspaces, middleSource, endSource)
+                );
+                return;
+            }
+
+            var workspace = workspaces.acquire();
+            try
+            {
+                for (int source = firstSource; source < endSource && !cancelled; ++source)
+                {
+                    workspace.kernel.run(source, workspace.row);
+                    matrix.setRow(source, workspace.row);
+                    progressListener.progress(completedSources.incrementAndGet(), graph.getVertexCount());
+                }
+            }
+            finally
+            {
+                workspaces.release(workspace);
+            }
+        }
+    }
+}
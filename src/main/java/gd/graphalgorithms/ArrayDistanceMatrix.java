@@ -0,0 +1,55 @@
+package gd.graphalgorithms;
+
+/**
+ * {@link DistanceMatrix} on the heap, stored row-major in a single array.
+ */
+public final class ArrayDistanceMatrix implements DistanceMatrix
+{
+    private final int rowCount;
+    private final int columnCount;
+    private final double[] distances;
+
+    public ArrayDistanceMatrix(int rowCount, int columnCount)
+    {
+        if ((long) rowCount * columnCount > Integer.MAX_VALUE - 8)
+        {
+            throw new IllegalArgumentException("Matrix of " + rowCount + "x" + columnCount + " does not fit into an array");
+        }
+
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.distances = new double[rowCount * columnCount];
+    }
+
+    @Override
+    public int getRowCount()
+    {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount()
+    {
+        return columnCount;
+    }
+
+    @Override
+    public double get(int row, int column)
+    {
+        return distances[row * columnCount + column];
+    }
+
+    @Override
+    public void setRow(int row, double[] rowDistances)
+    {
+        System.arraycopy(rowDistances, 0, distances, row * columnCount, columnCount);
+    }
+
+    /**
+     * @return The backing row-major array, not a copy
+     */
+    public double[] getDistances()
+    {
+        return distances;
+    }
+}
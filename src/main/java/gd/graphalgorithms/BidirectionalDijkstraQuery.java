@@ -0,0 +1,202 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+import java.util.*;
+
+/**
+ * Reusable point-to-point queries with the bidirectional Dijkstra of {@link BidirectionalDijkstraShortestPaths},
+ * for answering many queries on the same graph.
+ * <p>
+ * The search state is kept between queries and only the touched entries are reset, so a query costs time
+ * proportional to the part of the graph it explores instead of the whole graph. A query object should be reused,
+ * but it must not be shared between threads.
+ *
+ * @param <V> Vertex type
+ */
+public final class BidirectionalDijkstraQuery<V>
+{
+    private final IndexedGraph<V> graph;
+    private final Direction forward;
+    private final Direction backward;
+
+    private double bestCost;
+    private int meetingVertex;
+
+    /**
+     * @param graph        Graph to search
+     * @param reverseGraph The graph with all edges reversed, using the same vertex ids as graph
+     */
+    public BidirectionalDijkstraQuery(IndexedGraph<V> graph, IndexedGraph<V> reverseGraph)
+    {
+        if (graph.getVertexCount() != reverseGraph.getVertexCount() || graph.getEdgeCount() != reverseGraph.getEdgeCount())
+        {
+            throw new IllegalArgumentException("Reverse graph does not match graph");
+        }
+
+        this.graph = graph;
+        this.forward = new Direction(graph);
+        this.backward = new Direction(reverseGraph);
+    }
+
+    /**
+     * @return Cost of the shortest path, {@link Double#MAX_VALUE} if the target is unreachable or either vertex is unknown
+     */
+    public double getShortestPathCost(V sourceVertex, V targetVertex)
+    {
+        return run(sourceVertex, targetVertex) ? bestCost : Double.MAX_VALUE;
+    }
+
+    /**
+     * @return Shortest path and its cost, both from the same search
+     */
+    public ShortestPath<V> findShortestPath(V sourceVertex, V targetVertex)
+    {
+        if (!run(sourceVertex, targetVertex))
+        {
+            return ShortestPath.unreachable();
+        }
+
+        var path = new ArrayList<V>();
+        for (int vertex = meetingVertex; vertex >= 0; vertex = forward.previousNode[vertex])
+        {
+            path.add(graph.getVertex(vertex));
+        }
+        Collections.reverse(path);
+        for (int vertex = backward.previousNode[meetingVertex]; vertex >= 0; vertex = backward.previousNode[vertex])
+        {
+            path.add(graph.getVertex(vertex));
+        }
+        return new ShortestPath<>(path, bestCost);
+    }
+
+    /**
+     * @return Whether a path was found; {@link #bestCost} and {@link #meetingVertex} describe it
+     */
+    private boolean run(V sourceVertex, V targetVertex)
+    {
+        forward.reset();
+        backward.reset();
+        bestCost = Double.MAX_VALUE;
+        meetingVertex = -1;
+
+        if (sourceVertex == null || targetVertex == null || !graph.hasVertex(sourceVertex) || !graph.hasVertex(targetVertex))
+        {
+            return false;
+        }
+
+        var sourceId = graph.getId(sourceVertex);
+        var targetId = graph.getId(targetVertex);
+        forward.start(sourceId);
+        backward.start(targetId);
+        if (sourceId == targetId)
+        {
+            bestCost = 0.0;
+            meetingVertex = sourceId;
+            return true;
+        }
+
+        while (!forward.frontier.isEmpty() && !backward.frontier.isEmpty()
+                && forward.frontier.peekPriority() + backward.frontier.peekPriority() < bestCost)
+        {
+            if (forward.frontier.peekPriority() <= backward.frontier.peekPriority())
+            {
+                expand(forward, backward);
+            }
+            else
+            {
+                expand(backward, forward);
+            }
+        }
+
+        return meetingVertex >= 0;
+    }
+
+    private void expand(Direction direction, Direction opposite)
+    {
+        var currentVertex = direction.frontier.poll();
+        var currentDistance = direction.distance[currentVertex];
+        direction.settled[currentVertex] = true;
+
+        var directionGraph = direction.graph;
+        var endEdge = directionGraph.getEndEdge(currentVertex);
+        for (int edge = directionGraph.getFirstEdge(currentVertex); edge < endEdge; ++edge)
+        {
+            var neighbour = directionGraph.getTarget(edge);
+            if (direction.settled[neighbour])
+            {
+                continue;
+            }
+
+            var tentativeDistance = currentDistance + directionGraph.getWeight(edge);
+            if (tentativeDistance < direction.distance[neighbour])
+            {
+                direction.touch(neighbour);
+                direction.distance[neighbour] = tentativeDistance;
+                direction.previousNode[neighbour] = currentVertex;
+                direction.frontier.offer(neighbour, tentativeDistance);
+
+                var pathCost = tentativeDistance + opposite.distance[neighbour];
+                if (pathCost < bestCost)
+                {
+                    bestCost = pathCost;
+                    meetingVertex = neighbour;
+                }
+            }
+        }
+    }
+
+    private static final class Direction
+    {
+        private final IndexedGraph<?> graph;
+        private final double[] distance;
+        private final int[] previousNode;
+        private final boolean[] settled;
+        private final IntDAryHeap frontier;
+        private final int[] touchedVertices;
+        private int touchedCount;
+
+        private Direction(IndexedGraph<?> graph)
+        {
+            var vertexCount = graph.getVertexCount();
+
+            this.graph = graph;
+            this.distance = new double[vertexCount];
+            this.previousNode = new int[vertexCount];
+            this.settled = new boolean[vertexCount];
+            this.frontier = new IntDAryHeap(vertexCount);
+            this.touchedVertices = new int[vertexCount];
+
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            Arrays.fill(previousNode, -1);
+        }
+
+        private void start(int vertexId)
+        {
+            touch(vertexId);
+            distance[vertexId] = 0.0;
+            frontier.offer(vertexId, 0.0);
+        }
+
+        private void touch(int vertexId)
+        {
+            if (distance[vertexId] == Double.POSITIVE_INFINITY)
+            {
+                touchedVertices[touchedCount++] = vertexId;
+            }
+        }
+
+        private void reset()
+        {
+            for (int i = 0; i < touchedCount; ++i)
+            {
+                var vertexId = touchedVertices[i];
+                distance[vertexId] = Double.POSITIVE_INFINITY;
+                previousNode[vertexId] = -1;
+                settled[vertexId] = false;
+            }
+            touchedCount = 0;
+            frontier.clear();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.graphalgorithms.DijkstraShortestPaths.VertexState;
+
+import java.util.*;
+
+/**
+ * Point-to-point Dijkstra that searches forward from the source and backward from the target at the same
+ * time, always expanding the side with the smaller tentative distance. The search stops once the sum of
+ * both frontier minimums reaches the cost of the best path found so far.
+ *
+ * @param <V> Vertex type
+ */
+public final class BidirectionalDijkstraShortestPaths<V> implements ShortestPathSearch<V>
+{
+    private static final double UNREACHED = Double.POSITIVE_INFINITY;
+
+    private final IndexedGraph<V> graph;
+    private final V sourceVertex;
+    private final V targetVertex;
+    private final int sourceId;
+    private final int targetId;
+
+    private final Direction forward;
+    private final Direction backward;
+
+    private double bestPathCost = UNREACHED;
+    private int meetingVertex = -1;
+    private int settledVertexCount = 0;
+
+    /**
+     * @param graph        Graph to search
+     * @param reverseGraph The graph with all edges reversed, using the same vertex ids as graph
+     */
+    public BidirectionalDijkstraShortestPaths(IndexedGraph<V> graph, IndexedGraph<V> reverseGraph, V sourceVertex, V targetVertex)
+    {
+        if (graph.getVertexCount() != reverseGraph.getVertexCount() || graph.getEdgeCount() != reverseGraph.getEdgeCount())
+        {
+            throw new IllegalArgumentException("Reverse graph does not match graph");
+        }
+
+        this.graph = graph;
+        this.sourceVertex = sourceVertex;
+        this.targetVertex = targetVertex;
+        this.sourceId = graph.getId(sourceVertex);
+        this.targetId = graph.getId(targetVertex);
+
+        this.forward = new Direction(graph, sourceId);
+        this.backward = new Direction(reverseGraph, targetId);
+
+        if (sourceId == targetId)
+        {
+            bestPathCost = 0.0;
+            meetingVertex = sourceId;
+        }
+    }
+
+    @Override
+    public boolean isCompleted()
+    {
+        if (forward.frontier.isEmpty() || backward.frontier.isEmpty())
+        {
+            return true;
+        }
+        return forward.frontier.peekPriority() + backward.frontier.peekPriority() >= bestPathCost;
+    }
+
+    @Override
+    public void step()
+    {
+        if (isCompleted())
+        {
+            throw new IllegalStateException("Shortest path search is already completed");
+        }
+
+        if (forward.frontier.peekPriority() <= backward.frontier.peekPriority())
+        {
+            expand(forward, backward);
+        }
+        else
+        {
+            expand(backward, forward);
+        }
+    }
+
+    public void run()
+    {
+        while (!isCompleted())
+        {
+            step();
+        }
+    }
+
+    /**
+     * Only the target vertex given at construction can be queried, as other vertices are not guaranteed
+     * to be settled when the search completes.
+     */
+    @Override
+    public List<V> getShortestPathTo(V targetVertex)
+    {
+        requireQueryTarget(targetVertex);
+
+        var path = new ArrayList<V>();
+        if (meetingVertex < 0 || sourceId == targetId)
+        {
+            return path;
+        }
+
+        for (int vertex = meetingVertex; vertex >= 0; vertex = forward.previousNode[vertex])
+        {
+            path.add(graph.getVertex(vertex));
+        }
+        Collections.reverse(path);
+
+        for (int vertex = backward.previousNode[meetingVertex]; vertex >= 0; vertex = backward.previousNode[vertex])
+        {
+            path.add(graph.getVertex(vertex));
+        }
+
+        return path;
+    }
+
+    @Override
+    public double getShortestPathCostTo(V targetVertex)
+    {
+        requireQueryTarget(targetVertex);
+        return bestPathCost == UNREACHED ? Double.MAX_VALUE : bestPathCost;
+    }
+
+    @Override
+    public V getSourceVertex()
+    {
+        return sourceVertex;
+    }
+
+    public V getTargetVertex()
+    {
+        return targetVertex;
+    }
+
+    /**
+     * @return Number of vertices settled by either the forward or the backward search so far
+     */
+    public int getSettledVertexCount()
+    {
+        return settledVertexCount;
+    }
+
+    @Override
+    public Map<V, VertexState> getState()
+    {
+        var vertexStates = new HashMap<V, VertexState>();
+        for (int vertex = 0; vertex < graph.getVertexCount(); ++vertex)
+        {
+            VertexState state;
+            if (forward.settled[vertex] || backward.settled[vertex])
+            {
+                state = VertexState.EXPANDED;
+            }
+            else if (forward.frontier.contains(vertex) || backward.frontier.contains(vertex))
+            {
+                state = VertexState.FRONTIER;
+            }
+            else
+            {
+                state = VertexState.PENDING;
+            }
+            vertexStates.put(graph.getVertex(vertex), state);
+        }
+        return Collections.unmodifiableMap(vertexStates);
+    }
+
+    private void expand(Direction direction, Direction opposite)
+    {
+        var currentVertex = direction.frontier.poll();
+        var currentDistance = direction.distance[currentVertex];
+        direction.settled[currentVertex] = true;
+        settledVertexCount++;
+
+        var directionGraph = direction.graph;
+        var endEdge = directionGraph.getEndEdge(currentVertex);
+        for (int edge = directionGraph.getFirstEdge(currentVertex); edge < endEdge; ++edge)
+        {
+            var neighbour = directionGraph.getTarget(edge);
+            if (direction.settled[neighbour])
+            {
+                continue;
+            }
+
+            var tentativeDistance = currentDistance + directionGraph.getWeight(edge);
+            if (tentativeDistance < direction.distance[neighbour])
+            {
+                direction.distance[neighbour] = tentativeDistance;
+                direction.previousNode[neighbour] = currentVertex;
+                direction.frontier.offer(neighbour, tentativeDistance);
+
+                var pathCost = tentativeDistance + opposite.distance[neighbour];
+                if (pathCost < bestPathCost)
+                {
+                    bestPathCost = pathCost;
+                    meetingVertex = neighbour;
+                }
+            }
+        }
+    }
+
+    private void requireQueryTarget(V vertex)
+    {
+        if (!Objects.equals(vertex, targetVertex))
+        {
+            throw new IllegalArgumentException("Search only answers queries for its target vertex " + targetVertex);
+        }
+    }
+
+    private static final class Direction
+    {
+        private final IndexedGraph<?> graph;
+        private final double[] distance;
+        private final int[] previousNode;
+        private final boolean[] settled;
+        private final IntDAryHeap frontier;
+
+        private Direction(IndexedGraph<?> graph, int startVertex)
+        {
+            var vertexCount = graph.getVertexCount();
+
+            this.graph = graph;
+            this.distance = new double[vertexCount];
+            this.previousNode = new int[vertexCount];
+            this.settled = new boolean[vertexCount];
+            this.frontier = new IntDAryHeap(vertexCount);
+
+            Arrays.fill(distance, UNREACHED);
+            Arrays.fill(previousNode, -1);
+
+            distance[startVertex] = 0.0;
+            frontier.offer(startVertex, 0.0);
+        }
+    }
+}
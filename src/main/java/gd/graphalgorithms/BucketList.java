@@ -0,0 +1,102 @@
+package gd.graphalgorithms;
+
+/**
+ * Intrusive doubly linked list of queued vertices, the bucket type of {@link DialQueue} and {@link RadixHeap}.
+ * Each node knows the index of the bucket holding it, so decrease-key can unlink it in constant time.
+ *
+ * @param <V> Vertex type
+ */
+final class BucketList<V>
+{
+    private Node<V> head;
+    private Node<V> tail;
+
+    /**
+     * @return Array of the given number of empty buckets
+     */
+    static <V> BucketList<V>[] createBuckets(int count)
+    {
+        @SuppressWarnings("unchecked")
+        var buckets = (BucketList<V>[]) new BucketList<?>[count];
+        for (int i = 0; i < count; ++i)
+        {
+            buckets[i] = new BucketList<>();
+        }
+        return buckets;
+    }
+
+    boolean isEmpty()
+    {
+        return head == null;
+    }
+
+    Node<V> first()
+    {
+        return head;
+    }
+
+    void addLast(Node<V> node, int bucket)
+    {
+        node.bucket = bucket;
+        node.previous = tail;
+        node.next = null;
+        if (tail == null)
+        {
+            head = node;
+        }
+        else
+        {
+            tail.next = node;
+        }
+        tail = node;
+    }
+
+    void remove(Node<V> node)
+    {
+        if (node.previous == null)
+        {
+            head = node.next;
+        }
+        else
+        {
+            node.previous.next = node.next;
+        }
+
+        if (node.next == null)
+        {
+            tail = node.previous;
+        }
+        else
+        {
+            node.next.previous = node.previous;
+        }
+
+        node.previous = null;
+        node.next = null;
+    }
+
+    Node<V> removeFirst()
+    {
+        var node = head;
+        if (node != null)
+        {
+            remove(node);
+        }
+        return node;
+    }
+
+    static final class Node<V>
+    {
+        final V vertex;
+        double priority;
+        long key;
+        int bucket;
+        Node<V> previous;
+        Node<V> next;
+
+        Node(V vertex)
+        {
+            this.vertex = vertex;
+        }
+    }
+}
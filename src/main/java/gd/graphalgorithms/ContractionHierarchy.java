@@ -0,0 +1,245 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Contraction hierarchy over an {@link IndexedGraph}: a rank for every vertex, plus the original edges and
+ * shortcuts split into two upward graphs. The forward upward graph holds edges u->w with rank(u) < rank(w)
+ * at u, the backward upward graph holds edges u->w with rank(u) > rank(w) at w, pointing back to u.
+ * Shortcuts remember the vertex they bypass, which is what lets {@link ContractionHierarchyQuery} unpack
+ * them into paths of the original graph.
+ *
+ * @param <V> Vertex type
+ */
+public final class ContractionHierarchy<V>
+{
+    private static final int MAGIC = 0x44535043;
+    private static final int VERSION = 1;
+
+    private final IndexedGraph<V> graph;
+    private final int[] rank;
+    private final UpwardGraph forwardGraph;
+    private final UpwardGraph backwardGraph;
+
+    ContractionHierarchy(IndexedGraph<V> graph, int[] rank, UpwardGraph forwardGraph, UpwardGraph backwardGraph)
+    {
+        this.graph = graph;
+        this.rank = rank;
+        this.forwardGraph = forwardGraph;
+        this.backwardGraph = backwardGraph;
+    }
+
+    public static <V> ContractionHierarchy<V> build(IndexedGraph<V> graph)
+    {
+        return new ContractionHierarchyBuilder(graph).build(graph);
+    }
+
+    /**
+     * Reads a hierarchy written by {@link #write(Path)}. The graph must be the one the hierarchy was built
+     * from, with the same vertex ids.
+     */
+    public static <V> ContractionHierarchy<V> read(Path path, IndexedGraph<V> graph) throws IOException
+    {
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path))))
+        {
+            if (input.readInt() != MAGIC)
+            {
+                throw new IOException("Not a contraction hierarchy file: " + path);
+            }
+
+            var version = input.readInt();
+            if (version != VERSION)
+            {
+                throw new IOException("Unsupported contraction hierarchy version: " + version);
+            }
+
+            var vertexCount = input.readInt();
+            var fingerprint = input.readLong();
+            if (vertexCount != graph.getVertexCount() || fingerprint != GraphFingerprint.of(graph))
+            {
+                throw new IOException("Contraction hierarchy was built for a different graph");
+            }
+
+            var rank = readInts(input, vertexCount);
+            var forwardGraph = UpwardGraph.read(input, vertexCount);
+            var backwardGraph = UpwardGraph.read(input, vertexCount);
+
+            return new ContractionHierarchy<>(graph, rank, forwardGraph, backwardGraph);
+        }
+    }
+
+    public void write(Path path) throws IOException
+    {
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))))
+        {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(graph.getVertexCount());
+            output.writeLong(GraphFingerprint.of(graph));
+
+            writeInts(output, rank);
+            forwardGraph.write(output);
+            backwardGraph.write(output);
+        }
+    }
+
+    public IndexedGraph<V> getGraph()
+    {
+        return graph;
+    }
+
+    public int getRank(int vertexId)
+    {
+        return rank[vertexId];
+    }
+
+    /**
+     * @return Number of shortcut edges added during preprocessing
+     */
+    public int getShortcutCount()
+    {
+        return forwardGraph.getShortcutCount() + backwardGraph.getShortcutCount();
+    }
+
+    UpwardGraph getForwardGraph()
+    {
+        return forwardGraph;
+    }
+
+    UpwardGraph getBackwardGraph()
+    {
+        return backwardGraph;
+    }
+
+    private static int[] readInts(DataInputStream input, int length) throws IOException
+    {
+        var values = new int[length];
+        for (int i = 0; i < length; ++i)
+        {
+            values[i] = input.readInt();
+        }
+        return values;
+    }
+
+    private static void writeInts(DataOutputStream output, int[] values) throws IOException
+    {
+        for (var value : values)
+        {
+            output.writeInt(value);
+        }
+    }
+
+    /**
+     * Edges towards higher ranked vertices in CSR layout. Middle vertex -1 marks an original edge.
+     */
+    static final class UpwardGraph
+    {
+        private final int[] offsets;
+        private final int[] targets;
+        private final double[] weights;
+        private final int[] middleVertices;
+
+        private UpwardGraph(int[] offsets, int[] targets, double[] weights, int[] middleVertices)
+        {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.middleVertices = middleVertices;
+        }
+
+        static UpwardGraph of(ContractionHierarchyBuilder.EdgeList[] edgeLists)
+        {
+            var offsets = new int[edgeLists.length + 1];
+            for (int vertex = 0; vertex < edgeLists.length; ++vertex)
+            {
+                offsets[vertex + 1] = offsets[vertex] + edgeLists[vertex].size;
+            }
+
+            var edgeCount = offsets[edgeLists.length];
+            var targets = new int[edgeCount];
+            var weights = new double[edgeCount];
+            var middleVertices = new int[edgeCount];
+            for (int vertex = 0; vertex < edgeLists.length; ++vertex)
+            {
+                var edges = edgeLists[vertex];
+                System.arraycopy(edges.targets, 0, targets, offsets[vertex], edges.size);
+                System.arraycopy(edges.weights, 0, weights, offsets[vertex], edges.size);
+                System.arraycopy(edges.middleVertices, 0, middleVertices, offsets[vertex], edges.size);
+            }
+
+            return new UpwardGraph(offsets, targets, weights, middleVertices);
+        }
+
+        int getFirstEdge(int vertexId)
+        {
+            return offsets[vertexId];
+        }
+
+        int getEndEdge(int vertexId)
+        {
+            return offsets[vertexId + 1];
+        }
+
+        int getTarget(int edgeId)
+        {
+            return targets[edgeId];
+        }
+
+        double getWeight(int edgeId)
+        {
+            return weights[edgeId];
+        }
+
+        int getMiddleVertex(int edgeId)
+        {
+            return middleVertices[edgeId];
+        }
+
+        int findEdge(int vertexId, int targetId)
+        {
+            for (int edge = offsets[vertexId]; edge < offsets[vertexId + 1]; ++edge)
+            {
+                if (targets[edge] == targetId)
+                {
+                    return edge;
+                }
+            }
+            return -1;
+        }
+
+        int getShortcutCount()
+        {
+            return (int) Arrays.stream(middleVertices).filter(middleVertex -> middleVertex >= 0).count();
+        }
+
+        static UpwardGraph read(DataInputStream input, int vertexCount) throws IOException
+        {
+            var offsets = readInts(input, vertexCount + 1);
+            var edgeCount = offsets[vertexCount];
+            var targets = readInts(input, edgeCount);
+            var weights = new double[edgeCount];
+            for (int i = 0; i < edgeCount; ++i)
+            {
+                weights[i] = input.readDouble();
+            }
+            var middleVertices = readInts(input, edgeCount);
+
+            return new UpwardGraph(offsets, targets, weights, middleVertices);
+        }
+
+        void write(DataOutputStream output) throws IOException
+        {
+            writeInts(output, offsets);
+            writeInts(output, targets);
+            for (var weight : weights)
+            {
+                output.writeDouble(weight);
+            }
+            writeInts(output, middleVertices);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+import java.util.*;
+
+/**
+ * Preprocessing for {@link ContractionHierarchy}. Vertices are contracted one at a time in order of their
+ * edge difference (shortcuts added minus edges removed) plus the number of already contracted neighbours,
+ * with priorities updated lazily when popped and eagerly for the neighbours of each contracted vertex.
+ * <p>
+ * When contracting v, a shortcut u->w is added for each pair of neighbours unless a bounded witness search
+ * from u finds a path to w that avoids v and is no longer than u->v->w.
+ */
+final class ContractionHierarchyBuilder
+{
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final int vertexCount;
+    private final EdgeList[] outgoing;
+    private final EdgeList[] incoming;
+    private final boolean[] contracted;
+    private final int[] contractedNeighbours;
+    private final int[] rank;
+
+    private final double[] witnessDistance;
+    private final IntDAryHeap witnessFrontier;
+    private final int[] touchedVertices;
+    private int touchedCount;
+
+    private int[] shortcutSources = new int[16];
+    private int[] shortcutTargets = new int[16];
+    private double[] shortcutWeights = new double[16];
+    private int shortcutCount;
+
+    ContractionHierarchyBuilder(IndexedGraph<?> graph)
+    {
+        this.vertexCount = graph.getVertexCount();
+        this.outgoing = new EdgeList[vertexCount];
+        this.incoming = new EdgeList[vertexCount];
+        this.contracted = new boolean[vertexCount];
+        this.contractedNeighbours = new int[vertexCount];
+        this.rank = new int[vertexCount];
+
+        this.witnessDistance = new double[vertexCount];
+        this.witnessFrontier = new IntDAryHeap(vertexCount);
+        this.touchedVertices = new int[vertexCount];
+        Arrays.fill(witnessDistance, Double.POSITIVE_INFINITY);
+
+        for (int vertex = 0; vertex < vertexCount; ++vertex)
+        {
+            outgoing[vertex] = new EdgeList();
+            incoming[vertex] = new EdgeList();
+        }
+
+        for (int source = 0; source < vertexCount; ++source)
+        {
+            for (int edge = graph.getFirstEdge(source); edge < graph.getEndEdge(source); ++edge)
+            {
+                var target = graph.getTarget(edge);
+                if (target != source)
+                {
+                    addEdge(source, target, graph.getWeight(edge), -1);
+                }
+            }
+        }
+    }
+
+    <V> ContractionHierarchy<V> build(IndexedGraph<V> graph)
+    {
+        var queue = new IntDAryHeap(vertexCount);
+        for (int vertex = 0; vertex < vertexCount; ++vertex)
+        {
+            queue.offer(vertex, computePriority(vertex));
+        }
+
+        var nextRank = 0;
+        while (!queue.isEmpty())
+        {
+            var vertex = queue.poll();
+
+            //Lazy update: only contract the vertex if its recomputed priority is still the lowest
+            var priority = computePriority(vertex);
+            if (!queue.isEmpty() && priority > queue.peekPriority())
+            {
+                queue.offer(vertex, priority);
+                continue;
+            }
+
+            rank[vertex] = nextRank++;
+            contract(vertex);
+
+            for (var neighbours : List.of(outgoing[vertex], incoming[vertex]))
+            {
+                for (int i = 0; i < neighbours.size; ++i)
+                {
+                    var neighbour = neighbours.targets[i];
+                    contractedNeighbours[neighbour]++;
+                    queue.offer(neighbour, computePriority(neighbour));
+                }
+            }
+        }
+
+        //The edges left at a vertex when it was contracted all lead to vertices of higher rank
+        return new ContractionHierarchy<>(
+                graph, rank,
+                ContractionHierarchy.UpwardGraph.of(outgoing),
+                ContractionHierarchy.UpwardGraph.of(incoming)
+        );
+    }
+
+    private double computePriority(int vertex)
+    {
+        var edgeDifference = findShortcuts(vertex) - outgoing[vertex].size - incoming[vertex].size;
+        return edgeDifference + contractedNeighbours[vertex];
+    }
+
+    private void contract(int vertex)
+    {
+        findShortcuts(vertex);
+        contracted[vertex] = true;
+
+        var out = outgoing[vertex];
+        for (int i = 0; i < out.size; ++i)
+        {
+            incoming[out.targets[i]].remove(vertex);
+        }
+
+        var in = incoming[vertex];
+        for (int i = 0; i < in.size; ++i)
+        {
+            outgoing[in.targets[i]].remove(vertex);
+        }
+
+        for (int i = 0; i < shortcutCount; ++i)
+        {
+            addEdge(shortcutSources[i], shortcutTargets[i], shortcutWeights[i], vertex);
+        }
+    }
+
+    /**
+     * Collects the shortcuts required to contract the vertex into the shortcut buffer.
+     *
+     * @return Number of shortcuts required
+     */
+    private int findShortcuts(int vertex)
+    {
+        shortcutCount = 0;
+
+        var in = incoming[vertex];
+        var out = outgoing[vertex];
+        if (in.size == 0 || out.size == 0)
+        {
+            return 0;
+        }
+
+        var maxOutgoingWeight = 0.0;
+        for (int i = 0; i < out.size; ++i)
+        {
+            maxOutgoingWeight = Math.max(maxOutgoingWeight, out.weights[i]);
+        }
+
+        for (int i = 0; i < in.size; ++i)
+        {
+            var source = in.targets[i];
+            var sourceWeight = in.weights[i];
+
+            runWitnessSearch(source, vertex, sourceWeight + maxOutgoingWeight);
+
+            for (int j = 0; j < out.size; ++j)
+            {
+                var target = out.targets[j];
+                var pathWeight = sourceWeight + out.weights[j];
+                if (target != source && witnessDistance[target] > pathWeight)
+                {
+                    addShortcut(source, target, pathWeight);
+                }
+            }
+
+            resetWitnessSearch();
+        }
+
+        return shortcutCount;
+    }
+
+    private void runWitnessSearch(int source, int ignoredVertex, double maxDistance)
+    {
+        witnessDistance[source] = 0.0;
+        touchedVertices[touchedCount++] = source;
+        witnessFrontier.offer(source, 0.0);
+
+        var settledCount = 0;
+        while (!witnessFrontier.isEmpty() && witnessFrontier.peekPriority() <= maxDistance && settledCount++ < WITNESS_SETTLE_LIMIT)
+        {
+            var current = witnessFrontier.poll();
+            var edges = outgoing[current];
+            for (int i = 0; i < edges.size; ++i)
+            {
+                var neighbour = edges.targets[i];
+                if (neighbour == ignoredVertex)
+                {
+                    continue;
+                }
+
+                var tentativeDistance = witnessDistance[current] + edges.weights[i];
+                if (tentativeDistance < witnessDistance[neighbour])
+                {
+                    if (witnessDistance[neighbour] == Double.POSITIVE_INFINITY)
+                    {
+                        touchedVertices[touchedCount++] = neighbour;
+                    }
+                    witnessDistance[neighbour] = tentativeDistance;
+                    witnessFrontier.offer(neighbour, tentativeDistance);
+                }
+            }
+        }
+    }
+
+    private void resetWitnessSearch()
+    {
+        for (int i = 0; i < touchedCount; ++i)
+        {
+            witnessDistance[touchedVertices[i]] = Double.POSITIVE_INFINITY;
+        }
+        touchedCount = 0;
+        witnessFrontier.clear();
+    }
+
+    private void addShortcut(int source, int target, double weight)
+    {
+        if (shortcutCount == shortcutSources.length)
+        {
+            shortcutSources = Arrays.copyOf(shortcutSources, shortcutCount * 2);
+            shortcutTargets = Arrays.copyOf(shortcutTargets, shortcutCount * 2);
+            shortcutWeights = Arrays.copyOf(shortcutWeights, shortcutCount * 2);
+        }
+        shortcutSources[shortcutCount] = source;
+        shortcutTargets[shortcutCount] = target;
+        shortcutWeights[shortcutCount] = weight;
+        shortcutCount++;
+    }
+
+    private void addEdge(int source, int target, double weight, int middleVertex)
+    {
+        outgoing[source].addOrImprove(target, weight, middleVertex);
+        incoming[target].addOrImprove(source, weight, middleVertex);
+    }
+
+    /**
+     * Growable list of edges to distinct neighbours, keeping only the cheapest edge per neighbour.
+     */
+    static final class EdgeList
+    {
+        int[] targets = new int[4];
+        double[] weights = new double[4];
+        int[] middleVertices = new int[4];
+        int size;
+
+        void addOrImprove(int target, double weight, int middleVertex)
+        {
+            for (int i = 0; i < size; ++i)
+            {
+                if (targets[i] == target)
+                {
+                    if (weight < weights[i])
+                    {
+                        weights[i] = weight;
+                        middleVertices[i] = middleVertex;
+                    }
+                    return;
+                }
+            }
+
+            if (size == targets.length)
+            {
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middleVertices = Arrays.copyOf(middleVertices, size * 2);
+            }
+            targets[size] = target;
+            weights[size] = weight;
+            middleVertices[size] = middleVertex;
+            size++;
+        }
+
+        void remove(int target)
+        {
+            for (int i = 0; i < size; ++i)
+            {
+                if (targets[i] == target)
+                {
+                    size--;
+                    targets[i] = targets[size];
+                    weights[i] = weights[size];
+                    middleVertices[i] = middleVertices[size];
+                    return;
+                }
+            }
+        }
+    }
+}
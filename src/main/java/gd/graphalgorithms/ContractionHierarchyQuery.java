@@ -0,0 +1,255 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+import java.util.*;
+
+/**
+ * Point-to-point queries on a {@link ContractionHierarchy}. Runs a forward search in the forward upward
+ * graph and a backward search in the backward upward graph, alternating between them, and stops each
+ * direction once its smallest frontier distance is no better than the best meeting point found so far.
+ * <p>
+ * The search state is kept between queries and only the touched entries are reset, so a query object
+ * should be reused, but it must not be shared between threads.
+ *
+ * @param <V> Vertex type
+ */
+public final class ContractionHierarchyQuery<V>
+{
+    private final ContractionHierarchy<V> hierarchy;
+    private final IndexedGraph<V> graph;
+    private final Direction forward;
+    private final Direction backward;
+
+    private double bestCost;
+    private int meetingVertex;
+
+    public ContractionHierarchyQuery(ContractionHierarchy<V> hierarchy)
+    {
+        var vertexCount = hierarchy.getGraph().getVertexCount();
+
+        this.hierarchy = hierarchy;
+        this.graph = hierarchy.getGraph();
+        this.forward = new Direction(hierarchy.getForwardGraph(), vertexCount);
+        this.backward = new Direction(hierarchy.getBackwardGraph(), vertexCount);
+    }
+
+    /**
+     * @return Cost of the shortest path, {@link Double#MAX_VALUE} if the target is unreachable or either vertex is unknown
+     */
+    public double getShortestPathCost(V sourceVertex, V targetVertex)
+    {
+        return run(sourceVertex, targetVertex) ? bestCost : Double.MAX_VALUE;
+    }
+
+    /**
+     * @return Vertices on the shortest path including source and target, empty if the target is unreachable
+     * or source and target are the same vertex
+     */
+    public List<V> getShortestPath(V sourceVertex, V targetVertex)
+    {
+        if (!run(sourceVertex, targetVertex) || meetingVertex < 0)
+        {
+            return new LinkedList<>();
+        }
+        return unpackPath();
+    }
+
+    /**
+     * @return Shortest path and its cost, both from the same search
+     */
+    public ShortestPath<V> findShortestPath(V sourceVertex, V targetVertex)
+    {
+        if (!run(sourceVertex, targetVertex))
+        {
+            return ShortestPath.unreachable();
+        }
+        if (meetingVertex < 0)
+        {
+            return new ShortestPath<>(List.of(sourceVertex), bestCost);
+        }
+        return new ShortestPath<>(unpackPath(), bestCost);
+    }
+
+    /**
+     * @return Original vertices of the upward path through {@link #meetingVertex} found by the last search
+     */
+    private LinkedList<V> unpackPath()
+    {
+        var upwardPath = new ArrayList<Integer>();
+        for (int vertex = meetingVertex; vertex >= 0; vertex = forward.previousNode[vertex])
+        {
+            upwardPath.add(vertex);
+        }
+        Collections.reverse(upwardPath);
+        for (int vertex = backward.previousNode[meetingVertex]; vertex >= 0; vertex = backward.previousNode[vertex])
+        {
+            upwardPath.add(vertex);
+        }
+
+        var path = new LinkedList<V>();
+        path.add(graph.getVertex(upwardPath.get(0)));
+        for (int i = 1; i < upwardPath.size(); ++i)
+        {
+            unpackEdge(upwardPath.get(i - 1), upwardPath.get(i), path);
+        }
+        return path;
+    }
+
+    /**
+     * @return Whether a path was found; {@link #bestCost} and {@link #meetingVertex} describe it
+     */
+    private boolean run(V sourceVertex, V targetVertex)
+    {
+        forward.reset();
+        backward.reset();
+        bestCost = Double.MAX_VALUE;
+        meetingVertex = -1;
+
+        if (sourceVertex == null || targetVertex == null || !graph.hasVertex(sourceVertex) || !graph.hasVertex(targetVertex))
+        {
+            return false;
+        }
+
+        var sourceId = graph.getId(sourceVertex);
+        var targetId = graph.getId(targetVertex);
+        if (sourceId == targetId)
+        {
+            bestCost = 0.0;
+            return true;
+        }
+
+        forward.start(sourceId);
+        backward.start(targetId);
+
+        var forwardActive = true;
+        var backwardActive = true;
+        while (forwardActive || backwardActive)
+        {
+            forwardActive = forwardActive && !forward.frontier.isEmpty() && forward.frontier.peekPriority() < bestCost;
+            if (forwardActive)
+            {
+                settle(forward, backward);
+            }
+
+            backwardActive = backwardActive && !backward.frontier.isEmpty() && backward.frontier.peekPriority() < bestCost;
+            if (backwardActive)
+            {
+                settle(backward, forward);
+            }
+        }
+
+        return meetingVertex >= 0;
+    }
+
+    private void settle(Direction direction, Direction opposite)
+    {
+        var current = direction.frontier.poll();
+        var currentDistance = direction.distance[current];
+
+        if (opposite.distance[current] < Double.MAX_VALUE && currentDistance + opposite.distance[current] < bestCost)
+        {
+            bestCost = currentDistance + opposite.distance[current];
+            meetingVertex = current;
+        }
+
+        var upwardGraph = direction.upwardGraph;
+        var endEdge = upwardGraph.getEndEdge(current);
+        for (int edge = upwardGraph.getFirstEdge(current); edge < endEdge; ++edge)
+        {
+            var neighbour = upwardGraph.getTarget(edge);
+            var tentativeDistance = currentDistance + upwardGraph.getWeight(edge);
+            if (tentativeDistance < direction.distance[neighbour])
+            {
+                direction.touch(neighbour);
+                direction.distance[neighbour] = tentativeDistance;
+                direction.previousNode[neighbour] = current;
+                direction.frontier.offer(neighbour, tentativeDistance);
+            }
+        }
+    }
+
+    /**
+     * Appends the original vertices of the hierarchy edge from -> to, excluding from, to the path.
+     */
+    private void unpackEdge(int from, int to, LinkedList<V> path)
+    {
+        var pending = new ArrayDeque<int[]>();
+        pending.push(new int[] { from, to });
+
+        while (!pending.isEmpty())
+        {
+            var edge = pending.pop();
+            var middleVertex = findMiddleVertex(edge[0], edge[1]);
+            if (middleVertex < 0)
+            {
+                path.add(graph.getVertex(edge[1]));
+            }
+            else
+            {
+                pending.push(new int[] { middleVertex, edge[1] });
+                pending.push(new int[] { edge[0], middleVertex });
+            }
+        }
+    }
+
+    private int findMiddleVertex(int from, int to)
+    {
+        if (hierarchy.getRank(from) < hierarchy.getRank(to))
+        {
+            var upwardGraph = hierarchy.getForwardGraph();
+            return upwardGraph.getMiddleVertex(upwardGraph.findEdge(from, to));
+        }
+
+        var upwardGraph = hierarchy.getBackwardGraph();
+        return upwardGraph.getMiddleVertex(upwardGraph.findEdge(to, from));
+    }
+
+    private static final class Direction
+    {
+        private final ContractionHierarchy.UpwardGraph upwardGraph;
+        private final double[] distance;
+        private final int[] previousNode;
+        private final IntDAryHeap frontier;
+        private final int[] touchedVertices;
+        private int touchedCount;
+
+        private Direction(ContractionHierarchy.UpwardGraph upwardGraph, int vertexCount)
+        {
+            this.upwardGraph = upwardGraph;
+            this.distance = new double[vertexCount];
+            this.previousNode = new int[vertexCount];
+            this.frontier = new IntDAryHeap(vertexCount);
+            this.touchedVertices = new int[vertexCount];
+
+            Arrays.fill(distance, Double.MAX_VALUE);
+            Arrays.fill(previousNode, -1);
+        }
+
+        private void start(int vertexId)
+        {
+            touch(vertexId);
+            distance[vertexId] = 0.0;
+            frontier.offer(vertexId, 0.0);
+        }
+
+        private void touch(int vertexId)
+        {
+            if (distance[vertexId] == Double.MAX_VALUE)
+            {
+                touchedVertices[touchedCount++] = vertexId;
+            }
+        }
+
+        private void reset()
+        {
+            for (int i = 0; i < touchedCount; ++i)
+            {
+                distance[touchedVertices[i]] = Double.MAX_VALUE;
+                previousNode[touchedVertices[i]] = -1;
+            }
+            touchedCount = 0;
+            frontier.clear();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.graphalgorithms.DijkstraShortestPaths.VertexState;
+
+import java.util.*;
+
+/**
+ * Dijkstra's algorithm over an {@link IndexedGraph} such as a {@link CsrGraph}, keeping all search state in primitive arrays indexed by
+ * vertex id. Behaves like {@link DijkstraShortestPaths}, but does not allocate during relaxation.
+ *
+ * @param <V> Vertex type
+ */
+public final class CsrDijkstraShortestPaths<V> implements ShortestPathSearch<V>
+{
+    private static final byte PENDING = 0;
+    private static final byte FRONTIER = 1;
+    private static final byte EXPANDED = 2;
+
+    private final IndexedGraph<V> graph;
+    private final V sourceVertex;
+
+    private final double[] distanceFromSource;
+    private final int[] previousNode;
+    private final byte[] states;
+    private final IntDAryHeap frontier;
+
+    public CsrDijkstraShortestPaths(IndexedGraph<V> graph, V sourceVertex)
+    {
+        var vertexCount = graph.getVertexCount();
+
+        this.graph = graph;
+        this.sourceVertex = sourceVertex;
+        this.distanceFromSource = new double[vertexCount];
+        this.previousNode = new int[vertexCount];
+        this.states = new byte[vertexCount];
+        this.frontier = new IntDAryHeap(vertexCount);
+
+        initialize();
+    }
+
+    @Override
+    public boolean isCompleted()
+    {
+        return frontier.isEmpty();
+    }
+
+    @Override
+    public void step()
+    {
+        if (frontier.isEmpty())
+        {
+            throw new IllegalStateException("Shortest path search is already completed");
+        }
+
+        var currentVertex = frontier.poll();
+        var currentDistance = distanceFromSource[currentVertex];
+        states[currentVertex] = EXPANDED;
+
+        var endEdge = graph.getEndEdge(currentVertex);
+        for (int edge = graph.getFirstEdge(currentVertex); edge < endEdge; ++edge)
+        {
+            var neighbour = graph.getTarget(edge);
+            if (states[neighbour] != EXPANDED)
+            {
+                states[neighbour] = FRONTIER;
+
+                var tentativeDistance = currentDistance + graph.getWeight(edge);
+                if (tentativeDistance < distanceFromSource[neighbour])
+                {
+                    distanceFromSource[neighbour] = tentativeDistance;
+                    previousNode[neighbour] = currentVertex;
+
+                    frontier.offer(neighbour, tentativeDistance);
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<V> getShortestPathTo(V targetVertex)
+    {
+        var path = new ArrayList<V>();
+        if (targetVertex == null || !graph.hasVertex(targetVertex))
+        {
+            return path;
+        }
+
+        var targetId = graph.getId(targetVertex);
+        if (previousNode[targetId] < 0)
+        {
+            return path;
+        }
+
+        for (int vertex = targetId; vertex >= 0; vertex = previousNode[vertex])
+        {
+            path.add(graph.getVertex(vertex));
+        }
+        Collections.reverse(path);
+
+        return path;
+    }
+
+    @Override
+    public double getShortestPathCostTo(V targetVertex)
+    {
+        if (targetVertex == null || !graph.hasVertex(targetVertex))
+        {
+            return Double.MAX_VALUE;
+        }
+        return distanceFromSource[graph.getId(targetVertex)];
+    }
+
+    @Override
+    public V getSourceVertex()
+    {
+        return sourceVertex;
+    }
+
+    @Override
+    public Map<V, VertexState> getState()
+    {
+        var vertexStates = new HashMap<V, VertexState>();
+        for (int vertex = 0; vertex < states.length; ++vertex)
+        {
+            vertexStates.put(graph.getVertex(vertex), switch (states[vertex])
+            {
+                case FRONTIER -> VertexState.FRONTIER;
+                case EXPANDED -> VertexState.EXPANDED;
+                default -> VertexState.PENDING;
+            });
+        }
+        return Collections.unmodifiableMap(vertexStates);
+    }
+
+    private void initialize()
+    {
+        Arrays.fill(distanceFromSource, Double.MAX_VALUE);
+        Arrays.fill(previousNode, -1);
+
+        if (sourceVertex != null)
+        {
+            var sourceId = graph.getId(sourceVertex);
+            distanceFromSource[sourceId] = 0.0;
+            frontier.offer(sourceId, 0.0);
+        }
+
+        for (int vertex = 0; vertex < distanceFromSource.length; ++vertex)
+        {
+            frontier.offer(vertex, distanceFromSource[vertex]);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.graphalgorithms.DijkstraShortestPaths.VertexState;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
+
+/**
+ * Parallel single-source shortest paths by delta-stepping (Meyer and Sanders). Tentative distances are grouped
+ * into buckets of width delta, and each step settles one bucket: light edges (weight at most delta) are relaxed
+ * in phases until the bucket stays empty, then the heavy edges of all vertices settled in it are relaxed once.
+ * <p>
+ * Each phase splits its vertices into chunks relaxed on a {@link ForkJoinPool}. Distances live in an
+ * {@link AtomicLongArray} holding the bits of non-negative doubles, whose ordering matches the ordering of
+ * the values, so a relaxation is a compare-and-set loop. Chunks collect the vertices they improve locally,
+ * and the bucket lists are merged between phases. Only non-empty buckets are stored, in a sorted map keyed by
+ * bucket index, so a small delta does not allocate a bucket for every multiple of delta below the largest
+ * distance.
+ * <p>
+ * Distances are identical to those of {@link DijkstraShortestPaths}, since both sum the same edge weights
+ * along a shortest path. Predecessors are derived from the final distances once the search completes, so
+ * paths are only available afterwards.
+ *
+ * @param <V> Vertex type
+ */
+public final class DeltaSteppingShortestPaths<V> implements ShortestPathSearch<V>
+{
+    private static final int CHUNK_SIZE = 256;
+    private static final long UNREACHED = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+
+    private final IndexedGraph<V> graph;
+    private final V sourceVertex;
+    private final double delta;
+    private final ForkJoinPool pool;
+
+    private final AtomicLongArray distances;
+    private final AtomicIntegerArray previousNode;
+    private final int[] phaseStamps;
+    private final int[] settledStamps;
+    private final TreeMap<Long, IntList> buckets;
+
+    private long currentBucket;
+    private int stepCount;
+    private int phase;
+
+    public DeltaSteppingShortestPaths(IndexedGraph<V> graph, V sourceVertex)
+    {
+        this(graph, sourceVertex, chooseDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    public DeltaSteppingShortestPaths(IndexedGraph<V> graph, V sourceVertex, double delta, ForkJoinPool pool)
+    {
+        if (!(delta > 0.0) || Double.isInfinite(delta))
+        {
+            throw new IllegalArgumentException("Delta must be a positive finite number, was " + delta);
+        }
+
+        var vertexCount = graph.getVertexCount();
+
+        this.graph = graph;
+        this.sourceVertex = sourceVertex;
+        this.delta = delta;
+        this.pool = pool;
+
+        this.distances = new AtomicLongArray(vertexCount);
+        this.previousNode = new AtomicIntegerArray(vertexCount);
+        this.phaseStamps = new int[vertexCount];
+        this.settledStamps = new int[vertexCount];
+        this.buckets = new TreeMap<>();
+
+        for (int vertex = 0; vertex < vertexCount; ++vertex)
+        {
+            distances.set(vertex, UNREACHED);
+            previousNode.set(vertex, -1);
+        }
+
+        if (sourceVertex != null && graph.hasVertex(sourceVertex))
+        {
+            var sourceId = graph.getId(sourceVertex);
+            distances.set(sourceId, Double.doubleToLongBits(0.0));
+            addToBucket(0, sourceId);
+        }
+    }
+
+    /**
+     * Chooses delta as the largest edge weight divided by the average out-degree, the bucket width Meyer and
+     * Sanders suggest for random weights. It is never smaller than the smallest positive weight, so that
+     * buckets do not degenerate into single distances.
+     */
+    public static double chooseDelta(IndexedGraph<?> graph)
+    {
+        var maxWeight = 0.0;
+        var minPositiveWeight = Double.POSITIVE_INFINITY;
+        for (int edge = 0; edge < graph.getEdgeCount(); ++edge)
+        {
+            var weight = graph.getWeight(edge);
+            maxWeight = Math.max(maxWeight, weight);
+            if (weight > 0.0)
+            {
+                minPositiveWeight = Math.min(minPositiveWeight, weight);
+            }
+        }
+
+        if (maxWeight == 0.0 || Double.isInfinite(maxWeight))
+        {
+            return 1.0;
+        }
+
+        var averageDegree = Math.max(1.0, (double) graph.getEdgeCount() / graph.getVertexCount());
+        return Math.max(minPositiveWeight, maxWeight / averageDegree);
+    }
+
+    public double getDelta()
+    {
+        return delta;
+    }
+
+    @Override
+    public boolean isCompleted()
+    {
+        return buckets.isEmpty();
+    }
+
+    /**
+     * Settles the next non-empty bucket.
+     */
+    @Override
+    public void step()
+    {
+        if (isCompleted())
+        {
+            throw new IllegalStateException("Shortest path search is already completed");
+        }
+
+        currentBucket = buckets.firstKey();
+        var settled = new IntList();
+        var settledStamp = ++stepCount;
+
+        while (buckets.containsKey(currentBucket))
+        {
+            var frontier = takeBucket(currentBucket);
+            for (int i = 0; i < frontier.size; ++i)
+            {
+                var vertex = frontier.values[i];
+                if (settledStamps[vertex] != settledStamp)
+                {
+                    settledStamps[vertex] = settledStamp;
+                    settled.add(vertex);
+                }
+            }
+            relax(frontier, true);
+        }
+        relax(settled, false);
+        currentBucket++;
+
+        if (isCompleted())
+        {
+            computePreviousNodes();
+        }
+    }
+
+    public void run()
+    {
+        while (!isCompleted())
+        {
+            step();
+        }
+    }
+
+    /**
+     * @return Vertices on the shortest path, empty if the target is unreachable or the search is not completed
+     */
+    @Override
+    public List<V> getShortestPathTo(V targetVertex)
+    {
+        var path = new LinkedList<V>();
+        if (!isCompleted() || targetVertex == null || !graph.hasVertex(targetVertex))
+        {
+            return path;
+        }
+
+        var vertex = graph.getId(targetVertex);
+        if (previousNode.get(vertex) < 0)
+        {
+            return path;
+        }
+
+        while (vertex >= 0)
+        {
+            path.addFirst(graph.getVertex(vertex));
+            vertex = previousNode.get(vertex);
+        }
+        return path;
+    }
+
+    @Override
+    public double getShortestPathCostTo(V targetVertex)
+    {
+        if (targetVertex == null || !graph.hasVertex(targetVertex))
+        {
+            return Double.MAX_VALUE;
+        }
+        return toCost(distances.get(graph.getId(targetVertex)));
+    }
+
+    @Override
+    public V getSourceVertex()
+    {
+        return sourceVertex;
+    }
+
+    @Override
+    public Map<V, VertexState> getState()
+    {
+        var vertexStates = new HashMap<V, VertexState>();
+        for (int vertex = 0; vertex < graph.getVertexCount(); ++vertex)
+        {
+            var distance = Double.longBitsToDouble(distances.get(vertex));
+            VertexState state;
+            if (Double.isInfinite(distance))
+            {
+                state = VertexState.PENDING;
+            }
+            else
+            {
+                state = isCompleted() || bucketOf(distance) < currentBucket ? VertexState.EXPANDED : VertexState.FRONTIER;
+            }
+            vertexStates.put(graph.getVertex(vertex), state);
+        }
+        return Collections.unmodifiableMap(vertexStates);
+    }
+
+    /**
+     * Relaxes the light or heavy edges of the vertices in parallel chunks and files every improved vertex into
+     * the bucket of its new distance.
+     */
+    private void relax(IntList vertices, boolean lightEdges)
+    {
+        if (vertices.size == 0)
+        {
+            return;
+        }
+
+        var chunkCount = (vertices.size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<IntList> improvements;
+        if (chunkCount == 1)
+        {
+            improvements = List.of(relaxChunk(vertices, 0, vertices.size, lightEdges));
+        }
+        else
+        {
+            improvements = pool.submit(() -> IntStream.range(0, chunkCount)
+                    .parallel()
+                    .mapToObj(chunk -> relaxChunk(vertices, chunk * CHUNK_SIZE, Math.min(vertices.size, (chunk + 1) * CHUNK_SIZE), lightEdges))
+                    .collect(Collectors.toList())
+            ).join();
+        }
+
+        for (var improved : improvements)
+        {
+            for (int i = 0; i < improved.size; ++i)
+            {
+                var vertex = improved.values[i];
+                addToBucket(bucketOf(Double.longBitsToDouble(distances.get(vertex))), vertex);
+            }
+        }
+    }
+
+    private IntList relaxChunk(IntList vertices, int first, int end, boolean lightEdges)
+    {
+        var improved = new IntList();
+        for (int i = first; i < end; ++i)
+        {
+            var vertex = vertices.values[i];
+            var distance = Double.longBitsToDouble(distances.get(vertex));
+
+            var endEdge = graph.getEndEdge(vertex);
+            for (int edge = graph.getFirstEdge(vertex); edge < endEdge; ++edge)
+            {
+                var weight = graph.getWeight(edge);
+                if ((weight <= delta) == lightEdges)
+                {
+                    var neighbour = graph.getTarget(edge);
+                    if (decreaseDistance(neighbour, distance + weight))
+                    {
+                        improved.add(neighbour);
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    private boolean decreaseDistance(int vertex, double distance)
+    {
+        var distanceBits = Double.doubleToLongBits(distance);
+        while (true)
+        {
+            var currentBits = distances.get(vertex);
+            if (distanceBits >= currentBits)
+            {
+                return false;
+            }
+            if (distances.compareAndSet(vertex, currentBits, distanceBits))
+            {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the bucket's vertices, skipping duplicates and vertices that have moved to a lower bucket.
+     */
+    private IntList takeBucket(long bucket)
+    {
+        var entries = buckets.remove(bucket);
+        phase++;
+
+        var vertices = new IntList();
+        for (int i = 0; i < entries.size; ++i)
+        {
+            var vertex = entries.values[i];
+            if (phaseStamps[vertex] != phase && bucketOf(Double.longBitsToDouble(distances.get(vertex))) == bucket)
+            {
+                phaseStamps[vertex] = phase;
+                vertices.add(vertex);
+            }
+        }
+        return vertices;
+    }
+
+    private void addToBucket(long bucket, int vertex)
+    {
+        buckets.computeIfAbsent(bucket, key -> new IntList()).add(vertex);
+    }
+
+    /**
+     * The cast saturates, so distances beyond the range of long share the last bucket instead of overflowing.
+     */
+    private long bucketOf(double distance)
+    {
+        return (long) (distance / delta);
+    }
+
+    /**
+     * Picks for each vertex a predecessor whose distance plus the edge weight equals the vertex distance. Edges of
+     * weight zero are only followed from vertices that already have a predecessor, so no cycles can form.
+     */
+    private void computePreviousNodes()
+    {
+        var sourceId = sourceVertex != null && graph.hasVertex(sourceVertex) ? graph.getId(sourceVertex) : -1;
+        var hasZeroWeights = new AtomicBoolean();
+
+        pool.submit(() -> IntStream.range(0, graph.getVertexCount()).parallel().forEach(vertex ->
+        {
+            var distance = Double.longBitsToDouble(distances.get(vertex));
+            if (Double.isInfinite(distance))
+            {
+                return;
+            }
+
+            var endEdge = graph.getEndEdge(vertex);
+            for (int edge = graph.getFirstEdge(vertex); edge < endEdge; ++edge)
+            {
+                var neighbour = graph.getTarget(edge);
+                var weight = graph.getWeight(edge);
+                if (weight == 0.0)
+                {
+                    hasZeroWeights.set(true);
+                }
+                else if (distance + weight == Double.longBitsToDouble(distances.get(neighbour)))
+                {
+                    previousNode.compareAndSet(neighbour, -1, vertex);
+                }
+            }
+        })).join();
+
+        if (hasZeroWeights.get())
+        {
+            linkZeroWeightEdges(sourceId);
+        }
+    }
+
+    private void linkZeroWeightEdges(int sourceId)
+    {
+        var pending = new ArrayDeque<Integer>();
+        for (int vertex = 0; vertex < graph.getVertexCount(); ++vertex)
+        {
+            if (vertex == sourceId || previousNode.get(vertex) >= 0)
+            {
+                pending.add(vertex);
+            }
+        }
+
+        while (!pending.isEmpty())
+        {
+            var vertex = pending.poll();
+            var endEdge = graph.getEndEdge(vertex);
+            for (int edge = graph.getFirstEdge(vertex); edge < endEdge; ++edge)
+            {
+                var neighbour = graph.getTarget(edge);
+                if (graph.getWeight(edge) == 0.0 && neighbour != sourceId && previousNode.get(neighbour) < 0
+                        && distances.get(neighbour) == distances.get(vertex))
+                {
+                    previousNode.set(neighbour, vertex);
+                    pending.add(neighbour);
+                }
+            }
+        }
+    }
+
+    private static double toCost(long distanceBits)
+    {
+        var distance = Double.longBitsToDouble(distanceBits);
+        return Double.isInfinite(distance) ? Double.MAX_VALUE : distance;
+    }
+
+    /**
+     * Growable list of vertex ids.
+     */
+    private static final class IntList
+    {
+        private int[] values = new int[8];
+        private int size;
+
+        private void add(int value)
+        {
+            if (size == values.length)
+            {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
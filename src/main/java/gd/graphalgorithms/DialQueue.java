@@ -0,0 +1,161 @@
+package gd.graphalgorithms;
+
+import java.util.*;
+
+/**
+ * Dial's bucket queue for graphs whose edge weights are non-negative multiples of a quantum, with at most
+ * maxEdgeKey quanta per edge. Priorities are mapped to integer keys, and the keys queued at any time span at
+ * most maxEdgeKey + 1 consecutive values, so a circular array of that many FIFO buckets holds them and every
+ * operation takes constant amortized time.
+ * <p>
+ * Like every monotone queue, it only supports searches that never offer a priority below the last polled one,
+ * as Dijkstra's algorithm does. Vertices offered at {@link Double#MAX_VALUE} or above are kept aside as
+ * unreached and polled last.
+ *
+ * @param <V> Vertex type
+ */
+public final class DialQueue<V> implements FrontierQueue<V>
+{
+    private final double quantum;
+    private final BucketList<V>[] buckets;
+    private final BucketList<V> unreached;
+    private final HashMap<V, BucketList.Node<V>> nodes;
+
+    private long currentKey;
+    private int reachedCount;
+
+    public DialQueue(long maxEdgeKey, double quantum)
+    {
+        if (maxEdgeKey < 0 || maxEdgeKey > Integer.MAX_VALUE - 2)
+        {
+            throw new IllegalArgumentException("Maximum edge key out of range: " + maxEdgeKey);
+        }
+        if (!(quantum > 0.0) || Double.isInfinite(quantum))
+        {
+            throw new IllegalArgumentException("Quantum must be a positive finite number, was " + quantum);
+        }
+
+        this.quantum = quantum;
+        //One extra bucket absorbs keys rounded up from slightly inexact sums
+        this.buckets = BucketList.createBuckets((int) maxEdgeKey + 2);
+        this.unreached = new BucketList<>();
+        this.nodes = new HashMap<>();
+    }
+
+    @Override
+    public void offer(V vertex, double priority)
+    {
+        Objects.requireNonNull(vertex);
+
+        var node = nodes.get(vertex);
+        if (node != null && node.priority == priority)
+        {
+            return;
+        }
+
+        var isReached = priority < Double.MAX_VALUE;
+        var key = isReached ? Math.round(priority / quantum) : Long.MAX_VALUE;
+        if (isReached)
+        {
+            //Without other queued keys, the window of buckets can move up to any key
+            var otherReachedCount = reachedCount - (node != null && node.bucket >= 0 ? 1 : 0);
+            if (otherReachedCount == 0 && key - currentKey >= buckets.length)
+            {
+                currentKey = key;
+            }
+            if (key < currentKey || key - currentKey >= buckets.length)
+            {
+                throw new IllegalArgumentException("Priority " + priority + " is outside the range of the bucket queue");
+            }
+        }
+
+        if (node == null)
+        {
+            node = new BucketList.Node<>(vertex);
+            nodes.put(vertex, node);
+        }
+        else
+        {
+            unlink(node);
+        }
+
+        node.priority = priority;
+        node.key = key;
+        if (isReached)
+        {
+            var bucket = (int) (key % buckets.length);
+            buckets[bucket].addLast(node, bucket);
+            reachedCount++;
+        }
+        else
+        {
+            unreached.addLast(node, -1);
+        }
+    }
+
+    @Override
+    public V poll()
+    {
+        var node = advanceToFirst();
+        if (node == null)
+        {
+            return null;
+        }
+
+        unlink(node);
+        nodes.remove(node.vertex);
+        return node.vertex;
+    }
+
+    @Override
+    public double peekPriority()
+    {
+        var node = advanceToFirst();
+        return node == null ? Double.POSITIVE_INFINITY : node.priority;
+    }
+
+    @Override
+    public boolean contains(V vertex)
+    {
+        return nodes.containsKey(vertex);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return nodes.isEmpty();
+    }
+
+    @Override
+    public int size()
+    {
+        return nodes.size();
+    }
+
+    private BucketList.Node<V> advanceToFirst()
+    {
+        if (reachedCount == 0)
+        {
+            return unreached.first();
+        }
+
+        while (buckets[(int) (currentKey % buckets.length)].isEmpty())
+        {
+            currentKey++;
+        }
+        return buckets[(int) (currentKey % buckets.length)].first();
+    }
+
+    private void unlink(BucketList.Node<V> node)
+    {
+        if (node.bucket < 0)
+        {
+            unreached.remove(node);
+        }
+        else
+        {
+            buckets[node.bucket].remove(node);
+            reachedCount--;
+        }
+    }
+}
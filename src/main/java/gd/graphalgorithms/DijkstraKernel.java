@@ -0,0 +1,52 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+import java.util.*;
+
+/**
+ * Reusable workspace for complete single-source runs of Dijkstra's algorithm over an {@link IndexedGraph},
+ * for preprocessing that needs whole distance rows rather than a steppable search. Not thread-safe; use
+ * one kernel per thread.
+ */
+final class DijkstraKernel
+{
+    private final IndexedGraph<?> graph;
+    private final IntDAryHeap frontier;
+
+    DijkstraKernel(IndexedGraph<?> graph)
+    {
+        this.graph = graph;
+        this.frontier = new IntDAryHeap(graph.getVertexCount());
+    }
+
+    /**
+     * Fills the distance array with the shortest path costs from the source, {@link Double#MAX_VALUE} for
+     * unreachable vertices.
+     */
+    void run(int sourceId, double[] distance)
+    {
+        Arrays.fill(distance, Double.MAX_VALUE);
+        distance[sourceId] = 0.0;
+        frontier.clear();
+        frontier.offer(sourceId, 0.0);
+
+        while (!frontier.isEmpty())
+        {
+            var current = frontier.poll();
+            var currentDistance = distance[current];
+
+            var endEdge = graph.getEndEdge(current);
+            for (int edge = graph.getFirstEdge(current); edge < endEdge; ++edge)
+            {
+                var neighbour = graph.getTarget(edge);
+                var tentativeDistance = currentDistance + graph.getWeight(edge);
+                if (tentativeDistance < distance[neighbour])
+                {
+                    distance[neighbour] = tentativeDistance;
+                    frontier.offer(neighbour, tentativeDistance);
+                }
+            }
+        }
+    }
+}
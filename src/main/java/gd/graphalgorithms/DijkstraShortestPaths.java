@@ -3,57 +3,258 @@ package gd.graphalgorithms;
 import gd.graph.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 
-public final class DijkstraShortestPaths<V, E>
+/**
+ * Dijkstra's algorithm over a {@link Graph}, expanding one vertex per step.
+ * <p>
+ * With {@link Initialization#ALL_VERTICES} every vertex is queued up front, which lets the demo show the whole
+ * graph as pending. With {@link Initialization#SOURCE_ONLY} only the source is queued and vertices enter the
+ * frontier when they are first reached, so together with {@link #runUntilSettled(Collection)} and
+ * {@link #runWithinDistance(double)} a query only touches the part of the graph it needs.
+ * <p>
+ * Registered {@link SearchListener}s are told about every state change, relaxed edge and improved distance, and
+ * {@link #step(int)} and {@link #stepUntil(Predicate)} return the changes of their steps as a {@link SearchDelta},
+ * so a view can update incrementally instead of comparing {@link #getState()} before and after.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public final class DijkstraShortestPaths<V, E> implements ShortestPathSearch<V>
 {
     private final Graph<V, E> graph;
     private final V sourceVertex;
-    private final Function<E, Double> costFunction;
+    private final ToDoubleFunction<E> costFunction;
+
+    private final FrontierQueue<V> frontier;
+    private final Initialization initialization;
+    //Copied on write, so listeners may add or remove listeners, including themselves, while being notified
+    private final CopyOnWriteArrayList<SearchListener<V>> listeners = new CopyOnWriteArrayList<>();
 
-    private PriorityQueue<V> priorityQueue;
     private HashMap<V, Double> distanceFromSource;
     private HashMap<V, V> previousNode;
     private HashSet<V> expandedNodes;
     private HashMap<V, VertexState> states;
 
-    public DijkstraShortestPaths(Graph<V, E> graph, V sourceVertex, Function<E, Double> costFunction)
+    /**
+     * Creates a search with the frontier queue {@link FrontierQueues#forGraph} picks for the edge weights.
+     */
+    public DijkstraShortestPaths(Graph<V, E> graph, V sourceVertex, ToDoubleFunction<E> costFunction)
+    {
+        this(graph, sourceVertex, costFunction, FrontierQueues.forGraph(graph, costFunction));
+    }
+
+    /**
+     * Creates a search with the frontier queue {@link FrontierQueues#forGraph} picks for the edge weights when all
+     * vertices are initialized, and with an {@link IndexedDAryHeap} for {@link Initialization#SOURCE_ONLY}, whose
+     * queries must not pay for scanning every edge first.
+     */
+    public DijkstraShortestPaths(
+            Graph<V, E> graph,
+            V sourceVertex,
+            ToDoubleFunction<E> costFunction,
+            Initialization initialization
+    )
+    {
+        this(
+                graph, sourceVertex, costFunction,
+                initialization == Initialization.SOURCE_ONLY ? new IndexedDAryHeap<>() : FrontierQueues.forGraph(graph, costFunction),
+                initialization
+        );
+    }
+
+    public DijkstraShortestPaths(
+            Graph<V, E> graph,
+            V sourceVertex,
+            ToDoubleFunction<E> costFunction,
+            FrontierQueue<V> frontier
+    )
+    {
+        this(graph, sourceVertex, costFunction, frontier, Initialization.ALL_VERTICES);
+    }
+
+    public DijkstraShortestPaths(
+            Graph<V, E> graph,
+            V sourceVertex,
+            ToDoubleFunction<E> costFunction,
+            FrontierQueue<V> frontier,
+            Initialization initialization
+    )
     {
+        if (!frontier.isEmpty())
+        {
+            throw new IllegalArgumentException("Frontier queue must be empty");
+        }
+
         this.graph = graph;
         this.sourceVertex = sourceVertex;
         this.costFunction = costFunction;
+        this.frontier = frontier;
+        this.initialization = initialization;
         initialize();
     }
 
-    public Boolean isCompleted()
+    @Override
+    public boolean isCompleted()
     {
-        return priorityQueue.isEmpty();
+        return frontier.isEmpty();
     }
 
+    @Override
     public void step()
     {
-        var currentVertex = priorityQueue.poll();
+        expandNext();
+    }
+
+    /**
+     * Expands up to the given number of vertices, fewer if the search completes before.
+     *
+     * @return Changes made by these steps
+     */
+    public SearchDelta<V> step(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Step count must not be negative, was " + count);
+        }
+
+        return collectDelta(() ->
+        {
+            for (int i = 0; i < count && !isCompleted(); ++i)
+            {
+                expandNext();
+            }
+        });
+    }
+
+    /**
+     * Expands vertices until one is settled that the predicate accepts, or until the search is completed.
+     *
+     * @return Changes made by these steps
+     */
+    public SearchDelta<V> stepUntil(Predicate<? super V> predicate)
+    {
+        return collectDelta(() ->
+        {
+            while (!isCompleted())
+            {
+                if (predicate.test(expandNext()))
+                {
+                    return;
+                }
+            }
+        });
+    }
+
+    public void addListener(SearchListener<V> listener)
+    {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(SearchListener<V> listener)
+    {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Runs until all target vertices are settled, or until the remaining vertices are unreachable.
+     *
+     * @return Whether every target vertex was reached
+     */
+    public boolean runUntilSettled(Collection<V> targetVertices)
+    {
+        var remainingTargets = new HashSet<V>(targetVertices);
+        remainingTargets.removeAll(expandedNodes);
+
+        while (!remainingTargets.isEmpty() && frontier.peekPriority() < Double.MAX_VALUE)
+        {
+            remainingTargets.remove(expandNext());
+        }
+
+        return remainingTargets.isEmpty();
+    }
+
+    public boolean runUntilSettled(V targetVertex)
+    {
+        return runUntilSettled(List.of(targetVertex));
+    }
+
+    /**
+     * Settles every vertex whose shortest path cost does not exceed the given budget and stops before the first
+     * vertex beyond it.
+     */
+    public void runWithinDistance(double maxDistance)
+    {
+        while (frontier.peekPriority() <= maxDistance && frontier.peekPriority() < Double.MAX_VALUE)
+        {
+            expandNext();
+        }
+    }
+
+    private SearchDelta<V> collectDelta(Runnable steps)
+    {
+        var delta = new SearchDelta<V>();
+        listeners.add(delta);
+        try
+        {
+            steps.run();
+        }
+        finally
+        {
+            listeners.remove(delta);
+        }
+        return delta;
+    }
+
+    private V expandNext()
+    {
+        var currentVertex = frontier.poll();
         expandedNodes.add(currentVertex);
-        states.put(currentVertex, VertexState.EXPANDED);
+        setState(currentVertex, VertexState.EXPANDED);
 
-        for (var neighbour : graph.getNeighbours(currentVertex))
+        double currentDistance = distanceFromSource.get(currentVertex);
+        graph.forEachEdge(currentVertex, (neighbour, edge) ->
         {
             if (!expandedNodes.contains(neighbour))
             {
-                states.put(neighbour, VertexState.FRONTIER);
+                setState(neighbour, VertexState.FRONTIER);
 
-                var tentativeDistance = distanceFromSource.get(currentVertex) + costFunction.apply(graph.getEdge(currentVertex, neighbour));
-                if (tentativeDistance < distanceFromSource.get(neighbour))
+                var tentativeDistance = currentDistance + costFunction.applyAsDouble(edge);
+                for (var listener : listeners)
+                {
+                    listener.edgeRelaxed(currentVertex, neighbour, tentativeDistance);
+                }
+
+                if (tentativeDistance < distanceFromSource.getOrDefault(neighbour, Double.MAX_VALUE))
                 {
                     distanceFromSource.put(neighbour, tentativeDistance);
                     previousNode.put(neighbour, currentVertex);
 
-                    updatePriority(neighbour);
+                    frontier.offer(neighbour, tentativeDistance);
+                    for (var listener : listeners)
+                    {
+                        listener.distanceImproved(neighbour, currentVertex, tentativeDistance);
+                    }
                 }
             }
+        });
+
+        return currentVertex;
+    }
+
+    private void setState(V vertex, VertexState state)
+    {
+        if (states.put(vertex, state) != state)
+        {
+            for (var listener : listeners)
+            {
+                listener.stateChanged(vertex, state);
+            }
         }
     }
 
+    @Override
     public List<V> getShortestPathTo(V targetVertex)
     {
         var path = new LinkedList<V>();
@@ -71,29 +272,57 @@ public final class DijkstraShortestPaths<V, E>
         return path;
     }
 
+    @Override
     public double getShortestPathCostTo(V targetVertex)
     {
         return distanceFromSource.getOrDefault(targetVertex, Double.MAX_VALUE);
     }
 
+    @Override
     public V getSourceVertex()
     {
         return sourceVertex;
     }
 
+    public int getSettledVertexCount()
+    {
+        return expandedNodes.size();
+    }
+
+    @Override
     public Map<V, VertexState> getState()
     {
-        return Collections.unmodifiableMap(states);
+        if (initialization == Initialization.ALL_VERTICES)
+        {
+            return Collections.unmodifiableMap(states);
+        }
+
+        var vertexStates = new HashMap<V, VertexState>();
+        for (var vertex : graph.getVertices())
+        {
+            vertexStates.put(vertex, states.getOrDefault(vertex, VertexState.PENDING));
+        }
+        return Collections.unmodifiableMap(vertexStates);
     }
 
     private void initialize()
     {
         this.distanceFromSource = new HashMap<>();
-        this.priorityQueue = new PriorityQueue<>(Comparator.comparing(distanceFromSource::get));
         this.previousNode = new HashMap<>();
         this.expandedNodes = new HashSet<>();
         this.states = new HashMap<>();
 
+        if (initialization == Initialization.SOURCE_ONLY)
+        {
+            if (sourceVertex != null)
+            {
+                distanceFromSource.put(sourceVertex, 0.0);
+                states.put(sourceVertex, VertexState.FRONTIER);
+                frontier.offer(sourceVertex, 0.0);
+            }
+            return;
+        }
+
         for (var vertex : graph.getVertices())
         {
             distanceFromSource.put(vertex, Double.MAX_VALUE);
@@ -106,17 +335,16 @@ public final class DijkstraShortestPaths<V, E>
             distanceFromSource.put(sourceVertex, 0.0);
         }
 
-        priorityQueue.addAll(graph.getVertices());
+        distanceFromSource.forEach(frontier::offer);
     }
 
-    private void updatePriority(V priorityQueueEntry)
+    public enum VertexState
     {
-        priorityQueue.remove(priorityQueueEntry);
-        priorityQueue.add(priorityQueueEntry);
+        PENDING, FRONTIER, EXPANDED
     }
 
-    public enum VertexState
+    public enum Initialization
     {
-        PENDING, FRONTIER, EXPANDED
+        ALL_VERTICES, SOURCE_ONLY
     }
 }
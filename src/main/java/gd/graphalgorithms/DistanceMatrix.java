@@ -0,0 +1,17 @@
+package gd.graphalgorithms;
+
+/**
+ * Shortest path costs between a set of source vertices (rows) and target vertices (columns), indexed by
+ * position. {@link Double#MAX_VALUE} marks unreachable pairs. Rows may be written concurrently as long as
+ * each row is written by a single thread.
+ */
+public interface DistanceMatrix
+{
+    int getRowCount();
+
+    int getColumnCount();
+
+    double get(int row, int column);
+
+    void setRow(int row, double[] distances);
+}
@@ -0,0 +1,288 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.graphalgorithms.DijkstraShortestPaths.VertexState;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Single-source shortest paths that stay up to date while the graph changes, following the approach of
+ * Ramalingam and Reps. The search registers itself as a {@link GraphListener} and repairs its result after
+ * every modification instead of starting over:
+ * <ul>
+ * <li>A cheaper or new edge u->v only matters if it improves v, and the improvement is propagated with a
+ * Dijkstra search starting at v.</li>
+ * <li>A more expensive or removed edge u->v only matters if it is the tree edge of v. Then only the subtree
+ * below v can get longer paths: each of its vertices is seeded with its best path through a vertex outside
+ * the subtree, and a Dijkstra search restricted to the subtree settles the new distances.</li>
+ * </ul>
+ * The graph must not be modified by other threads while the search is attached. Call {@link #detach()} to
+ * stop tracking the graph.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public final class DynamicShortestPaths<V, E> implements ShortestPathSearch<V>, GraphListener<V, E>
+{
+    private final Graph<V, E> graph;
+    private final V sourceVertex;
+    private final ToDoubleFunction<E> costFunction;
+
+    private final HashMap<V, Double> distanceFromSource;
+    private final HashMap<V, V> previousNode;
+    private final HashMap<V, HashSet<V>> children;
+
+    private int lastUpdatedVertexCount;
+
+    public DynamicShortestPaths(Graph<V, E> graph, V sourceVertex, ToDoubleFunction<E> costFunction)
+    {
+        if (!graph.hasVertex(sourceVertex))
+        {
+            throw new IllegalArgumentException("Source vertex must exist in graph");
+        }
+
+        this.graph = graph;
+        this.sourceVertex = sourceVertex;
+        this.costFunction = costFunction;
+
+        this.distanceFromSource = new HashMap<>();
+        this.previousNode = new HashMap<>();
+        this.children = new HashMap<>();
+
+        distanceFromSource.put(sourceVertex, 0.0);
+        propagateDecrease(sourceVertex);
+
+        graph.addListener(this);
+    }
+
+    public void detach()
+    {
+        graph.removeListener(this);
+    }
+
+    /**
+     * @return Number of vertices whose distance was recomputed by the last graph modification
+     */
+    public int getLastUpdatedVertexCount()
+    {
+        return lastUpdatedVertexCount;
+    }
+
+    @Override
+    public void edgeAdded(V sourceVertex, V targetVertex, E edge)
+    {
+        lastUpdatedVertexCount = 0;
+        relaxEdge(sourceVertex, targetVertex, edge);
+    }
+
+    @Override
+    public void edgeRemoved(V sourceVertex, V targetVertex, E edge)
+    {
+        lastUpdatedVertexCount = 0;
+        if (sourceVertex.equals(previousNode.get(targetVertex)))
+        {
+            repairSubtree(targetVertex);
+        }
+    }
+
+    @Override
+    public void edgeReplaced(V sourceVertex, V targetVertex, E oldEdge, E newEdge)
+    {
+        lastUpdatedVertexCount = 0;
+
+        var oldCost = costFunction.applyAsDouble(oldEdge);
+        var newCost = costFunction.applyAsDouble(newEdge);
+        if (newCost < oldCost)
+        {
+            relaxEdge(sourceVertex, targetVertex, newEdge);
+        }
+        else if (newCost > oldCost && sourceVertex.equals(previousNode.get(targetVertex)))
+        {
+            repairSubtree(targetVertex);
+        }
+    }
+
+    @Override
+    public void vertexRemoved(V vertex)
+    {
+        //All edges are gone by now, so the vertex is unreachable and has no children
+        distanceFromSource.remove(vertex);
+        children.remove(vertex);
+    }
+
+    @Override
+    public boolean isCompleted()
+    {
+        return true;
+    }
+
+    @Override
+    public void step()
+    {
+        throw new IllegalStateException("Dynamic shortest paths are always completed");
+    }
+
+    @Override
+    public List<V> getShortestPathTo(V targetVertex)
+    {
+        var path = new LinkedList<V>();
+        if (previousNode.get(targetVertex) == null)
+        {
+            return path;
+        }
+
+        path.addFirst(targetVertex);
+        while (previousNode.get(path.getFirst()) != null)
+        {
+            path.addFirst(previousNode.get(path.getFirst()));
+        }
+
+        return path;
+    }
+
+    @Override
+    public double getShortestPathCostTo(V targetVertex)
+    {
+        return distanceFromSource.getOrDefault(targetVertex, Double.MAX_VALUE);
+    }
+
+    @Override
+    public V getSourceVertex()
+    {
+        return sourceVertex;
+    }
+
+    @Override
+    public Map<V, VertexState> getState()
+    {
+        var vertexStates = new HashMap<V, VertexState>();
+        for (var vertex : graph.getVertices())
+        {
+            vertexStates.put(vertex, distanceFromSource.containsKey(vertex) ? VertexState.EXPANDED : VertexState.PENDING);
+        }
+        return Collections.unmodifiableMap(vertexStates);
+    }
+
+    private void relaxEdge(V sourceVertex, V targetVertex, E edge)
+    {
+        var sourceDistance = distanceFromSource.get(sourceVertex);
+        if (sourceDistance == null)
+        {
+            return;
+        }
+
+        var tentativeDistance = sourceDistance + costFunction.applyAsDouble(edge);
+        if (tentativeDistance < getShortestPathCostTo(targetVertex))
+        {
+            distanceFromSource.put(targetVertex, tentativeDistance);
+            setPreviousNode(targetVertex, sourceVertex);
+            propagateDecrease(targetVertex);
+        }
+    }
+
+    /**
+     * Propagates a decreased distance of the start vertex to everything that can now be reached more cheaply.
+     */
+    private void propagateDecrease(V startVertex)
+    {
+        var frontier = new IndexedDAryHeap<V>();
+        frontier.offer(startVertex, distanceFromSource.get(startVertex));
+
+        while (!frontier.isEmpty())
+        {
+            var currentVertex = frontier.poll();
+            double currentDistance = distanceFromSource.get(currentVertex);
+            lastUpdatedVertexCount++;
+
+            graph.forEachEdge(currentVertex, (neighbour, edge) ->
+            {
+                var tentativeDistance = currentDistance + costFunction.applyAsDouble(edge);
+                if (tentativeDistance < getShortestPathCostTo(neighbour))
+                {
+                    distanceFromSource.put(neighbour, tentativeDistance);
+                    setPreviousNode(neighbour, currentVertex);
+                    frontier.offer(neighbour, tentativeDistance);
+                }
+            });
+        }
+    }
+
+    /**
+     * Recomputes the distances of the subtree below the root vertex after its tree edge got more expensive or
+     * was removed. Vertices outside the subtree keep their distances, since none of their paths used the edge.
+     */
+    private void repairSubtree(V rootVertex)
+    {
+        var subtree = new HashSet<V>();
+        var pending = new ArrayDeque<V>();
+        pending.add(rootVertex);
+        while (!pending.isEmpty())
+        {
+            var vertex = pending.poll();
+            subtree.add(vertex);
+            pending.addAll(children.getOrDefault(vertex, new HashSet<>()));
+        }
+
+        for (var vertex : subtree)
+        {
+            distanceFromSource.remove(vertex);
+            setPreviousNode(vertex, null);
+        }
+
+        var frontier = new IndexedDAryHeap<V>();
+        for (var vertex : subtree)
+        {
+            graph.forEachIncomingEdge(vertex, (predecessor, edge) ->
+            {
+                var predecessorDistance = distanceFromSource.get(predecessor);
+                if (predecessorDistance != null && !subtree.contains(predecessor))
+                {
+                    var tentativeDistance = predecessorDistance + costFunction.applyAsDouble(edge);
+                    if (tentativeDistance < getShortestPathCostTo(vertex))
+                    {
+                        distanceFromSource.put(vertex, tentativeDistance);
+                        setPreviousNode(vertex, predecessor);
+                        frontier.offer(vertex, tentativeDistance);
+                    }
+                }
+            });
+        }
+
+        while (!frontier.isEmpty())
+        {
+            var currentVertex = frontier.poll();
+            double currentDistance = distanceFromSource.get(currentVertex);
+            lastUpdatedVertexCount++;
+
+            graph.forEachEdge(currentVertex, (neighbour, edge) ->
+            {
+                if (!subtree.contains(neighbour))
+                {
+                    return;
+                }
+
+                var tentativeDistance = currentDistance + costFunction.applyAsDouble(edge);
+                if (tentativeDistance < getShortestPathCostTo(neighbour))
+                {
+                    distanceFromSource.put(neighbour, tentativeDistance);
+                    setPreviousNode(neighbour, currentVertex);
+                    frontier.offer(neighbour, tentativeDistance);
+                }
+            });
+        }
+    }
+
+    private void setPreviousNode(V vertex, V previousVertex)
+    {
+        var oldPreviousVertex = previousVertex == null ? previousNode.remove(vertex) : previousNode.put(vertex, previousVertex);
+        if (oldPreviousVertex != null)
+        {
+            children.get(oldPreviousVertex).remove(vertex);
+        }
+        if (previousVertex != null)
+        {
+            children.computeIfAbsent(previousVertex, v -> new HashSet<>()).add(vertex);
+        }
+    }
+}
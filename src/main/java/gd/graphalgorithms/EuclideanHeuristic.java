@@ -0,0 +1,57 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+import java.util.function.*;
+
+/**
+ * Estimates path costs as the straight-line distance between vertex positions, multiplied by a scale factor.
+ * <p>
+ * A calibrated heuristic uses the smallest cost-to-length ratio over all edges of the graph as its scale.
+ * No path can then be cheaper than its straight-line length times that ratio, so the estimate stays
+ * admissible regardless of how edge costs relate to the vertex layout.
+ */
+public final class EuclideanHeuristic implements AStarHeuristic<DspVertex>
+{
+    private final double scale;
+
+    public EuclideanHeuristic(double scale)
+    {
+        if (!(scale >= 0.0) || Double.isInfinite(scale))
+        {
+            throw new IllegalArgumentException("Scale must be a non-negative finite number, was " + scale);
+        }
+        this.scale = scale;
+    }
+
+    public static <E> EuclideanHeuristic calibrate(Graph<DspVertex, E> graph, ToDoubleFunction<E> costFunction)
+    {
+        //Single element array, as the edge callback cannot assign a local variable
+        var minimumRatio = new double[] { Double.POSITIVE_INFINITY };
+
+        for (var source : graph.getVertices())
+        {
+            graph.forEachEdge(source, (target, edge) ->
+            {
+                var length = target.position().subtract(source.position()).length();
+                if (length > 0.0)
+                {
+                    minimumRatio[0] = Math.min(minimumRatio[0], costFunction.applyAsDouble(edge) / length);
+                }
+            });
+        }
+
+        return new EuclideanHeuristic(Double.isInfinite(minimumRatio[0]) ? 0.0 : Math.max(minimumRatio[0], 0.0));
+    }
+
+    public double getScale()
+    {
+        return scale;
+    }
+
+    @Override
+    public double estimate(DspVertex vertex, DspVertex targetVertex)
+    {
+        return scale * targetVertex.position().subtract(vertex.position()).length();
+    }
+}
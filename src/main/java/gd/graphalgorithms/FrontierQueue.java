@@ -0,0 +1,27 @@
+package gd.graphalgorithms;
+
+/**
+ * Priority queue of vertices waiting to be expanded by a shortest path search.
+ * <p>
+ * Offering a vertex that is already queued replaces its priority, so implementations must support
+ * decrease-key without requiring the caller to remove the old entry first.
+ *
+ * @param <V> Vertex type
+ */
+public interface FrontierQueue<V>
+{
+    void offer(V vertex, double priority);
+
+    V poll();
+
+    /**
+     * @return Priority of the vertex that would be polled next, positive infinity if the queue is empty
+     */
+    double peekPriority();
+
+    boolean contains(V vertex);
+
+    boolean isEmpty();
+
+    int size();
+}
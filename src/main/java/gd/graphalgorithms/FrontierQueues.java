@@ -0,0 +1,104 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+import java.util.function.*;
+
+/**
+ * Picks the frontier queue that suits the edge weights of a graph.
+ * <p>
+ * If every weight is a non-negative multiple of a quantum 10^-k with k at most {@value #MAX_DECIMALS}, priorities
+ * can be handled as integer keys: a {@link DialQueue} is used while the largest weight spans at most
+ * {@value #MAX_DIAL_BUCKETS} quanta, and a {@link RadixHeap} beyond that. Any other weights fall back to an
+ * {@link IndexedDAryHeap}. The bucket queues are monotone and therefore only suitable for Dijkstra's algorithm.
+ */
+public final class FrontierQueues
+{
+    static final int MAX_DECIMALS = 3;
+    static final int MAX_DIAL_BUCKETS = 1 << 16;
+
+    private static final double TOLERANCE = 1e-9;
+    private static final double MAX_ULP_SHARE = 1e-6;
+    private static final double MAX_EXACT_KEY = 1L << 53;
+    private static final double[] QUANTA = {1.0, 1e-1, 1e-2, 1e-3};
+
+    private FrontierQueues() {}
+
+    public static <V, E> FrontierQueue<V> forGraph(Graph<V, E> graph, ToDoubleFunction<E> costFunction)
+    {
+        return FrontierQueues.<V, E>factoryFor(graph, costFunction).get();
+    }
+
+    /**
+     * Scans the edge weights once and returns a factory for the queue {@link #forGraph} would pick, so callers that
+     * run many searches on the same graph version do not repeat the scan.
+     */
+    public static <V, E> Supplier<FrontierQueue<V>> factoryFor(Graph<V, E> graph, ToDoubleFunction<E> costFunction)
+    {
+        var scan = new WeightScan();
+        for (var source : graph.getVertices())
+        {
+            graph.forEachEdge(source, (target, edge) -> scan.accept(costFunction.applyAsDouble(edge)));
+            if (scan.isUnsuitable())
+            {
+                return IndexedDAryHeap::new;
+            }
+        }
+
+        var quantum = QUANTA[scan.decimals];
+        var maxEdgeKey = Math.round(scan.maxWeight / quantum);
+        if (maxEdgeKey <= MAX_DIAL_BUCKETS)
+        {
+            return () -> new DialQueue<>(maxEdgeKey, quantum);
+        }
+        if (maxEdgeKey <= MAX_EXACT_KEY)
+        {
+            return () -> new RadixHeap<>(quantum);
+        }
+        return IndexedDAryHeap::new;
+    }
+
+    /**
+     * Absolute check: a weight may differ from a multiple of the quantum by a tiny share of the quantum or by the
+     * rounding of a decimal literal, a few ulps, but its own resolution must stay far below the quantum. A tolerance
+     * relative to the weight would let large weights that differ by less than a quantum share a key.
+     */
+    private static boolean isMultiple(double weight, double quantum)
+    {
+        var error = Math.abs(weight - Math.rint(weight / quantum) * quantum);
+        return error <= Math.max(TOLERANCE * quantum, 2 * Math.ulp(weight)) && Math.ulp(weight) <= MAX_ULP_SHARE * quantum;
+    }
+
+    /**
+     * Smallest number of decimals and largest weight seen so far, until a weight rules out integer keys.
+     */
+    private static final class WeightScan
+    {
+        private int decimals;
+        private double maxWeight;
+
+        void accept(double weight)
+        {
+            if (isUnsuitable())
+            {
+                return;
+            }
+            if (!(weight >= 0.0) || Double.isInfinite(weight))
+            {
+                decimals = MAX_DECIMALS + 1;
+                return;
+            }
+
+            while (decimals <= MAX_DECIMALS && !isMultiple(weight, QUANTA[decimals]))
+            {
+                decimals++;
+            }
+            maxWeight = Math.max(maxWeight, weight);
+        }
+
+        boolean isUnsuitable()
+        {
+            return decimals > MAX_DECIMALS;
+        }
+    }
+}
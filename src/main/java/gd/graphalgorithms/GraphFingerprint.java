@@ -0,0 +1,27 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+/**
+ * Hash over the structure and weights of an {@link IndexedGraph}, stored in preprocessing files to detect
+ * that they are read against a different graph.
+ */
+final class GraphFingerprint
+{
+    private GraphFingerprint() {}
+
+    static long of(IndexedGraph<?> graph)
+    {
+        long hash = graph.getEdgeCount();
+        for (int vertex = 0; vertex < graph.getVertexCount(); ++vertex)
+        {
+            for (int edge = graph.getFirstEdge(vertex); edge < graph.getEndEdge(vertex); ++edge)
+            {
+                hash = 31 * hash + vertex;
+                hash = 31 * hash + graph.getTarget(edge);
+                hash = 31 * hash + Double.doubleToLongBits(graph.getWeight(edge));
+            }
+        }
+        return hash;
+    }
+}
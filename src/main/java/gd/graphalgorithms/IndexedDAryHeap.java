@@ -0,0 +1,192 @@
+package gd.graphalgorithms;
+
+import java.util.*;
+
+/**
+ * A d-ary min-heap that keeps track of the position of each vertex, giving O(log n) decrease-key.
+ *
+ * @param <V> Vertex type
+ */
+public final class IndexedDAryHeap<V> implements FrontierQueue<V>
+{
+    private static final int DEFAULT_ARITY = 4;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int arity;
+    private final HashMap<V, Integer> positions;
+
+    private Object[] vertices;
+    private double[] priorities;
+    private int size;
+
+    public IndexedDAryHeap()
+    {
+        this(DEFAULT_ARITY);
+    }
+
+    public IndexedDAryHeap(int arity)
+    {
+        if (arity < 2)
+        {
+            throw new IllegalArgumentException("Heap arity must be at least 2, was " + arity);
+        }
+
+        this.arity = arity;
+        this.positions = new HashMap<>();
+        this.vertices = new Object[INITIAL_CAPACITY];
+        this.priorities = new double[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public void offer(V vertex, double priority)
+    {
+        Objects.requireNonNull(vertex);
+
+        var position = positions.get(vertex);
+        if (position == null)
+        {
+            ensureCapacity(size + 1);
+            vertices[size] = vertex;
+            priorities[size] = priority;
+            positions.put(vertex, size);
+            siftUp(size++);
+        }
+        else if (priority < priorities[position])
+        {
+            priorities[position] = priority;
+            siftUp(position);
+        }
+        else if (priority > priorities[position])
+        {
+            priorities[position] = priority;
+            siftDown(position);
+        }
+    }
+
+    @Override
+    public V poll()
+    {
+        if (size == 0)
+        {
+            return null;
+        }
+
+        var top = vertexAt(0);
+        positions.remove(top);
+
+        size--;
+        if (size > 0)
+        {
+            move(size, 0);
+            siftDown(0);
+        }
+        vertices[size] = null;
+
+        return top;
+    }
+
+    @Override
+    public double peekPriority()
+    {
+        return size == 0 ? Double.POSITIVE_INFINITY : priorities[0];
+    }
+
+    @Override
+    public boolean contains(V vertex)
+    {
+        return positions.containsKey(vertex);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    private void siftUp(int position)
+    {
+        var vertex = vertexAt(position);
+        var priority = priorities[position];
+
+        while (position > 0)
+        {
+            var parent = (position - 1) / arity;
+            if (priority >= priorities[parent])
+            {
+                break;
+            }
+            move(parent, position);
+            position = parent;
+        }
+
+        place(vertex, priority, position);
+    }
+
+    private void siftDown(int position)
+    {
+        var vertex = vertexAt(position);
+        var priority = priorities[position];
+
+        while (true)
+        {
+            var firstChild = position * arity + 1;
+            if (firstChild >= size)
+            {
+                break;
+            }
+
+            var smallestChild = firstChild;
+            var lastChild = Math.min(firstChild + arity, size);
+            for (int child = firstChild + 1; child < lastChild; ++child)
+            {
+                if (priorities[child] < priorities[smallestChild])
+                {
+                    smallestChild = child;
+                }
+            }
+
+            if (priorities[smallestChild] >= priority)
+            {
+                break;
+            }
+            move(smallestChild, position);
+            position = smallestChild;
+        }
+
+        place(vertex, priority, position);
+    }
+
+    private void move(int from, int to)
+    {
+        place(vertexAt(from), priorities[from], to);
+    }
+
+    private void place(V vertex, double priority, int position)
+    {
+        vertices[position] = vertex;
+        priorities[position] = priority;
+        positions.put(vertex, position);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertexAt(int position)
+    {
+        return (V) vertices[position];
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity > vertices.length)
+        {
+            var newCapacity = Math.max(capacity, vertices.length * 2);
+            vertices = Arrays.copyOf(vertices, newCapacity);
+            priorities = Arrays.copyOf(priorities, newCapacity);
+        }
+    }
+}
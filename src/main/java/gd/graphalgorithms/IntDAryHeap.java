@@ -0,0 +1,153 @@
+package gd.graphalgorithms;
+
+import java.util.*;
+
+/**
+ * Indexed d-ary min-heap over dense int ids in the range [0, capacity), backed entirely by primitive arrays.
+ */
+final class IntDAryHeap
+{
+    private static final int ARITY = 4;
+
+    private final int[] heap;
+    private final int[] positions;
+    private final double[] priorities;
+    private int size;
+
+    IntDAryHeap(int capacity)
+    {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.priorities = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    void offer(int id, double priority)
+    {
+        var position = positions[id];
+        if (position < 0)
+        {
+            priorities[id] = priority;
+            siftUp(id, size++);
+        }
+        else if (priority < priorities[id])
+        {
+            priorities[id] = priority;
+            siftUp(id, position);
+        }
+        else if (priority > priorities[id])
+        {
+            priorities[id] = priority;
+            siftDown(id, position);
+        }
+    }
+
+    int poll()
+    {
+        if (size == 0)
+        {
+            throw new NoSuchElementException("Heap is empty");
+        }
+
+        var top = heap[0];
+        positions[top] = -1;
+
+        size--;
+        if (size > 0)
+        {
+            siftDown(heap[size], 0);
+        }
+
+        return top;
+    }
+
+    double peekPriority()
+    {
+        if (size == 0)
+        {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return priorities[heap[0]];
+    }
+
+    boolean contains(int id)
+    {
+        return positions[id] >= 0;
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    void clear()
+    {
+        for (int i = 0; i < size; ++i)
+        {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int id, int position)
+    {
+        var priority = priorities[id];
+
+        while (position > 0)
+        {
+            var parent = (position - 1) / ARITY;
+            if (priority >= priorities[heap[parent]])
+            {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+
+        place(id, position);
+    }
+
+    private void siftDown(int id, int position)
+    {
+        var priority = priorities[id];
+
+        while (true)
+        {
+            var firstChild = position * ARITY + 1;
+            if (firstChild >= size)
+            {
+                break;
+            }
+
+            var smallestChild = firstChild;
+            var lastChild = Math.min(firstChild + ARITY, size);
+            for (int child = firstChild + 1; child < lastChild; ++child)
+            {
+                if (priorities[heap[child]] < priorities[heap[smallestChild]])
+                {
+                    smallestChild = child;
+                }
+            }
+
+            if (priorities[heap[smallestChild]] >= priority)
+            {
+                break;
+            }
+            place(heap[smallestChild], position);
+            position = smallestChild;
+        }
+
+        place(id, position);
+    }
+
+    private void place(int id, int position)
+    {
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
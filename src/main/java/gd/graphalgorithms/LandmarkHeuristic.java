@@ -0,0 +1,271 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * ALT heuristic: lower bounds from precomputed distances to and from a small set of landmark vertices.
+ * By the triangle inequality, d(v, t) is at least d(L, t) - d(L, v) and d(v, L) - d(t, L) for every
+ * landmark L, and the largest of these bounds is the estimate.
+ * <p>
+ * Distances are stored vertex-major in primitive arrays, so one estimate reads two short contiguous runs per
+ * table. Unreachable pairs are stored as infinity, which yields an infinite estimate exactly when the
+ * target cannot be reached. The heuristic answers for the graph it was built from; it does not notice later
+ * changes to a {@link Graph}.
+ *
+ * @param <V> Vertex type
+ */
+public final class LandmarkHeuristic<V> implements AStarHeuristic<V>
+{
+    private static final int MAGIC = 0x44535041;
+    private static final int VERSION = 1;
+
+    private final IndexedGraph<V> graph;
+    private final int[] landmarks;
+    private final double[] fromLandmarks;
+    private final double[] toLandmarks;
+
+    private LandmarkHeuristic(IndexedGraph<V> graph, int[] landmarks, double[] fromLandmarks, double[] toLandmarks)
+    {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.fromLandmarks = fromLandmarks;
+        this.toLandmarks = toLandmarks;
+    }
+
+    public static <V, E> LandmarkHeuristic<V> select(Graph<V, E> graph, ToDoubleFunction<E> costFunction, int landmarkCount)
+    {
+        return select(CsrGraph.of(graph, costFunction), landmarkCount);
+    }
+
+    /**
+     * Selects landmarks by farthest selection: each landmark is the vertex farthest from all landmarks chosen so
+     * far, preferring vertices none of them can reach. Selection itself is sequential, but the backward runs of
+     * already selected landmarks proceed in parallel with it.
+     */
+    public static <V> LandmarkHeuristic<V> select(CsrGraph<V> graph, int landmarkCount)
+    {
+        if (landmarkCount < 1)
+        {
+            throw new IllegalArgumentException("Landmark count must be positive, was " + landmarkCount);
+        }
+
+        var vertexCount = graph.getVertexCount();
+        var reverseGraph = graph.reverse();
+        var kernel = new DijkstraKernel(graph);
+
+        var landmarks = new int[Math.min(landmarkCount, vertexCount)];
+        var forwardRows = new double[landmarks.length][];
+        var backwardRows = new ArrayList<CompletableFuture<double[]>>();
+
+        var minimumDistance = new double[vertexCount];
+        if (vertexCount > 0)
+        {
+            kernel.run(0, minimumDistance);
+        }
+
+        var selectedCount = 0;
+        while (selectedCount < landmarks.length)
+        {
+            var landmark = findFarthestVertex(minimumDistance);
+            if (minimumDistance[landmark] == 0.0 && selectedCount > 0)
+            {
+                break;
+            }
+
+            landmarks[selectedCount] = landmark;
+            backwardRows.add(CompletableFuture.supplyAsync(() -> computeDistances(reverseGraph, landmark)));
+
+            var row = new double[vertexCount];
+            kernel.run(landmark, row);
+            forwardRows[selectedCount] = row;
+
+            var isFirstLandmark = selectedCount == 0;
+            for (int vertex = 0; vertex < vertexCount; ++vertex)
+            {
+                minimumDistance[vertex] = isFirstLandmark ? row[vertex] : Math.min(minimumDistance[vertex], row[vertex]);
+            }
+            selectedCount++;
+        }
+
+        var backward = backwardRows.stream().map(CompletableFuture::join).toArray(double[][]::new);
+        return create(graph, Arrays.copyOf(landmarks, selectedCount), Arrays.copyOf(forwardRows, selectedCount), backward);
+    }
+
+    /**
+     * Computes the distance tables for the given landmarks, running all forward and backward searches in parallel.
+     */
+    public static <V> LandmarkHeuristic<V> of(CsrGraph<V> graph, List<V> landmarkVertices)
+    {
+        var reverseGraph = graph.reverse();
+        var landmarks = landmarkVertices.stream().mapToInt(graph::getId).toArray();
+
+        var forwardRows = Arrays.stream(landmarks)
+                .mapToObj(landmark -> CompletableFuture.supplyAsync(() -> computeDistances(graph, landmark)))
+                .collect(Collectors.toList());
+        var backwardRows = Arrays.stream(landmarks)
+                .mapToObj(landmark -> CompletableFuture.supplyAsync(() -> computeDistances(reverseGraph, landmark)))
+                .collect(Collectors.toList());
+
+        return create(
+                graph, landmarks,
+                forwardRows.stream().map(CompletableFuture::join).toArray(double[][]::new),
+                backwardRows.stream().map(CompletableFuture::join).toArray(double[][]::new)
+        );
+    }
+
+    /**
+     * Reads tables written by {@link #write(Path)}. The graph must be the one the tables were computed for,
+     * with the same vertex ids.
+     */
+    public static <V> LandmarkHeuristic<V> read(Path path, IndexedGraph<V> graph) throws IOException
+    {
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path))))
+        {
+            if (input.readInt() != MAGIC)
+            {
+                throw new IOException("Not a landmark file: " + path);
+            }
+
+            var version = input.readInt();
+            if (version != VERSION)
+            {
+                throw new IOException("Unsupported landmark file version: " + version);
+            }
+
+            var vertexCount = input.readInt();
+            var landmarkCount = input.readInt();
+            var fingerprint = input.readLong();
+            if (vertexCount != graph.getVertexCount() || fingerprint != GraphFingerprint.of(graph))
+            {
+                throw new IOException("Landmarks were computed for a different graph");
+            }
+
+            var landmarks = new int[landmarkCount];
+            for (int i = 0; i < landmarkCount; ++i)
+            {
+                landmarks[i] = input.readInt();
+            }
+            var fromLandmarks = readDoubles(input, vertexCount * landmarkCount);
+            var toLandmarks = readDoubles(input, vertexCount * landmarkCount);
+
+            return new LandmarkHeuristic<>(graph, landmarks, fromLandmarks, toLandmarks);
+        }
+    }
+
+    public void write(Path path) throws IOException
+    {
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))))
+        {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(graph.getVertexCount());
+            output.writeInt(landmarks.length);
+            output.writeLong(GraphFingerprint.of(graph));
+
+            for (var landmark : landmarks)
+            {
+                output.writeInt(landmark);
+            }
+            for (var distance : fromLandmarks)
+            {
+                output.writeDouble(distance);
+            }
+            for (var distance : toLandmarks)
+            {
+                output.writeDouble(distance);
+            }
+        }
+    }
+
+    public List<V> getLandmarks()
+    {
+        return Arrays.stream(landmarks).mapToObj(graph::getVertex).collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public double estimate(V vertex, V targetVertex)
+    {
+        var landmarkCount = landmarks.length;
+        var vertexOffset = graph.getId(vertex) * landmarkCount;
+        var targetOffset = graph.getId(targetVertex) * landmarkCount;
+
+        //Differences of two infinite distances are NaN and never win the comparisons below
+        var bound = 0.0;
+        for (int i = 0; i < landmarkCount; ++i)
+        {
+            var forwardBound = fromLandmarks[targetOffset + i] - fromLandmarks[vertexOffset + i];
+            if (forwardBound > bound)
+            {
+                bound = forwardBound;
+            }
+
+            var backwardBound = toLandmarks[vertexOffset + i] - toLandmarks[targetOffset + i];
+            if (backwardBound > bound)
+            {
+                bound = backwardBound;
+            }
+        }
+        return bound;
+    }
+
+    private static <V> LandmarkHeuristic<V> create(CsrGraph<V> graph, int[] landmarks, double[][] forwardRows, double[][] backwardRows)
+    {
+        var vertexCount = graph.getVertexCount();
+        var landmarkCount = landmarks.length;
+        var fromLandmarks = new double[vertexCount * landmarkCount];
+        var toLandmarks = new double[vertexCount * landmarkCount];
+
+        IntStream.range(0, vertexCount).parallel().forEach(vertex ->
+        {
+            for (int i = 0; i < landmarkCount; ++i)
+            {
+                fromLandmarks[vertex * landmarkCount + i] = toInfinity(forwardRows[i][vertex]);
+                toLandmarks[vertex * landmarkCount + i] = toInfinity(backwardRows[i][vertex]);
+            }
+        });
+
+        return new LandmarkHeuristic<>(graph, landmarks, fromLandmarks, toLandmarks);
+    }
+
+    private static double[] computeDistances(IndexedGraph<?> graph, int sourceId)
+    {
+        var distance = new double[graph.getVertexCount()];
+        new DijkstraKernel(graph).run(sourceId, distance);
+        return distance;
+    }
+
+    private static int findFarthestVertex(double[] distance)
+    {
+        var farthestVertex = 0;
+        for (int vertex = 1; vertex < distance.length; ++vertex)
+        {
+            if (distance[vertex] > distance[farthestVertex])
+            {
+                farthestVertex = vertex;
+            }
+        }
+        return farthestVertex;
+    }
+
+    private static double toInfinity(double distance)
+    {
+        return distance == Double.MAX_VALUE ? Double.POSITIVE_INFINITY : distance;
+    }
+
+    private static double[] readDoubles(DataInputStream input, int length) throws IOException
+    {
+        var values = new double[length];
+        for (int i = 0; i < length; ++i)
+        {
+            values[i] = input.readDouble();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,91 @@
+package gd.graphalgorithms;
+
+import java.util.*;
+
+/**
+ * A frontier queue on top of {@link PriorityQueue} that never removes entries on update. Instead, a new
+ * entry is pushed and outdated entries are skipped when they reach the head of the queue.
+ *
+ * @param <V> Vertex type
+ */
+public final class LazyDeletionQueue<V> implements FrontierQueue<V>
+{
+    private final PriorityQueue<Entry<V>> entries;
+    private final HashMap<V, Double> priorities;
+
+    public LazyDeletionQueue()
+    {
+        this.entries = new PriorityQueue<>(Comparator.comparingDouble(Entry::priority));
+        this.priorities = new HashMap<>();
+    }
+
+    @Override
+    public void offer(V vertex, double priority)
+    {
+        Objects.requireNonNull(vertex);
+
+        var previousPriority = priorities.put(vertex, priority);
+        if (previousPriority == null || previousPriority != priority)
+        {
+            entries.add(new Entry<>(vertex, priority));
+        }
+    }
+
+    @Override
+    public V poll()
+    {
+        discardStaleEntries();
+
+        var entry = entries.poll();
+        if (entry == null)
+        {
+            return null;
+        }
+
+        priorities.remove(entry.vertex());
+        return entry.vertex();
+    }
+
+    @Override
+    public double peekPriority()
+    {
+        discardStaleEntries();
+
+        var entry = entries.peek();
+        return entry == null ? Double.POSITIVE_INFINITY : entry.priority();
+    }
+
+    @Override
+    public boolean contains(V vertex)
+    {
+        return priorities.containsKey(vertex);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return priorities.isEmpty();
+    }
+
+    @Override
+    public int size()
+    {
+        return priorities.size();
+    }
+
+    private void discardStaleEntries()
+    {
+        while (!entries.isEmpty())
+        {
+            var head = entries.peek();
+            var currentPriority = priorities.get(head.vertex());
+            if (currentPriority != null && currentPriority == head.priority())
+            {
+                return;
+            }
+            entries.poll();
+        }
+    }
+
+    private record Entry<V>(V vertex, double priority) {}
+}
@@ -0,0 +1,333 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Shortest path costs from a list of source vertices to a list of target vertices, e.g. from depots to
+ * customers. Row i of the result belongs to source i and column j to target j; {@link Double#MAX_VALUE}
+ * marks unreachable pairs. Sources are processed in parallel on a {@link ForkJoinPool}, reusing search workspaces
+ * from a {@link WorkspacePool} whose arrays are reset only where a search touched them.
+ * <p>
+ * There are two engines:
+ * <ul>
+ * <li>On a plain {@link IndexedGraph}, one run of Dijkstra's algorithm per source, which stops as soon as all
+ * targets are settled instead of exploring the whole graph.</li>
+ * <li>On a {@link ContractionHierarchy}, the bucket-based algorithm of Knopp et al.: one backward upward search
+ * per target leaves a (target, distance) entry in a bucket at every vertex it reaches. One forward upward search
+ * per source then scans the buckets of the vertices it reaches, and the best sum per target is its distance.
+ * The backward work is done once and shared by all sources, and every search only covers the small upward
+ * search space of its vertex.</li>
+ * </ul>
+ *
+ * @param <V> Vertex type
+ */
+public final class ManyToManyShortestPaths<V>
+{
+    private final IndexedGraph<V> graph;
+    private final ContractionHierarchy<V> hierarchy;
+    private final ForkJoinPool pool;
+
+    public ManyToManyShortestPaths(IndexedGraph<V> graph)
+    {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public ManyToManyShortestPaths(IndexedGraph<V> graph, ForkJoinPool pool)
+    {
+        this.graph = graph;
+        this.hierarchy = null;
+        this.pool = pool;
+    }
+
+    public ManyToManyShortestPaths(ContractionHierarchy<V> hierarchy)
+    {
+        this(hierarchy, ForkJoinPool.commonPool());
+    }
+
+    public ManyToManyShortestPaths(ContractionHierarchy<V> hierarchy, ForkJoinPool pool)
+    {
+        this.graph = hierarchy.getGraph();
+        this.hierarchy = hierarchy;
+        this.pool = pool;
+    }
+
+    public static <V, E> ManyToManyShortestPaths<V> of(Graph<V, E> graph, ToDoubleFunction<E> costFunction)
+    {
+        return new ManyToManyShortestPaths<>(CsrGraph.of(graph, costFunction));
+    }
+
+    public ArrayDistanceMatrix compute(List<V> sourceVertices, List<V> targetVertices)
+    {
+        return compute(sourceVertices, targetVertices, new ArrayDistanceMatrix(sourceVertices.size(), targetVertices.size()));
+    }
+
+    public <M extends DistanceMatrix> M compute(List<V> sourceVertices, List<V> targetVertices, M matrix)
+    {
+        if (matrix.getRowCount() != sourceVertices.size() || matrix.getColumnCount() != targetVertices.size())
+        {
+            throw new IllegalArgumentException("Matrix must have one row per source and one column per target");
+        }
+
+        var sources = toIds(sourceVertices);
+        var targets = toIds(targetVertices);
+
+        if (hierarchy == null)
+        {
+            computeWithDijkstra(sources, targets, matrix);
+        }
+        else
+        {
+            computeWithBuckets(sources, targets, matrix);
+        }
+        return matrix;
+    }
+
+    public IndexedGraph<V> getGraph()
+    {
+        return graph;
+    }
+
+    private void computeWithDijkstra(int[] sources, int[] targets, DistanceMatrix matrix)
+    {
+        var isTarget = new boolean[graph.getVertexCount()];
+        for (var target : targets)
+        {
+            isTarget[target] = true;
+        }
+        var distinctTargetCount = (int) Arrays.stream(targets).distinct().count();
+
+        var workspaces = new WorkspacePool<>(() -> new Workspace(graph.getVertexCount(), targets.length));
+        runInParallel(sources.length, workspaces, (workspace, row) ->
+        {
+            workspace.reset();
+            workspace.start(sources[row]);
+
+            var settledTargetCount = 0;
+            while (!workspace.frontier.isEmpty() && settledTargetCount < distinctTargetCount)
+            {
+                var current = workspace.frontier.poll();
+                if (isTarget[current])
+                {
+                    settledTargetCount++;
+                }
+                workspace.relax(current, graph);
+            }
+
+            for (int column = 0; column < targets.length; ++column)
+            {
+                workspace.row[column] = workspace.distance[targets[column]];
+            }
+            matrix.setRow(row, workspace.row);
+        });
+    }
+
+    private void computeWithBuckets(int[] sources, int[] targets, DistanceMatrix matrix)
+    {
+        var vertexCount = graph.getVertexCount();
+        var backwardGraph = hierarchy.getBackwardGraph();
+        var forwardGraph = hierarchy.getForwardGraph();
+
+        //Backward searches run in parallel, each recording its search space, and are merged into buckets below
+        var searchSpaces = new SearchSpace[targets.length];
+        var workspaces = new WorkspacePool<>(() -> new Workspace(vertexCount, targets.length));
+        runInParallel(targets.length, workspaces, (workspace, column) ->
+        {
+            workspace.reset();
+            workspace.start(targets[column]);
+            while (!workspace.frontier.isEmpty())
+            {
+                workspace.relax(workspace.frontier.poll(), backwardGraph);
+            }
+            searchSpaces[column] = workspace.getSearchSpace();
+        });
+        var buckets = Buckets.of(searchSpaces, vertexCount);
+
+        runInParallel(sources.length, workspaces, (workspace, row) ->
+        {
+            workspace.reset();
+            workspace.start(sources[row]);
+            Arrays.fill(workspace.row, Double.MAX_VALUE);
+
+            while (!workspace.frontier.isEmpty())
+            {
+                var current = workspace.frontier.poll();
+                var currentDistance = workspace.distance[current];
+                var endEntry = buckets.offsets[current + 1];
+                for (int entry = buckets.offsets[current]; entry < endEntry; ++entry)
+                {
+                    var column = buckets.columns[entry];
+                    var distance = currentDistance + buckets.distances[entry];
+                    if (distance < workspace.row[column])
+                    {
+                        workspace.row[column] = distance;
+                    }
+                }
+                workspace.relax(current, forwardGraph);
+            }
+            matrix.setRow(row, workspace.row);
+        });
+    }
+
+    private void runInParallel(int count, WorkspacePool<Workspace> workspaces, ObjIntConsumer<Workspace> action)
+    {
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(index ->
+        {
+            var workspace = workspaces.acquire();
+            try
+            {
+                action.accept(workspace, index);
+            }
+            finally
+            {
+                workspaces.release(workspace);
+            }
+        })).join();
+    }
+
+    private int[] toIds(List<V> vertices)
+    {
+        var ids = new int[vertices.size()];
+        for (int i = 0; i < ids.length; ++i)
+        {
+            var vertex = vertices.get(i);
+            if (!graph.hasVertex(vertex))
+            {
+                throw new IllegalArgumentException("Vertex with key " + vertex + " does not exist.");
+            }
+            ids[i] = graph.getId(vertex);
+        }
+        return ids;
+    }
+
+    /**
+     * Vertices reached by one backward search, with their distances to its target.
+     */
+    private record SearchSpace(int[] vertices, double[] distances) {}
+
+    /**
+     * Bucket entries of all backward searches, grouped by vertex in CSR layout: the entries of vertex v occupy
+     * the range [offsets[v], offsets[v + 1]).
+     */
+    private record Buckets(int[] offsets, int[] columns, double[] distances)
+    {
+        private static Buckets of(SearchSpace[] searchSpaces, int vertexCount)
+        {
+            var offsets = new int[vertexCount + 1];
+            for (var searchSpace : searchSpaces)
+            {
+                for (var vertex : searchSpace.vertices())
+                {
+                    offsets[vertex + 1]++;
+                }
+            }
+            for (int vertex = 0; vertex < vertexCount; ++vertex)
+            {
+                offsets[vertex + 1] += offsets[vertex];
+            }
+
+            var nextEntry = Arrays.copyOf(offsets, vertexCount);
+            var columns = new int[offsets[vertexCount]];
+            var distances = new double[offsets[vertexCount]];
+            for (int column = 0; column < searchSpaces.length; ++column)
+            {
+                var searchSpace = searchSpaces[column];
+                for (int i = 0; i < searchSpace.vertices().length; ++i)
+                {
+                    var entry = nextEntry[searchSpace.vertices()[i]]++;
+                    columns[entry] = column;
+                    distances[entry] = searchSpace.distances()[i];
+                }
+            }
+
+            return new Buckets(offsets, columns, distances);
+        }
+    }
+
+    /**
+     * Search state of one running task. Only the touched distances are reset between searches.
+     */
+    private static final class Workspace
+    {
+        private final double[] distance;
+        private final IntDAryHeap frontier;
+        private final int[] touchedVertices;
+        private final double[] row;
+        private int touchedCount;
+
+        private Workspace(int vertexCount, int columnCount)
+        {
+            this.distance = new double[vertexCount];
+            this.frontier = new IntDAryHeap(vertexCount);
+            this.touchedVertices = new int[vertexCount];
+            this.row = new double[columnCount];
+
+            Arrays.fill(distance, Double.MAX_VALUE);
+        }
+
+        private void start(int vertexId)
+        {
+            touchedVertices[touchedCount++] = vertexId;
+            distance[vertexId] = 0.0;
+            frontier.offer(vertexId, 0.0);
+        }
+
+        private void relax(int current, IndexedGraph<?> graph)
+        {
+            var currentDistance = distance[current];
+            var endEdge = graph.getEndEdge(current);
+            for (int edge = graph.getFirstEdge(current); edge < endEdge; ++edge)
+            {
+                update(graph.getTarget(edge), currentDistance + graph.getWeight(edge));
+            }
+        }
+
+        private void relax(int current, ContractionHierarchy.UpwardGraph upwardGraph)
+        {
+            var currentDistance = distance[current];
+            var endEdge = upwardGraph.getEndEdge(current);
+            for (int edge = upwardGraph.getFirstEdge(current); edge < endEdge; ++edge)
+            {
+                update(upwardGraph.getTarget(edge), currentDistance + upwardGraph.getWeight(edge));
+            }
+        }
+
+        private void update(int vertexId, double tentativeDistance)
+        {
+            if (tentativeDistance < distance[vertexId])
+            {
+                if (distance[vertexId] == Double.MAX_VALUE)
+                {
+                    touchedVertices[touchedCount++] = vertexId;
+                }
+                distance[vertexId] = tentativeDistance;
+                frontier.offer(vertexId, tentativeDistance);
+            }
+        }
+
+        private SearchSpace getSearchSpace()
+        {
+            var vertices = Arrays.copyOf(touchedVertices, touchedCount);
+            var distances = new double[touchedCount];
+            for (int i = 0; i < touchedCount; ++i)
+            {
+                distances[i] = distance[vertices[i]];
+            }
+            return new SearchSpace(vertices, distances);
+        }
+
+        private void reset()
+        {
+            for (int i = 0; i < touchedCount; ++i)
+            {
+                distance[touchedVertices[i]] = Double.MAX_VALUE;
+            }
+            touchedCount = 0;
+            frontier.clear();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package gd.graphalgorithms;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * {@link DistanceMatrix} in a memory-mapped file, for matrices too large for the heap.
+ * <p>
+ * The file starts with a 16 byte header (magic, version, row count, column count), followed by the
+ * distances as row-major little-endian doubles. A single mapping is limited to 2 GB, so the rows are
+ * spread over as many mappings as needed, with no row crossing a mapping boundary.
+ */
+public final class MappedDistanceMatrix implements DistanceMatrix
+{
+    private static final int MAGIC = 0x4d505344; // "DSPM" read as little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private final int rowCount;
+    private final int columnCount;
+    private final int rowsPerSegment;
+    private final MappedByteBuffer[] mappings;
+    private final DoubleBuffer[] segments;
+
+    private MappedDistanceMatrix(FileChannel channel, FileChannel.MapMode mode, int rowCount, int columnCount) throws IOException
+    {
+        var rowBytes = (long) columnCount * Double.BYTES;
+        if (rowBytes > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Matrix rows of " + columnCount + " columns exceed the size of a mapping");
+        }
+
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.rowsPerSegment = rowBytes == 0 ? Math.max(rowCount, 1) : (int) (Integer.MAX_VALUE / rowBytes);
+
+        var segmentCount = (rowCount + rowsPerSegment - 1) / rowsPerSegment;
+        this.mappings = new MappedByteBuffer[segmentCount];
+        this.segments = new DoubleBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; ++i)
+        {
+            var firstRow = (long) i * rowsPerSegment;
+            var rows = Math.min(rowsPerSegment, rowCount - firstRow);
+            mappings[i] = channel.map(mode, HEADER_SIZE + firstRow * rowBytes, rows * rowBytes);
+            segments[i] = mappings[i].order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+    }
+
+    /**
+     * Creates the file, replacing any existing file, and maps it for writing.
+     */
+    public static MappedDistanceMatrix create(Path path, int rowCount, int columnCount) throws IOException
+    {
+        try (var channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+        ))
+        {
+            var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(rowCount).putInt(columnCount).flip();
+            channel.write(header, 0);
+
+            return new MappedDistanceMatrix(channel, FileChannel.MapMode.READ_WRITE, rowCount, columnCount);
+        }
+    }
+
+    /**
+     * Maps an existing matrix file read-only; {@link #setRow(int, double[])} is not supported on the result.
+     */
+    public static MappedDistanceMatrix open(Path path) throws IOException
+    {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.read(header, 0) < HEADER_SIZE)
+            {
+                throw new IOException("File too short to contain a distance matrix header");
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC)
+            {
+                throw new IOException("Not a distance matrix file: " + path);
+            }
+
+            var version = header.getInt();
+            if (version != VERSION)
+            {
+                throw new IOException("Unsupported distance matrix version: " + version);
+            }
+
+            var rowCount = header.getInt();
+            var columnCount = header.getInt();
+            if (channel.size() < HEADER_SIZE + (long) rowCount * columnCount * Double.BYTES)
+            {
+                throw new IOException("Distance matrix file is truncated: " + path);
+            }
+
+            return new MappedDistanceMatrix(channel, FileChannel.MapMode.READ_ONLY, rowCount, columnCount);
+        }
+    }
+
+    @Override
+    public int getRowCount()
+    {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount()
+    {
+        return columnCount;
+    }
+
+    @Override
+    public double get(int row, int column)
+    {
+        return segments[row / rowsPerSegment].get((row % rowsPerSegment) * columnCount + column);
+    }
+
+    @Override
+    public void setRow(int row, double[] distances)
+    {
+        var segment = segments[row / rowsPerSegment];
+        var offset = (row % rowsPerSegment) * columnCount;
+        for (int column = 0; column < columnCount; ++column)
+        {
+            segment.put(offset + column, distances[column]);
+        }
+    }
+
+    /**
+     * Writes modified rows back to the file.
+     */
+    public void force()
+    {
+        for (var mapping : mappings)
+        {
+            mapping.force();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package gd.graphalgorithms;
+
+import java.util.*;
+
+/**
+ * Radix heap for non-negative priorities that are multiples of a quantum, with no bound on the edge weights.
+ * Integer keys are kept in 65 buckets by the highest bit in which they differ from the last polled key. A poll
+ * that finds the lowest bucket empty redistributes the first non-empty bucket into lower ones, so each vertex
+ * moves down at most 64 times and operations take O(log C) amortized time for a largest edge key C.
+ * <p>
+ * Like {@link DialQueue}, it requires monotone priorities and keeps vertices offered at
+ * {@link Double#MAX_VALUE} or above aside as unreached.
+ *
+ * @param <V> Vertex type
+ */
+public final class RadixHeap<V> implements FrontierQueue<V>
+{
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+    private final double quantum;
+    private final BucketList<V>[] buckets;
+    private final BucketList<V> unreached;
+    private final HashMap<V, BucketList.Node<V>> nodes;
+
+    private long lastKey;
+    private int reachedCount;
+
+    public RadixHeap(double quantum)
+    {
+        if (!(quantum > 0.0) || Double.isInfinite(quantum))
+        {
+            throw new IllegalArgumentException("Quantum must be a positive finite number, was " + quantum);
+        }
+
+        this.quantum = quantum;
+        this.buckets = BucketList.createBuckets(BUCKET_COUNT);
+        this.unreached = new BucketList<>();
+        this.nodes = new HashMap<>();
+    }
+
+    @Override
+    public void offer(V vertex, double priority)
+    {
+        Objects.requireNonNull(vertex);
+
+        var node = nodes.get(vertex);
+        if (node != null && node.priority == priority)
+        {
+            return;
+        }
+
+        var isReached = priority < Double.MAX_VALUE;
+        var key = isReached ? Math.round(priority / quantum) : Long.MAX_VALUE;
+        if (isReached && key < lastKey)
+        {
+            throw new IllegalArgumentException("Priority " + priority + " is below the last polled priority");
+        }
+
+        if (node == null)
+        {
+            node = new BucketList.Node<>(vertex);
+            nodes.put(vertex, node);
+        }
+        else
+        {
+            unlink(node);
+        }
+
+        node.priority = priority;
+        node.key = key;
+        if (isReached)
+        {
+            insert(node);
+            reachedCount++;
+        }
+        else
+        {
+            unreached.addLast(node, -1);
+        }
+    }
+
+    @Override
+    public V poll()
+    {
+        var node = findFirst();
+        if (node == null)
+        {
+            return null;
+        }
+
+        unlink(node);
+        nodes.remove(node.vertex);
+        return node.vertex;
+    }
+
+    @Override
+    public double peekPriority()
+    {
+        var node = findFirst();
+        return node == null ? Double.POSITIVE_INFINITY : node.priority;
+    }
+
+    @Override
+    public boolean contains(V vertex)
+    {
+        return nodes.containsKey(vertex);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return nodes.isEmpty();
+    }
+
+    @Override
+    public int size()
+    {
+        return nodes.size();
+    }
+
+    private BucketList.Node<V> findFirst()
+    {
+        if (reachedCount == 0)
+        {
+            return unreached.first();
+        }
+
+        if (buckets[0].isEmpty())
+        {
+            var bucket = 1;
+            while (buckets[bucket].isEmpty())
+            {
+                bucket++;
+            }
+
+            var minimumKey = Long.MAX_VALUE;
+            for (var node = buckets[bucket].first(); node != null; node = node.next)
+            {
+                minimumKey = Math.min(minimumKey, node.key);
+            }
+            lastKey = minimumKey;
+
+            for (var node = buckets[bucket].removeFirst(); node != null; node = buckets[bucket].removeFirst())
+            {
+                insert(node);
+            }
+        }
+        return buckets[0].first();
+    }
+
+    private void insert(BucketList.Node<V> node)
+    {
+        var bucket = node.key == lastKey ? 0 : Long.SIZE - Long.numberOfLeadingZeros(node.key ^ lastKey);
+        buckets[bucket].addLast(node, bucket);
+    }
+
+    private void unlink(BucketList.Node<V> node)
+    {
+        if (node.bucket < 0)
+        {
+            unreached.remove(node);
+        }
+        else
+        {
+            buckets[node.bucket].remove(node);
+            reachedCount--;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package gd.graphalgorithms;
+
+import gd.graphalgorithms.DijkstraShortestPaths.VertexState;
+
+import java.util.*;
+
+/**
+ * Aggregated changes of one or more search steps. A vertex whose state or distance changed several times is
+ * reported with its latest value.
+ *
+ * @param <V> Vertex type
+ */
+public final class SearchDelta<V> implements SearchListener<V>
+{
+    private final ArrayList<V> settledVertices = new ArrayList<>();
+    private final LinkedHashMap<V, VertexState> changedStates = new LinkedHashMap<>();
+    private final LinkedHashMap<V, Double> improvedDistances = new LinkedHashMap<>();
+    private final ArrayList<RelaxedEdge<V>> relaxedEdges = new ArrayList<>();
+
+    @Override
+    public void stateChanged(V vertex, VertexState state)
+    {
+        changedStates.put(vertex, state);
+        if (state == VertexState.EXPANDED)
+        {
+            settledVertices.add(vertex);
+        }
+    }
+
+    @Override
+    public void edgeRelaxed(V sourceVertex, V targetVertex, double tentativeDistance)
+    {
+        relaxedEdges.add(new RelaxedEdge<>(sourceVertex, targetVertex, tentativeDistance));
+    }
+
+    @Override
+    public void distanceImproved(V vertex, V previousVertex, double distance)
+    {
+        improvedDistances.put(vertex, distance);
+    }
+
+    /**
+     * @return Settled vertices in the order they were settled
+     */
+    public List<V> getSettledVertices()
+    {
+        return Collections.unmodifiableList(settledVertices);
+    }
+
+    /**
+     * @return Final state of every vertex whose state changed
+     */
+    public Map<V, VertexState> getChangedStates()
+    {
+        return Collections.unmodifiableMap(changedStates);
+    }
+
+    /**
+     * @return Final distance of every vertex whose distance improved
+     */
+    public Map<V, Double> getImprovedDistances()
+    {
+        return Collections.unmodifiableMap(improvedDistances);
+    }
+
+    public List<RelaxedEdge<V>> getRelaxedEdges()
+    {
+        return Collections.unmodifiableList(relaxedEdges);
+    }
+
+    public boolean isEmpty()
+    {
+        return changedStates.isEmpty() && relaxedEdges.isEmpty();
+    }
+
+    public record RelaxedEdge<V>(V sourceVertex, V targetVertex, double tentativeDistance) {}
+}
@@ -0,0 +1,25 @@
+package gd.graphalgorithms;
+
+import gd.graphalgorithms.DijkstraShortestPaths.VertexState;
+
+/**
+ * Receives the changes a shortest path search makes while it expands vertices, so that a view can update only
+ * what changed instead of reading the whole state after every step.
+ *
+ * @param <V> Vertex type
+ */
+public interface SearchListener<V>
+{
+    /**
+     * Called when a vertex changes its state, i.e. when it is first reached or when it is settled.
+     */
+    default void stateChanged(V vertex, VertexState state) {}
+
+    /**
+     * Called for every edge from the expanded vertex to a vertex that is not settled yet, whether or not it
+     * improves the distance of its target.
+     */
+    default void edgeRelaxed(V sourceVertex, V targetVertex, double tentativeDistance) {}
+
+    default void distanceImproved(V vertex, V previousVertex, double distance) {}
+}
@@ -0,0 +1,22 @@
+package gd.graphalgorithms;
+
+import java.util.*;
+
+/**
+ * Result of a point-to-point query. A reachable target has the vertices from source to target, just the source
+ * if both are the same vertex; an unreachable target has no vertices and cost {@link Double#MAX_VALUE}.
+ *
+ * @param <V> Vertex type
+ */
+public record ShortestPath<V>(List<V> vertices, double cost)
+{
+    static <V> ShortestPath<V> unreachable()
+    {
+        return new ShortestPath<>(List.of(), Double.MAX_VALUE);
+    }
+
+    public boolean isReachable()
+    {
+        return cost < Double.MAX_VALUE;
+    }
+}
@@ -0,0 +1,25 @@
+package gd.graphalgorithms;
+
+import gd.graphalgorithms.DijkstraShortestPaths.VertexState;
+
+import java.util.*;
+
+/**
+ * A single-source shortest path search that can be advanced one vertex expansion at a time.
+ *
+ * @param <V> Vertex type
+ */
+public interface ShortestPathSearch<V>
+{
+    boolean isCompleted();
+
+    void step();
+
+    List<V> getShortestPathTo(V targetVertex);
+
+    double getShortestPathCostTo(V targetVertex);
+
+    V getSourceVertex();
+
+    Map<V, VertexState> getState();
+}
@@ -0,0 +1,219 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.graphalgorithms.DijkstraShortestPaths.Initialization;
+import gd.graphalgorithms.DijkstraShortestPaths.VertexState;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Cache of completed shortest path trees of a {@link Graph}, keyed by source vertex.
+ * <p>
+ * Eviction is least-recently-used and bounded by the total number of vertices settled in the cached trees,
+ * which is what their memory use is proportional to. The cache registers itself as a {@link GraphListener} and
+ * drops all cached trees as soon as the graph is modified; {@link #detach()} unregisters it.
+ * <p>
+ * The returned searches are completed, read-only views shared between callers: {@link ShortestPathSearch#step()}
+ * throws an {@link UnsupportedOperationException}. All methods are synchronized; a cache miss computes the tree
+ * while holding the lock.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public final class ShortestPathTreeCache<V, E> implements GraphListener<V, E>
+{
+    private final Graph<V, E> graph;
+    private final ToDoubleFunction<E> costFunction;
+    private final long maxSettledVertices;
+
+    private final LinkedHashMap<V, CachedTree<V>> trees;
+    private Supplier<FrontierQueue<V>> frontierFactory;
+    private long settledVertices;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public ShortestPathTreeCache(Graph<V, E> graph, ToDoubleFunction<E> costFunction, long maxSettledVertices)
+    {
+        if (maxSettledVertices < 0)
+        {
+            throw new IllegalArgumentException("Cache capacity must not be negative, was " + maxSettledVertices);
+        }
+
+        this.graph = graph;
+        this.costFunction = costFunction;
+        this.maxSettledVertices = maxSettledVertices;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true);
+
+        graph.addListener(this);
+    }
+
+    public void detach()
+    {
+        graph.removeListener(this);
+    }
+
+    /**
+     * @return Completed shortest path search from the source vertex, computed if not cached
+     */
+    public synchronized ShortestPathSearch<V> get(V sourceVertex)
+    {
+        var tree = trees.get(sourceVertex);
+        if (tree != null)
+        {
+            hits++;
+            return tree;
+        }
+
+        misses++;
+        if (frontierFactory == null)
+        {
+            frontierFactory = FrontierQueues.factoryFor(graph, costFunction);
+        }
+        var search = new DijkstraShortestPaths<>(graph, sourceVertex, costFunction, frontierFactory.get(), Initialization.SOURCE_ONLY);
+        while (!search.isCompleted())
+        {
+            search.step();
+        }
+
+        tree = new CachedTree<>(search);
+        trees.put(sourceVertex, tree);
+        settledVertices += tree.settledVertexCount;
+        evictLeastRecentlyUsed();
+
+        return tree;
+    }
+
+    public synchronized void invalidateAll()
+    {
+        if (!trees.isEmpty())
+        {
+            invalidations++;
+        }
+        trees.clear();
+        settledVertices = 0;
+        frontierFactory = null;
+    }
+
+    public synchronized int size()
+    {
+        return trees.size();
+    }
+
+    public synchronized long getSettledVertexCount()
+    {
+        return settledVertices;
+    }
+
+    public synchronized Statistics getStatistics()
+    {
+        return new Statistics(hits, misses, evictions, invalidations);
+    }
+
+    @Override
+    public void vertexAdded(V vertex)
+    {
+        invalidateAll();
+    }
+
+    @Override
+    public void vertexRemoved(V vertex)
+    {
+        invalidateAll();
+    }
+
+    @Override
+    public void edgeAdded(V sourceVertex, V targetVertex, E edge)
+    {
+        invalidateAll();
+    }
+
+    @Override
+    public void edgeRemoved(V sourceVertex, V targetVertex, E edge)
+    {
+        invalidateAll();
+    }
+
+    @Override
+    public void edgeReplaced(V sourceVertex, V targetVertex, E oldEdge, E newEdge)
+    {
+        invalidateAll();
+    }
+
+    private void evictLeastRecentlyUsed()
+    {
+        var iterator = trees.values().iterator();
+        while (settledVertices > maxSettledVertices && iterator.hasNext())
+        {
+            settledVertices -= iterator.next().settledVertexCount;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * @param invalidations Number of times cached trees were dropped because the graph changed
+     */
+    public record Statistics(long hits, long misses, long evictions, long invalidations)
+    {
+        public double hitRate()
+        {
+            var requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    /**
+     * Read-only view of a completed search, so callers sharing it can neither step it nor register listeners on it.
+     */
+    private static final class CachedTree<V> implements ShortestPathSearch<V>
+    {
+        private final DijkstraShortestPaths<V, ?> search;
+        private final long settledVertexCount;
+
+        private CachedTree(DijkstraShortestPaths<V, ?> search)
+        {
+            this.search = search;
+            this.settledVertexCount = search.getSettledVertexCount();
+        }
+
+        @Override
+        public boolean isCompleted()
+        {
+            return true;
+        }
+
+        @Override
+        public void step()
+        {
+            throw new UnsupportedOperationException("Cached shortest path trees are read-only");
+        }
+
+        @Override
+        public List<V> getShortestPathTo(V targetVertex)
+        {
+            return search.getShortestPathTo(targetVertex);
+        }
+
+        @Override
+        public double getShortestPathCostTo(V targetVertex)
+        {
+            return search.getShortestPathCostTo(targetVertex);
+        }
+
+        @Override
+        public V getSourceVertex()
+        {
+            return search.getSourceVertex();
+        }
+
+        @Override
+        public Map<V, VertexState> getState()
+        {
+            return search.getState();
+        }
+    }
+}
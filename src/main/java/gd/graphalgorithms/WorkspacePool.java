@@ -0,0 +1,36 @@
+package gd.graphalgorithms;
+
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Search workspaces shared by the tasks of one parallel computation. A task takes a workspace, uses it and
+ * returns it, so no more workspaces are created than tasks run at the same time. Unlike thread-local workspaces
+ * on long-lived pool threads, they all become unreachable together with the pool when the computation is done.
+ *
+ * @param <W> Workspace type
+ */
+final class WorkspacePool<W>
+{
+    private final Supplier<W> factory;
+    private final ConcurrentLinkedQueue<W> idleWorkspaces = new ConcurrentLinkedQueue<>();
+
+    WorkspacePool(Supplier<W> factory)
+    {
+        this.factory = factory;
+    }
+
+    /**
+     * @return An idle workspace, or a new one if all are in use
+     */
+    W acquire()
+    {
+        var workspace = idleWorkspaces.poll();
+        return workspace != null ? workspace : factory.get();
+    }
+
+    void release(W workspace)
+    {
+        idleWorkspaces.offer(workspace);
+    }
+}
@@ -0,0 +1,94 @@
+package gd.server;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Lock-free histogram of latencies in microseconds for percentile reporting.
+ * <p>
+ * Buckets are log-linear: every power of two is split into {@value #SUB_BUCKET_COUNT} equally wide buckets, so a
+ * reported percentile is the upper bound of its bucket and overestimates the recorded value by less than
+ * 1/{@value #SUB_BUCKET_COUNT}. Values below {@value #SUB_BUCKET_COUNT} microseconds are exact.
+ */
+public final class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAccumulator maxValue = new LongAccumulator(Math::max, 0);
+
+    public void record(long micros)
+    {
+        var value = Math.max(micros, 0);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        maxValue.accumulate(value);
+    }
+
+    public long getCount()
+    {
+        return totalCount.sum();
+    }
+
+    public long getMax()
+    {
+        return maxValue.get();
+    }
+
+    /**
+     * @param quantile Quantile between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return Smallest bucket bound that at least the given share of recorded values does not exceed, 0 if
+     * nothing was recorded
+     */
+    public long getPercentile(double quantile)
+    {
+        if (!(quantile >= 0.0 && quantile <= 1.0))
+        {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1, was " + quantile);
+        }
+
+        //Buckets are read one at a time, so concurrent recording may shift the result slightly
+        var total = 0L;
+        for (int index = 0; index < BUCKET_COUNT; ++index)
+        {
+            total += counts.get(index);
+        }
+        var rank = Math.max(1, (long) Math.ceil(quantile * total));
+
+        var seen = 0L;
+        for (int index = 0; index < BUCKET_COUNT; ++index)
+        {
+            seen += counts.get(index);
+            if (seen >= rank)
+            {
+                return Math.min(upperBoundOf(index), getMax());
+            }
+        }
+        return 0;
+    }
+
+    static int indexOf(long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+
+        var shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    static long upperBoundOf(int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        var shift = index / SUB_BUCKET_COUNT - 1;
+        var subBucket = index % SUB_BUCKET_COUNT;
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,332 @@
+package gd.server;
+
+import com.sun.net.httpserver.*;
+import gd.graph.*;
+import gd.graphalgorithms.*;
+import gd.utilities.Json;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Headless HTTP endpoint for shortest path queries on a {@link ContractionHierarchy}.
+ * <p>
+ * Endpoints, all answering with JSON:
+ * <ul>
+ * <li>{@code GET /route?source=KEY&target=KEY}: cost and vertex keys of the shortest path; the cost is null and
+ * the path empty if the target is unreachable. With {@code path=false}, only the cost is computed.</li>
+ * <li>{@code GET /stats}: completed and rejected queries and latency percentiles in microseconds.</li>
+ * </ul>
+ * Every request runs on its own virtual thread if the JDK supports them, and on a bounded pool of platform
+ * threads otherwise. Admission control limits the number of queries computed at the same time; further
+ * queries wait in a bounded queue for a limited time, and queries beyond the queue or past the wait time are
+ * rejected with status 503, so overload shows up at the load balancer instead of as growing latency.
+ */
+public final class QueryServer
+{
+    private final ContractionHierarchy<DspVertex> hierarchy;
+    private final Options options;
+    private final HashMap<String, DspVertex> verticesByKey;
+
+    private final Semaphore computePermits;
+    private final AtomicInteger admittedQueries = new AtomicInteger();
+    private final ConcurrentLinkedQueue<ContractionHierarchyQuery<DspVertex>> idleQueries = new ConcurrentLinkedQueue<>();
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder rejectedQueries = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public QueryServer(ContractionHierarchy<DspVertex> hierarchy, Options options)
+    {
+        this.hierarchy = hierarchy;
+        this.options = options;
+        this.computePermits = new Semaphore(options.maxConcurrentQueries(), true);
+
+        var graph = hierarchy.getGraph();
+        this.verticesByKey = new HashMap<>();
+        for (int vertexId = 0; vertexId < graph.getVertexCount(); ++vertexId)
+        {
+            var vertex = graph.getVertex(vertexId);
+            verticesByKey.put(vertex.key(), vertex);
+        }
+    }
+
+    /**
+     * Binds the server and starts accepting requests.
+     */
+    public synchronized void start() throws IOException
+    {
+        if (server != null)
+        {
+            throw new IllegalStateException("Server is already started");
+        }
+
+        executor = newRequestExecutor(options.maxConcurrentQueries() + options.maxQueuedQueries());
+        server = HttpServer.create(new InetSocketAddress(options.host(), options.port()), options.backlog());
+        server.createContext("/route", exchange -> handle(exchange, this::route));
+        server.createContext("/stats", exchange -> handle(exchange, this::stats));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests and waits up to the given delay for running requests to complete.
+     */
+    public synchronized void stop(Duration delay)
+    {
+        if (server == null)
+        {
+            return;
+        }
+
+        server.stop((int) Math.max(0, delay.toSeconds()));
+        executor.shutdown();
+        server = null;
+        executor = null;
+    }
+
+    /**
+     * @return Port the server is bound to, which differs from the configured port 0
+     */
+    public synchronized int getPort()
+    {
+        if (server == null)
+        {
+            throw new IllegalStateException("Server is not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    public LatencyHistogram getLatencies()
+    {
+        return latencies;
+    }
+
+    public long getRejectedQueryCount()
+    {
+        return rejectedQueries.sum();
+    }
+
+    /**
+     * Creates a virtual thread per task executor on JDKs that support it. It is looked up reflectively, since
+     * the project is compiled for a release without virtual threads.
+     */
+    static ExecutorService newRequestExecutor(int platformThreadCount)
+    {
+        try
+        {
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        }
+        catch (ReflectiveOperationException | UnsupportedOperationException e)
+        {
+            //Older JDK, or virtual threads are still a disabled preview feature
+            return Executors.newFixedThreadPool(platformThreadCount);
+        }
+    }
+
+    private Response route(Map<String, String> parameters) throws InterruptedException
+    {
+        var sourceKey = parameters.get("source");
+        var targetKey = parameters.get("target");
+        if (sourceKey == null || targetKey == null)
+        {
+            return Response.error(400, "Parameters 'source' and 'target' are required");
+        }
+
+        var sourceVertex = verticesByKey.get(sourceKey);
+        var targetVertex = verticesByKey.get(targetKey);
+        if (sourceVertex == null || targetVertex == null)
+        {
+            return Response.error(404, "Unknown vertex " + (sourceVertex == null ? sourceKey : targetKey));
+        }
+
+        if (admittedQueries.incrementAndGet() > options.maxConcurrentQueries() + options.maxQueuedQueries())
+        {
+            admittedQueries.decrementAndGet();
+            return reject();
+        }
+
+        try
+        {
+            if (!computePermits.tryAcquire(options.queueTimeout().toNanos(), TimeUnit.NANOSECONDS))
+            {
+                return reject();
+            }
+
+            //At most one query object per permit is ever in use, so the pool never grows beyond the permits
+            var query = idleQueries.poll();
+            try
+            {
+                if (query == null)
+                {
+                    query = new ContractionHierarchyQuery<>(hierarchy);
+                }
+                if ("false".equals(parameters.get("path")))
+                {
+                    var cost = query.getShortestPathCost(sourceVertex, targetVertex);
+                    return new Response(200, routeJson(sourceKey, targetKey, cost, List.of()));
+                }
+
+                var shortestPath = query.findShortestPath(sourceVertex, targetVertex);
+                return new Response(200, routeJson(sourceKey, targetKey, shortestPath.cost(), shortestPath.vertices()));
+            }
+            finally
+            {
+                if (query != null)
+                {
+                    idleQueries.offer(query);
+                }
+                computePermits.release();
+            }
+        }
+        finally
+        {
+            admittedQueries.decrementAndGet();
+        }
+    }
+
+    private Response stats(Map<String, String> parameters)
+    {
+        var json = "{\"completed\":" + latencies.getCount()
+                + ",\"rejected\":" + rejectedQueries.sum()
+                + ",\"inFlight\":" + admittedQueries.get()
+                + ",\"latencyMicros\":{\"p50\":" + latencies.getPercentile(0.5)
+                + ",\"p90\":" + latencies.getPercentile(0.9)
+                + ",\"p99\":" + latencies.getPercentile(0.99)
+                + ",\"p999\":" + latencies.getPercentile(0.999)
+                + ",\"max\":" + latencies.getMax() + "}}";
+        return new Response(200, json);
+    }
+
+    private Response reject()
+    {
+        rejectedQueries.increment();
+        return Response.error(503, "Server is overloaded");
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException
+    {
+        var startTime = System.nanoTime();
+        try (exchange)
+        {
+            Response response;
+            if (!"GET".equals(exchange.getRequestMethod()))
+            {
+                response = Response.error(405, "Only GET is supported");
+            }
+            else
+            {
+                try
+                {
+                    response = endpoint.respond(parseQuery(exchange.getRequestURI().getRawQuery()));
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    response = Response.error(503, "Server is shutting down");
+                }
+                catch (RuntimeException e)
+                {
+                    response = Response.error(500, String.valueOf(e.getMessage()));
+                }
+            }
+
+            var body = response.json().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            if (response.status() == 503)
+            {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+            }
+            exchange.sendResponseHeaders(response.status(), body.length);
+            exchange.getResponseBody().write(body);
+
+            if (response.status() == 200 && exchange.getHttpContext().getPath().equals("/route"))
+            {
+                latencies.record((System.nanoTime() - startTime) / 1000);
+            }
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery)
+    {
+        var parameters = new HashMap<String, String>();
+        if (rawQuery == null || rawQuery.isEmpty())
+        {
+            return parameters;
+        }
+
+        for (var pair : rawQuery.split("&"))
+        {
+            var separator = pair.indexOf('=');
+            var name = separator < 0 ? pair : pair.substring(0, separator);
+            var value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static String routeJson(String sourceKey, String targetKey, double cost, List<DspVertex> path)
+    {
+        var json = new StringBuilder();
+        json.append("{\"source\":").append(Json.quote(sourceKey));
+        json.append(",\"target\":").append(Json.quote(targetKey));
+        json.append(",\"cost\":").append(cost == Double.MAX_VALUE ? "null" : Double.toString(cost));
+        json.append(",\"path\":[");
+        for (int i = 0; i < path.size(); ++i)
+        {
+            json.append(i == 0 ? "" : ",").append(Json.quote(path.get(i).key()));
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * @param port                 Port to bind, 0 for any free port
+     * @param maxConcurrentQueries Number of queries computed at the same time, typically the number of cores
+     * @param maxQueuedQueries     Number of admitted queries waiting for a free computation slot
+     * @param queueTimeout         How long an admitted query waits for a slot before it is rejected
+     * @param backlog              Number of pending TCP connections, 0 for the system default
+     */
+    public record Options(InetAddress host, int port, int maxConcurrentQueries, int maxQueuedQueries, Duration queueTimeout, int backlog)
+    {
+        public Options
+        {
+            Objects.requireNonNull(host);
+            Objects.requireNonNull(queueTimeout);
+            if (maxConcurrentQueries < 1 || maxQueuedQueries < 0)
+            {
+                throw new IllegalArgumentException("At least one concurrent query is required and the queue must not be negative");
+            }
+        }
+
+        /**
+         * @return Options binding to the loopback interface with one computation slot per core
+         */
+        public static Options defaults(int port)
+        {
+            var cores = Runtime.getRuntime().availableProcessors();
+            return new Options(InetAddress.getLoopbackAddress(), port, cores, 64 * cores, Duration.ofSeconds(1), 0);
+        }
+    }
+
+    private record Response(int status, String json)
+    {
+        private static Response error(int status, String message)
+        {
+            return new Response(status, "{\"error\":" + Json.quote(message) + "}");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Endpoint
+    {
+        Response respond(Map<String, String> parameters) throws InterruptedException;
+    }
+}
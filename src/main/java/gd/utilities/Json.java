@@ -0,0 +1,40 @@
+package gd.utilities;
+
+/**
+ * Minimal JSON writing helpers for the headless entry points, which avoid a JSON library dependency.
+ */
+public final class Json
+{
+    private Json() {}
+
+    /**
+     * @return The value as a JSON string literal, including the quotes
+     */
+    public static String quote(String value)
+    {
+        var quoted = new StringBuilder("\"");
+        for (var character : value.toCharArray())
+        {
+            switch (character)
+            {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default ->
+                {
+                    if (character < 0x20)
+                    {
+                        quoted.append(String.format("\\u%04x", (int) character));
+                    }
+                    else
+                    {
+                        quoted.append(character);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
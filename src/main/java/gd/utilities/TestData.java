@@ -59,6 +59,82 @@ public final class TestData
         return graph;
     }
 
+    public static Graph<DspVertex, DspEdge> generateGridGraph(int n, long seed)
+    {
+        final var graph = new Graph<DspVertex, DspEdge>();
+        final var rand = new Random(seed);
+
+        var step = n > 1 ? 2.0 / (n - 1) : 0.0;
+
+        DspVertex[][] matrix = new DspVertex[n][n];
+
+        for (int i = 0; i < n; ++i)
+        {
+            for (int j = 0; j < n; ++j)
+            {
+                matrix[i][j] = new DspVertex(
+                        i + "_" + j,
+                        new Vector2D(-1.0 + j * step, 1.0 - i * step),
+                        i + "," + j
+                );
+
+                graph.addVertex(matrix[i][j]);
+
+                if (i - 1 >= 0)
+                {
+                    graph.addEdge(matrix[i-1][j], matrix[i][j], new DspEdge((double) rand.nextInt(10) + 1));
+                    graph.addEdge(matrix[i][j], matrix[i-1][j], new DspEdge((double) rand.nextInt(10) + 1));
+                }
+
+                if (j - 1 >= 0)
+                {
+                    graph.addEdge(matrix[i][j-1], matrix[i][j], new DspEdge((double) rand.nextInt(10) + 1));
+                    graph.addEdge(matrix[i][j], matrix[i][j-1], new DspEdge((double) rand.nextInt(10) + 1));
+                }
+            }
+        }
+
+        return graph;
+    }
+
+    public static Graph<DspVertex, DspEdge> generateRandomGraph(int vertexCount, int edgeCount, long seed)
+    {
+        if (vertexCount < 2 && edgeCount > 0 || (long) edgeCount > (long) vertexCount * (vertexCount - 1))
+        {
+            throw new IllegalArgumentException("Cannot fit " + edgeCount + " edges between " + vertexCount + " vertices");
+        }
+
+        final var graph = new Graph<DspVertex, DspEdge>();
+        final var rand = new Random(seed);
+
+        var vertices = new DspVertex[vertexCount];
+        for (int i = 0; i < vertexCount; ++i)
+        {
+            vertices[i] = new DspVertex(
+                    "v" + i,
+                    new Vector2D(rand.nextDouble() * 2.0 - 1.0, rand.nextDouble() * 2.0 - 1.0),
+                    String.valueOf(i)
+            );
+            graph.addVertex(vertices[i]);
+        }
+
+        var edgesAdded = 0;
+        while (edgesAdded < edgeCount)
+        {
+            var source = vertices[rand.nextInt(vertexCount)];
+            var target = vertices[rand.nextInt(vertexCount)];
+
+            if (!source.equals(target) && !graph.hasEdge(source, target))
+            {
+                var edgeWeight = (double) rand.nextInt(10) + 1;
+                graph.addEdge(source, target, new DspEdge(edgeWeight));
+                edgesAdded++;
+            }
+        }
+
+        return graph;
+    }
+
     public static Graph<DspVertex, DspEdge> generateTestGraph()
     {
         var graph = new Graph<DspVertex, DspEdge>();
@@ -0,0 +1,139 @@
+package gd.cli;
+
+import gd.geometry.*;
+import gd.graph.*;
+import gd.graphalgorithms.*;
+import gd.utilities.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchQueryRunnerTest
+{
+    private Graph<DspVertex, DspEdge> graph;
+    private CsrGraph<DspVertex> csrGraph;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp()
+    {
+        graph = TestData.generateGridGraph(5, 3);
+        csrGraph = CsrGraph.of(graph, DspEdge::weight);
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        pool.shutdown();
+    }
+
+    @Test
+    public void runCsv_ExpectsSameCostsAsDijkstraShortestPathsInInputOrder() throws IOException
+    {
+        var vertices = graph.getVertices().toArray(DspVertex[]::new);
+        var queries = new StringBuilder("# source,target\n\n");
+        for (var vertex : vertices)
+        {
+            queries.append(vertices[0].key()).append(',').append(vertex.key()).append('\n');
+        }
+
+        for (var engine : BatchQueryRunner.Engine.values())
+        {
+            var lines = run(engine, BatchQueryRunner.Format.CSV, false, queries.toString());
+
+            var dsp = new DijkstraShortestPaths<>(graph, vertices[0], DspEdge::weight);
+            while (!dsp.isCompleted())
+            {
+                dsp.step();
+            }
+            assertEquals("source,target,cost,error", lines[0]);
+            assertEquals(vertices.length + 1, lines.length);
+            for (int i = 0; i < vertices.length; ++i)
+            {
+                var expected = vertices[0].key() + "," + vertices[i].key() + "," + dsp.getShortestPathCostTo(vertices[i]) + ",";
+                assertEquals(expected, lines[i + 1], engine.name());
+            }
+        }
+    }
+
+    @Test
+    public void runJsonlWithPath_ExpectsPathFromSourceToTarget() throws IOException
+    {
+        var vertices = graph.getVertices().toArray(DspVertex[]::new);
+        var source = vertices[0];
+        var target = vertices[vertices.length - 1];
+
+        for (var engine : BatchQueryRunner.Engine.values())
+        {
+            var lines = run(engine, BatchQueryRunner.Format.JSONL, true, source.key() + " " + target.key() + "\n" + source.key() + " " + source.key());
+
+            assertEquals(2, lines.length, engine.name());
+            assertTrue(lines[0].startsWith("{\"source\":" + Json.quote(source.key()) + ",\"target\":" + Json.quote(target.key())), lines[0]);
+            assertTrue(lines[0].contains("\"path\":[" + Json.quote(source.key())), lines[0]);
+            assertTrue(lines[0].endsWith(Json.quote(target.key()) + "]}"), lines[0]);
+            assertTrue(lines[1].endsWith("\"cost\":0.0,\"path\":[" + Json.quote(source.key()) + "]}"), lines[1]);
+        }
+    }
+
+    @Test
+    public void runUnreachableTarget_ExpectsEmptyCost() throws IOException
+    {
+        var unreachable = new DspVertex("unreachable", new Vector2D(2.0, 2.0), "U");
+        graph.addVertex(unreachable);
+        csrGraph = CsrGraph.of(graph, DspEdge::weight);
+        var source = graph.getVertices().iterator().next();
+
+        var csvLines = run(BatchQueryRunner.Engine.DIJKSTRA, BatchQueryRunner.Format.CSV, false, source.key() + ",unreachable");
+        var jsonLines = run(BatchQueryRunner.Engine.CONTRACTION_HIERARCHY, BatchQueryRunner.Format.JSONL, false, source.key() + ",unreachable");
+
+        assertEquals(source.key() + ",unreachable,,", csvLines[1]);
+        assertTrue(jsonLines[0].contains("\"cost\":null"), jsonLines[0]);
+    }
+
+    @Test
+    public void runUnknownVertexAndMalformedLine_ExpectsErrorsWithoutAbortingBatch() throws IOException
+    {
+        var source = graph.getVertices().iterator().next();
+
+        var lines = run(BatchQueryRunner.Engine.DIJKSTRA, BatchQueryRunner.Format.CSV, false,
+                source.key() + ",missing\nonlyone\n" + source.key() + "," + source.key());
+
+        assertEquals(4, lines.length);
+        assertEquals(source.key() + ",missing,,Unknown vertex missing", lines[1]);
+        assertEquals("onlyone,,,Expected a source and a target", lines[2]);
+        assertEquals(source.key() + "," + source.key() + ",0.0,", lines[3]);
+    }
+
+    @Test
+    public void runMoreQueriesThanChunkSize_ExpectsAllAnswered() throws IOException
+    {
+        var vertices = graph.getVertices().toArray(DspVertex[]::new);
+        var queries = new StringBuilder();
+        var queryCount = BatchQueryRunner.CHUNK_SIZE * 2 + 7;
+        for (int i = 0; i < queryCount; ++i)
+        {
+            queries.append(vertices[i % vertices.length].key()).append(',').append(vertices[(i * 7) % vertices.length].key()).append('\n');
+        }
+
+        var output = new StringWriter();
+        var runner = new BatchQueryRunner(csrGraph, BatchQueryRunner.Engine.DIJKSTRA, BatchQueryRunner.Format.JSONL, false, pool);
+        var answered = runner.run(new BufferedReader(new StringReader(queries.toString())), output);
+
+        var lines = output.toString().split("\n");
+        assertEquals(queryCount, answered);
+        assertEquals(queryCount, lines.length);
+        var last = queryCount - 1;
+        assertTrue(lines[last].startsWith("{\"source\":" + Json.quote(vertices[last % vertices.length].key())), lines[last]);
+    }
+
+    private String[] run(BatchQueryRunner.Engine engine, BatchQueryRunner.Format format, boolean includePath, String queries) throws IOException
+    {
+        var output = new StringWriter();
+        new BatchQueryRunner(csrGraph, engine, format, includePath, pool).run(new BufferedReader(new StringReader(queries)), output);
+        return output.toString().split("\n");
+    }
+}
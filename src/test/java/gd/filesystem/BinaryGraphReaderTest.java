@@ -0,0 +1,109 @@
+package gd.filesystem;
+
+import gd.graph.*;
+import gd.graphalgorithms.*;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryGraphReaderTest
+{
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void writeAndOpenGraph_ExpectsSameVerticesAndEdges() throws IOException, GraphReaderException
+    {
+        var graph = TestData.generateRandomGraph(200, 800, 3);
+        var path = tempDir.resolve("graph.dspg").toString();
+
+        BinaryGraphWriter.writeGraph(graph, path);
+        var mappedGraph = BinaryGraphReader.openGraph(path);
+
+        assertEquals(200, mappedGraph.getVertexCount());
+        assertEquals(800, mappedGraph.getEdgeCount());
+
+        for (var vertex : graph.getVertices())
+        {
+            var id = mappedGraph.getId(vertex);
+            var mappedVertex = mappedGraph.getVertex(id);
+            assertEquals(vertex, mappedVertex);
+            assertEquals(vertex.position(), mappedVertex.position());
+            assertEquals(vertex.label(), mappedVertex.label());
+
+            var neighbours = new HashSet<DspVertex>();
+            for (int edge = mappedGraph.getFirstEdge(id); edge < mappedGraph.getEndEdge(id); ++edge)
+            {
+                var neighbour = mappedGraph.getVertex(mappedGraph.getTarget(edge));
+                neighbours.add(neighbour);
+                assertEquals(graph.getEdge(vertex, neighbour).weight(), mappedGraph.getWeight(edge));
+            }
+            assertEquals(graph.getNeighbours(vertex), neighbours);
+        }
+    }
+
+    @Test
+    public void convertMappedGraphToGraph_ExpectsSameShortestPathCosts() throws IOException, GraphReaderException
+    {
+        var graph = TestData.generateRandomGraph(100, 400, 5);
+        var path = tempDir.resolve("graph.dspg").toString();
+        BinaryGraphWriter.writeGraph(graph, path);
+
+        var mappedGraph = BinaryGraphReader.openGraph(path);
+        var source = graph.getVertices().iterator().next();
+
+        var reference = new DijkstraShortestPaths<>(mappedGraph.toGraph(), source, DspEdge::weight);
+        var mappedSearch = new CsrDijkstraShortestPaths<>(mappedGraph, source);
+        while (!reference.isCompleted())
+        {
+            reference.step();
+        }
+        while (!mappedSearch.isCompleted())
+        {
+            mappedSearch.step();
+        }
+
+        for (var vertex : graph.getVertices())
+        {
+            assertEquals(reference.getShortestPathCostTo(vertex), mappedSearch.getShortestPathCostTo(vertex));
+        }
+    }
+
+    @Test
+    public void openEmptyGraph_ExpectsNoVertices() throws IOException, GraphReaderException
+    {
+        var path = tempDir.resolve("empty.dspg").toString();
+        BinaryGraphWriter.writeGraph(new Graph<>(), path);
+
+        var mappedGraph = BinaryGraphReader.openGraph(path);
+        assertEquals(0, mappedGraph.getVertexCount());
+        assertEquals(0, mappedGraph.getEdgeCount());
+    }
+
+    @Test
+    public void openFileWithoutMagic_ExpectsThrowsException() throws IOException
+    {
+        var path = tempDir.resolve("graph.dspg");
+        Files.write(path, new byte[64]);
+
+        assertThrows(GraphReaderException.class, () -> BinaryGraphReader.openGraph(path.toString()));
+    }
+
+    @Test
+    public void openTruncatedFile_ExpectsThrowsException() throws IOException
+    {
+        var path = tempDir.resolve("graph.dspg");
+        BinaryGraphWriter.writeGraph(TestData.generateRandomGraph(10, 20, 1), path.toString());
+
+        var bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+
+        assertThrows(GraphReaderException.class, () -> BinaryGraphReader.openGraph(path.toString()));
+    }
+}
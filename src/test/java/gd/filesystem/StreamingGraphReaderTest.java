@@ -0,0 +1,217 @@
+package gd.filesystem;
+
+import gd.graph.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingGraphReaderTest
+{
+    private static final String KEYS = """
+            <key id="d0" for="node" attr.name="x" attr.type="double"/>
+            <key id="d1" for="node" attr.name="y" attr.type="double"/>
+            <key id="d2" for="node" attr.name="label" attr.type="string"/>
+            <key id="d4" for="edge" attr.name="weight" attr.type="double">
+                <default>2.5</default>
+            </key>
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void readExampleFile_ExpectsSameGraphAsDomReader() throws GraphReaderException
+    {
+        var path = "graphml-examples/square.xml";
+        var expected = GraphReader.readGraphMl(path);
+        var actual = StreamingGraphReader.readGraphMl(path);
+
+        assertEquals(expected.getVertices().size(), actual.getVertices().size());
+        for (var vertex : expected.getVertices())
+        {
+            assertTrue(actual.hasVertex(vertex));
+            var actualVertex = actual.getVertices().stream().filter(vertex::equals).findFirst().orElseThrow();
+            assertEquals(vertex.position(), actualVertex.position());
+            assertEquals(vertex.label(), actualVertex.label());
+
+            assertEquals(expected.getNeighbours(vertex), actual.getNeighbours(vertex));
+            for (var neighbour : expected.getNeighbours(vertex))
+            {
+                assertEquals(expected.getEdge(vertex, neighbour), actual.getEdge(vertex, neighbour));
+            }
+        }
+    }
+
+    @Test
+    public void readEdgeBeforeNodes_ExpectsEdgeAdded() throws Exception
+    {
+        var graph = StreamingGraphReader.readGraphMl(writeGraphMl("""
+                <graph id="G" edgedefault="directed">
+                    <edge source="n0" target="n1"><data key="d4">1.0</data></edge>
+                    <node id="n0"><data key="d0">0.0</data><data key="d1">0.0</data><data key="d2">A</data></node>
+                    <node id="n1"><data key="d0">1.0</data><data key="d1">0.0</data><data key="d2">B</data></node>
+                </graph>
+                """));
+
+        var n0 = findVertex(graph, "n0");
+        var n1 = findVertex(graph, "n1");
+        assertTrue(graph.hasEdge(n0, n1));
+        assertEquals(1.0, graph.getEdge(n0, n1).weight());
+    }
+
+    @Test
+    public void readEdgeWithoutWeight_ExpectsDefaultWeight() throws Exception
+    {
+        var graph = StreamingGraphReader.readGraphMl(writeGraphMl("""
+                <graph id="G" edgedefault="directed">
+                    <node id="n0"><data key="d0">0.0</data><data key="d1">0.0</data><data key="d2">A</data></node>
+                    <node id="n1"><data key="d0">1.0</data><data key="d1">0.0</data><data key="d2">B</data></node>
+                    <edge source="n0" target="n1"></edge>
+                </graph>
+                """));
+
+        assertEquals(2.5, graph.getEdge(findVertex(graph, "n0"), findVertex(graph, "n1")).weight());
+    }
+
+    @Test
+    public void readEdgeToUndefinedNode_ExpectsThrowsException() throws IOException
+    {
+        var path = writeGraphMl("""
+                <graph id="G" edgedefault="directed">
+                    <node id="n0"><data key="d0">0.0</data><data key="d1">0.0</data><data key="d2">A</data></node>
+                    <edge source="n0" target="n1"><data key="d4">1.0</data></edge>
+                </graph>
+                """);
+
+        assertThrows(GraphReaderException.class, () -> StreamingGraphReader.readGraphMl(path));
+    }
+
+    @Test
+    public void readUndirectedGraph_ExpectsThrowsException() throws IOException
+    {
+        var path = writeGraphMl("""
+                <graph id="G" edgedefault="undirected"></graph>
+                """);
+
+        assertThrows(GraphReaderException.class, () -> StreamingGraphReader.readGraphMl(path));
+    }
+
+    @Test
+    public void readUndirectedEdge_ExpectsThrowsException() throws IOException
+    {
+        var path = writeGraphMl("""
+                <graph id="G" edgedefault="directed">
+                    <node id="n0"><data key="d0">0.0</data><data key="d1">0.0</data><data key="d2">A</data></node>
+                    <node id="n1"><data key="d0">1.0</data><data key="d1">0.0</data><data key="d2">B</data></node>
+                    <edge source="n0" target="n1" directed="false"><data key="d4">1.0</data></edge>
+                </graph>
+                """);
+
+        assertThrows(GraphReaderException.class, () -> StreamingGraphReader.readGraphMl(path));
+    }
+
+    @Test
+    public void readSelfReferencingEdge_ExpectsThrowsException() throws IOException
+    {
+        var path = writeGraphMl("""
+                <graph id="G" edgedefault="directed">
+                    <node id="n0"><data key="d0">0.0</data><data key="d1">0.0</data><data key="d2">A</data></node>
+                    <edge source="n0" target="n0"><data key="d4">1.0</data></edge>
+                </graph>
+                """);
+
+        assertThrows(GraphReaderException.class, () -> StreamingGraphReader.readGraphMl(path));
+    }
+
+    @Test
+    public void readNodeWithoutLabel_ExpectsThrowsException() throws IOException
+    {
+        var path = writeGraphMl("""
+                <graph id="G" edgedefault="directed">
+                    <node id="n0"><data key="d0">0.0</data><data key="d1">0.0</data></node>
+                </graph>
+                """);
+
+        assertThrows(GraphReaderException.class, () -> StreamingGraphReader.readGraphMl(path));
+    }
+
+    @Test
+    public void readMissingAttributeDefinition_ExpectsThrowsException() throws IOException
+    {
+        var path = tempDir.resolve("graph.xml");
+        Files.writeString(path, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <graphml xmlns="http://graphml.graphdrawing.org/xmlns">
+                    <key id="d0" for="node" attr.name="x" attr.type="double"/>
+                    <graph id="G" edgedefault="directed"></graph>
+                </graphml>
+                """);
+
+        assertThrows(GraphReaderException.class, () -> StreamingGraphReader.readGraphMl(path.toString()));
+    }
+
+    @Test
+    public void readChildlessNodeAndEdge_ExpectsAddedWithDefaults() throws Exception
+    {
+        var graph = StreamingGraphReader.readGraphMl(writeGraphMlWithNodeDefaults());
+
+        var n0 = findVertex(graph, "n0");
+        var n1 = findVertex(graph, "n1");
+        assertEquals("Default", n1.label());
+        assertEquals(0.5, n1.position().getX());
+        assertTrue(graph.hasEdge(n0, n1));
+        assertEquals(2.5, graph.getEdge(n0, n1).weight());
+    }
+
+    @Test
+    public void readChildlessNodeAndEdgeWithDomReader_ExpectsSkipped() throws Exception
+    {
+        var graph = GraphReader.readGraphMl(writeGraphMlWithNodeDefaults());
+
+        assertEquals(1, graph.getVertices().size());
+        var n0 = findVertex(graph, "n0");
+        assertTrue(graph.getNeighbours(n0).isEmpty());
+    }
+
+    /**
+     * Writes a graph with a complete node n0, a self-closing node n1 and a self-closing edge from n0 to n1.
+     */
+    private String writeGraphMlWithNodeDefaults() throws IOException
+    {
+        var path = tempDir.resolve("graph.xml");
+        Files.writeString(path, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <graphml xmlns="http://graphml.graphdrawing.org/xmlns">
+                    <key id="d0" for="node" attr.name="x" attr.type="double"><default>0.5</default></key>
+                    <key id="d1" for="node" attr.name="y" attr.type="double"><default>0.5</default></key>
+                    <key id="d2" for="node" attr.name="label" attr.type="string"><default>Default</default></key>
+                    <key id="d4" for="edge" attr.name="weight" attr.type="double"><default>2.5</default></key>
+                    <graph id="G" edgedefault="directed">
+                        <node id="n0"><data key="d2">A</data></node>
+                        <node id="n1"/>
+                        <edge source="n0" target="n1"/>
+                    </graph>
+                </graphml>
+                """);
+        return path.toString();
+    }
+
+    private String writeGraphMl(String graphElement) throws IOException
+    {
+        var path = tempDir.resolve("graph.xml");
+        Files.writeString(path, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <graphml xmlns="http://graphml.graphdrawing.org/xmlns">
+                """ + KEYS + graphElement + "</graphml>\n");
+        return path.toString();
+    }
+
+    private static DspVertex findVertex(Graph<DspVertex, DspEdge> graph, String key)
+    {
+        return graph.getVertices().stream().filter(v -> v.key().equals(key)).findFirst().orElseThrow();
+    }
+}
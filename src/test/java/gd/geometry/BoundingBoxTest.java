@@ -3,7 +3,9 @@ package gd.geometry;
 import org.junit.jupiter.api.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BoundingBoxTest
 {
@@ -44,4 +46,39 @@ public class BoundingBoxTest
 
         assertEquals(boundingBox.hashCode(), equalBoundingBox.hashCode());
     }
+
+    @Test
+    public void ofPoints_ExpectsSmallestEnclosingBox()
+    {
+        var boundingBox = BoundingBox.of(
+                new Vector2D(1.0, -2.0),
+                new Vector2D(-1.0, 3.0),
+                new Vector2D(0.5, 0.5)
+        );
+
+        assertEquals(new BoundingBox(new Vector2D(-1.0, -2.0), new Vector2D(1.0, 3.0)), boundingBox);
+        assertEquals(2.0, boundingBox.getWidth());
+        assertEquals(5.0, boundingBox.getHeight());
+    }
+
+    @Test
+    public void intersects_ExpectsTrueForOverlappingAndTouchingBoxes()
+    {
+        var boundingBox = new BoundingBox(new Vector2D(0.0, 0.0), new Vector2D(1.0, 1.0));
+
+        assertTrue(boundingBox.intersects(new BoundingBox(new Vector2D(0.5, 0.5), new Vector2D(2.0, 2.0))));
+        assertTrue(boundingBox.intersects(new BoundingBox(new Vector2D(1.0, 0.0), new Vector2D(2.0, 1.0))));
+        assertFalse(boundingBox.intersects(new BoundingBox(new Vector2D(1.5, 0.0), new Vector2D(2.0, 1.0))));
+        assertFalse(boundingBox.intersects(new BoundingBox(new Vector2D(0.0, -2.0), new Vector2D(1.0, -0.5))));
+    }
+
+    @Test
+    public void unionAndExpand_ExpectsEnclosingBoxes()
+    {
+        var boundingBox = new BoundingBox(new Vector2D(0.0, 0.0), new Vector2D(1.0, 1.0));
+        var otherBoundingBox = new BoundingBox(new Vector2D(2.0, -1.0), new Vector2D(3.0, 0.5));
+
+        assertEquals(new BoundingBox(new Vector2D(0.0, -1.0), new Vector2D(3.0, 1.0)), boundingBox.union(otherBoundingBox));
+        assertEquals(new BoundingBox(new Vector2D(-0.5, -0.5), new Vector2D(1.5, 1.5)), boundingBox.expand(0.5));
+    }
 }
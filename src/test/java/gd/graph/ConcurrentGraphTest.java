@@ -0,0 +1,182 @@
+package gd.graph;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentGraphTest
+{
+    private static final int THREAD_COUNT = 8;
+
+    private ConcurrentGraph<Integer, Integer> graph;
+
+    @BeforeEach
+    void setUp()
+    {
+        graph = new ConcurrentGraph<>(THREAD_COUNT);
+    }
+
+    @Test
+    void addAndRemoveEdges_ExpectsSameSemanticsAsGraph()
+    {
+        graph.addVertex(1);
+        graph.addVertex(2);
+        graph.addEdge(1, 2, 10);
+        graph.replaceEdge(1, 2, 20);
+
+        assertEquals(20, graph.getEdge(1, 2));
+        assertEquals(Set.of(2), graph.getNeighbours(1));
+        assertThrows(IllegalArgumentException.class, () -> graph.addVertex(1));
+        assertThrows(IllegalArgumentException.class, () -> graph.addEdge(1, 2, 30));
+        assertThrows(IllegalArgumentException.class, () -> graph.addEdge(1, 3, 30));
+
+        graph.removeEdge(1, 2);
+        assertFalse(graph.hasEdge(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> graph.removeEdge(1, 2));
+    }
+
+    @Test
+    void removeVertex_ExpectsIncomingAndOutgoingEdgesRemoved()
+    {
+        graph.addVertex(1);
+        graph.addVertex(2);
+        graph.addVertex(3);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 2);
+        graph.addEdge(3, 2, 3);
+
+        graph.removeVertex(2);
+
+        assertFalse(graph.hasVertex(2));
+        assertTrue(graph.getNeighbours(1).isEmpty());
+        assertTrue(graph.getNeighbours(3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> graph.removeVertex(2));
+    }
+
+    @Test
+    void toGraph_ExpectsSameVerticesAndEdges()
+    {
+        graph.addVertex(1);
+        graph.addVertex(2);
+        graph.addEdge(1, 2, 5);
+
+        var copy = graph.toGraph();
+
+        assertEquals(Set.of(1, 2), Set.copyOf(copy.getVertices()));
+        assertEquals(5, copy.getEdge(1, 2));
+        assertFalse(copy.hasEdge(2, 1));
+    }
+
+    @Test
+    void addEdgesFromManyThreads_ExpectsNoEdgeLost() throws Exception
+    {
+        var verticesPerThread = 200;
+        for (int vertex = 0; vertex < THREAD_COUNT * verticesPerThread; ++vertex)
+        {
+            graph.addVertex(vertex);
+        }
+
+        //Each thread owns its source vertices, but the targets are shared between all threads
+        runConcurrently(thread ->
+        {
+            var random = new Random(thread);
+            for (int source = thread * verticesPerThread; source < (thread + 1) * verticesPerThread; ++source)
+            {
+                for (int i = 0; i < 10; ++i)
+                {
+                    var target = random.nextInt(THREAD_COUNT * verticesPerThread);
+                    if (!graph.hasEdge(source, target))
+                    {
+                        graph.addEdge(source, target, source);
+                    }
+                }
+            }
+        });
+
+        var edgeCount = graph.getVertices().stream().mapToInt(vertex -> graph.getNeighbours(vertex).size()).sum();
+        var copy = graph.toGraph();
+        var copiedEdgeCount = copy.getVertices().stream().mapToInt(vertex -> copy.getNeighbours(vertex).size()).sum();
+        assertEquals(edgeCount, copiedEdgeCount);
+        assertTrue(edgeCount > THREAD_COUNT * verticesPerThread * 9);
+    }
+
+    @Test
+    void modifyFromManyThreadsWhileRemovingVertices_ExpectsNoEdgeToRemovedVertex() throws Exception
+    {
+        var vertexCount = 500;
+        for (int vertex = 0; vertex < vertexCount; ++vertex)
+        {
+            graph.addVertex(vertex);
+        }
+
+        runConcurrently(thread ->
+        {
+            var random = new Random(thread);
+            for (int i = 0; i < 20_000; ++i)
+            {
+                var source = random.nextInt(vertexCount);
+                var target = random.nextInt(vertexCount);
+                try
+                {
+                    switch (random.nextInt(10))
+                    {
+                        case 0 -> graph.removeVertex(source);
+                        case 1 -> graph.addVertex(source);
+                        case 2, 3 -> graph.removeEdge(source, target);
+                        default -> graph.addEdge(source, target, i);
+                    }
+                }
+                catch (IllegalArgumentException e)
+                {
+                    //Conflicting operations of other threads, e.g. a vertex removed meanwhile
+                }
+            }
+        });
+
+        for (var vertex : graph.getVertices())
+        {
+            for (var neighbour : graph.getNeighbours(vertex))
+            {
+                assertTrue(graph.hasVertex(neighbour), vertex + " has an edge to removed vertex " + neighbour);
+            }
+        }
+    }
+
+    private static void runConcurrently(ThreadBody body) throws Exception
+    {
+        var executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try
+        {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < THREAD_COUNT; ++thread)
+            {
+                var threadIndex = thread;
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    body.run(threadIndex);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (var future : futures)
+            {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadBody
+    {
+        void run(int thread);
+    }
+}
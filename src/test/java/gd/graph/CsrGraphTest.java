@@ -0,0 +1,91 @@
+package gd.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsrGraphTest {
+
+    private Graph<String, Integer> graph;
+
+    @BeforeEach
+    void initGraph()
+    {
+        graph = new Graph<>();
+        graph.addVertex("v1");
+        graph.addVertex("v2");
+        graph.addVertex("v3");
+        graph.addVertex("v4");
+
+        graph.addEdge("v1", "v2", 1);
+        graph.addEdge("v1", "v3", 2);
+        graph.addEdge("v2", "v3", 3);
+        graph.addEdge("v3", "v1", 4);
+    }
+
+    @Test
+    void createSnapshot_ExpectsVertexAndEdgeCounts()
+    {
+        var csrGraph = CsrGraph.of(graph, Integer::doubleValue);
+
+        assertEquals(4, csrGraph.getVertexCount());
+        assertEquals(4, csrGraph.getEdgeCount());
+    }
+
+    @Test
+    void createSnapshot_ExpectsIdsMapBackToVertices()
+    {
+        var csrGraph = CsrGraph.of(graph, Integer::doubleValue);
+
+        for (var vertex : graph.getVertices())
+        {
+            assertTrue(csrGraph.hasVertex(vertex));
+            assertEquals(vertex, csrGraph.getVertex(csrGraph.getId(vertex)));
+        }
+    }
+
+    @Test
+    void createSnapshot_ExpectsSameNeighboursAndWeights()
+    {
+        var csrGraph = CsrGraph.of(graph, Integer::doubleValue);
+
+        for (var vertex : graph.getVertices())
+        {
+            var id = csrGraph.getId(vertex);
+            var neighbours = new HashSet<String>();
+
+            assertEquals(graph.getNeighbours(vertex).size(), csrGraph.getOutDegree(id));
+            for (int edge = csrGraph.getFirstEdge(id); edge < csrGraph.getEndEdge(id); ++edge)
+            {
+                var neighbour = csrGraph.getVertex(csrGraph.getTarget(edge));
+                neighbours.add(neighbour);
+                assertEquals(graph.getEdge(vertex, neighbour).doubleValue(), csrGraph.getWeight(edge));
+            }
+
+            assertEquals(graph.getNeighbours(vertex), neighbours);
+        }
+    }
+
+    @Test
+    void modifyGraphAfterSnapshot_ExpectsSnapshotUnchanged()
+    {
+        var csrGraph = CsrGraph.of(graph, Integer::doubleValue);
+
+        graph.addEdge("v4", "v1", 5);
+        graph.removeVertex("v2");
+
+        assertEquals(4, csrGraph.getVertexCount());
+        assertEquals(4, csrGraph.getEdgeCount());
+        assertEquals(0, csrGraph.getOutDegree(csrGraph.getId("v4")));
+    }
+
+    @Test
+    void getIdOfUnknownVertex_ExpectsThrowsException()
+    {
+        var csrGraph = CsrGraph.of(graph, Integer::doubleValue);
+        assertThrows(IllegalArgumentException.class, () -> csrGraph.getId("v5"));
+    }
+}
@@ -3,6 +3,9 @@ package gd.graph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class GraphTest {
@@ -138,4 +141,210 @@ public class GraphTest {
         graph.addVertex("v2");
         assertThrows(IllegalArgumentException.class, () -> graph.getEdge("v1", "v2"));
     }
+
+    @Test
+    void modifyGraph_ExpectsVersionChanged()
+    {
+        var initialVersion = graph.getVersion();
+        graph.addVertex("v1");
+        graph.addVertex("v2");
+        var vertexVersion = graph.getVersion();
+        graph.addEdge("v1", "v2", 1);
+        var edgeVersion = graph.getVersion();
+        graph.removeEdge("v1", "v2");
+        var removedEdgeVersion = graph.getVersion();
+        graph.removeVertex("v2");
+
+        assertNotEquals(initialVersion, vertexVersion);
+        assertNotEquals(vertexVersion, edgeVersion);
+        assertNotEquals(edgeVersion, removedEdgeVersion);
+        assertNotEquals(removedEdgeVersion, graph.getVersion());
+    }
+
+    @Test
+    void queryGraph_ExpectsVersionUnchanged()
+    {
+        graph.addVertex("v1");
+        var version = graph.getVersion();
+
+        graph.hasVertex("v1");
+        graph.getNeighbours("v1");
+
+        assertEquals(version, graph.getVersion());
+    }
+
+    @Test
+    void modifyGraph_ExpectsListenerNotified()
+    {
+        var events = new ArrayList<String>();
+        graph.addListener(new GraphListener<>()
+        {
+            @Override
+            public void vertexAdded(String vertex) { events.add("+" + vertex); }
+
+            @Override
+            public void vertexRemoved(String vertex) { events.add("-" + vertex); }
+
+            @Override
+            public void edgeAdded(String sourceVertex, String targetVertex, Integer edge) { events.add("+" + sourceVertex + targetVertex); }
+
+            @Override
+            public void edgeRemoved(String sourceVertex, String targetVertex, Integer edge) { events.add("-" + sourceVertex + targetVertex); }
+
+            @Override
+            public void edgeReplaced(String sourceVertex, String targetVertex, Integer oldEdge, Integer newEdge)
+            {
+                events.add(sourceVertex + targetVertex + ":" + oldEdge + ">" + newEdge);
+            }
+        });
+
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addEdge("a", "b", 1);
+        graph.replaceEdge("a", "b", 2);
+        graph.addEdge("b", "a", 3);
+        graph.removeVertex("b");
+
+        assertEquals(List.of("+a", "+b", "+ab", "ab:1>2", "+ba", "-ba", "-ab", "-b"), events);
+        assertTrue(graph.getNeighbours("a").isEmpty());
+    }
+
+    @Test
+    void modifyGraphAfterSnapshot_ExpectsSnapshotUnchanged()
+    {
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addEdge("a", "b", 1);
+
+        var snapshot = graph.snapshot();
+        graph.replaceEdge("a", "b", 2);
+        graph.addEdge("b", "a", 3);
+        graph.addVertex("c");
+        graph.removeVertex("a");
+
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(Set.of("a", "b"), Set.copyOf(snapshot.getVertices()));
+        assertEquals(1, snapshot.getEdge("a", "b"));
+        assertFalse(snapshot.hasEdge("b", "a"));
+        assertEquals(Set.of("b", "c"), Set.copyOf(graph.getVertices()));
+        assertTrue(graph.getNeighbours("b").isEmpty());
+    }
+
+    @Test
+    void takeSnapshots_ExpectsVersionsIncreaseWithModifications()
+    {
+        graph.addVertex("a");
+        var first = graph.snapshot();
+        graph.addVertex("b");
+        var second = graph.snapshot();
+
+        assertSame(second, graph.snapshot());
+        assertSame(second, second.snapshot());
+        assertEquals(graph.getVersion(), second.getVersion());
+        assertTrue(first.getVersion() < second.getVersion());
+        assertFalse(first.hasVertex("b"));
+    }
+
+    @Test
+    void modifySnapshot_ExpectsUnsupportedOperationException()
+    {
+        graph.addVertex("a");
+        graph.addVertex("b");
+        var snapshot = graph.snapshot();
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.addVertex("c"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.addEdge("a", "b", 1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.removeVertex("a"));
+        assertFalse(graph.isSnapshot());
+    }
+
+    @Test
+    void readSnapshotWhileModifyingGraph_ExpectsConsistentSnapshot() throws Exception
+    {
+        for (int i = 0; i < 100; ++i)
+        {
+            graph.addVertex("v" + i);
+        }
+        var snapshot = graph.snapshot();
+
+        var reader = new Thread(() ->
+        {
+            for (int round = 0; round < 1000; ++round)
+            {
+                for (var vertex : snapshot.getVertices())
+                {
+                    assertTrue(snapshot.getNeighbours(vertex).isEmpty());
+                }
+            }
+        });
+        var failure = new AtomicReference<Throwable>();
+        reader.setUncaughtExceptionHandler((thread, exception) -> failure.set(exception));
+        reader.start();
+
+        for (int i = 0; i < 100; ++i)
+        {
+            graph.addEdge("v" + i, "v" + ((i + 1) % 100), i);
+            graph.addVertex("w" + i);
+        }
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(100, snapshot.getVertices().size());
+    }
+
+    @Test
+    void addEdges_ExpectsPredecessorsAndDegreesUpdated()
+    {
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addEdge("a", "c", 1);
+        graph.addEdge("b", "c", 2);
+        graph.addEdge("c", "a", 3);
+
+        assertEquals(Set.of("a", "b"), graph.getPredecessors("c"));
+        assertEquals(2, graph.getInDegree("c"));
+        assertEquals(1, graph.getOutDegree("c"));
+
+        graph.removeEdge("b", "c");
+        assertEquals(Set.of("a"), graph.getPredecessors("c"));
+
+        graph.removeVertex("a");
+        assertTrue(graph.getPredecessors("c").isEmpty());
+        assertEquals(0, graph.getOutDegree("c"));
+    }
+
+    @Test
+    void modifyGraphAfterSnapshot_ExpectsSnapshotPredecessorsUnchanged()
+    {
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addEdge("a", "b", 1);
+
+        var snapshot = graph.snapshot();
+        graph.removeEdge("a", "b");
+
+        assertEquals(Set.of("a"), snapshot.getPredecessors("b"));
+        assertTrue(graph.getPredecessors("b").isEmpty());
+    }
+
+    @Test
+    void forEachEdge_ExpectsEveryOutgoingAndIncomingEdgeVisited()
+    {
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addEdge("a", "b", 1);
+        graph.addEdge("a", "c", 2);
+        graph.addEdge("b", "c", 3);
+
+        var outgoing = new HashMap<String, Integer>();
+        graph.forEachEdge("a", outgoing::put);
+        var incoming = new HashMap<String, Integer>();
+        graph.forEachIncomingEdge("c", incoming::put);
+
+        assertEquals(Map.of("b", 1, "c", 2), outgoing);
+        assertEquals(Map.of("a", 2, "b", 3), incoming);
+        assertThrows(IllegalArgumentException.class, () -> graph.forEachEdge("d", outgoing::put));
+    }
 }
@@ -0,0 +1,92 @@
+package gd.graphalgorithms;
+
+import gd.geometry.Vector2D;
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AStarShortestPathsTest
+{
+    Graph<DspVertex, DspEdge> graph;
+    DspVertex a, b, c, d;
+
+    @BeforeEach
+    public void setupGraph()
+    {
+        graph = new Graph<>();
+        a = new DspVertex("a", new Vector2D(0.0, 0.0), "A");
+        b = new DspVertex("b", new Vector2D(1.0, 0.0), "B");
+        c = new DspVertex("c", new Vector2D(0.0, 1.0), "C");
+        d = new DspVertex("d", new Vector2D(1.0, 1.0), "D");
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addVertex(d);
+        graph.addEdge(a, b, new DspEdge(2.0));
+        graph.addEdge(a, c, new DspEdge(1.0));
+        graph.addEdge(b, d, new DspEdge(2.0));
+        graph.addEdge(c, d, new DspEdge(4.0));
+    }
+
+    @Test
+    public void calibrateHeuristic_ExpectsMinimumCostToLengthRatio()
+    {
+        var heuristic = EuclideanHeuristic.calibrate(graph, DspEdge::weight);
+
+        assertEquals(1.0, heuristic.getScale());
+        assertEquals(Math.sqrt(2.0), heuristic.estimate(a, d), 1e-12);
+    }
+
+    @Test
+    public void runShortestPath_ExpectsShortestPathFound()
+    {
+        var search = AStarShortestPaths.withEuclideanHeuristic(graph, a, d, DspEdge::weight);
+        search.run();
+
+        assertTrue(search.isCompleted());
+        assertEquals(List.of(a, b, d), search.getShortestPathTo(d));
+        assertEquals(4.0, search.getShortestPathCostTo(d));
+    }
+
+    @Test
+    public void queryStateBeforeFirstStep_ExpectsOnlySourceInFrontier()
+    {
+        var search = AStarShortestPaths.withEuclideanHeuristic(graph, a, d, DspEdge::weight);
+        var state = search.getState();
+
+        assertEquals(DijkstraShortestPaths.VertexState.FRONTIER, state.get(a));
+        assertEquals(DijkstraShortestPaths.VertexState.PENDING, state.get(b));
+        assertEquals(DijkstraShortestPaths.VertexState.PENDING, state.get(d));
+    }
+
+    @Test
+    public void runOnGridGraph_ExpectsSameCostsAsDijkstraWithFewerExpandedVertices()
+    {
+        var gridGraph = TestData.generateGridGraph(20, 3);
+        var vertices = new ArrayList<>(gridGraph.getVertices());
+        var heuristic = EuclideanHeuristic.calibrate(gridGraph, DspEdge::weight);
+        var source = vertices.get(0);
+
+        var reference = new DijkstraShortestPaths<>(gridGraph, source, DspEdge::weight);
+        while (!reference.isCompleted())
+        {
+            reference.step();
+        }
+
+        var totalExpanded = 0;
+        for (var target : vertices)
+        {
+            var search = new AStarShortestPaths<>(gridGraph, source, target, DspEdge::weight, heuristic);
+            search.run();
+
+            assertEquals(reference.getShortestPathCostTo(target), search.getShortestPathCostTo(target), 1e-9);
+            totalExpanded += search.getExpandedVertexCount();
+        }
+
+        assertTrue(totalExpanded < vertices.size() * vertices.size());
+    }
+}
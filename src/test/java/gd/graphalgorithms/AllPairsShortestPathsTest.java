@@ -0,0 +1,106 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AllPairsShortestPathsTest
+{
+    Graph<DspVertex, DspEdge> graph;
+    CsrGraph<DspVertex> csrGraph;
+
+    @BeforeEach
+    public void setupGraph()
+    {
+        graph = TestData.generateRandomGraph(150, 600, 31);
+        csrGraph = CsrGraph.of(graph, DspEdge::weight);
+    }
+
+    @Test
+    public void compute_ExpectsSameCostsAsDijkstraShortestPaths()
+    {
+        var matrix = new AllPairsShortestPaths<>(csrGraph).compute();
+
+        assertMatchesDijkstra(matrix);
+    }
+
+    @Test
+    public void computeIntoFile_ExpectsSameCostsAfterReopening(@TempDir Path directory) throws IOException
+    {
+        var file = directory.resolve("distances.dspm");
+        new AllPairsShortestPaths<>(csrGraph).compute(file);
+
+        var matrix = MappedDistanceMatrix.open(file);
+
+        assertEquals(csrGraph.getVertexCount(), matrix.getRowCount());
+        assertEquals(csrGraph.getVertexCount(), matrix.getColumnCount());
+        assertMatchesDijkstra(matrix);
+    }
+
+    @Test
+    public void compute_ExpectsProgressReportedForEverySource()
+    {
+        var reports = new AtomicInteger();
+        var maxCompleted = new AtomicInteger();
+        var allPairs = new AllPairsShortestPaths<>(csrGraph, ForkJoinPool.commonPool(), (completed, total) ->
+        {
+            reports.incrementAndGet();
+            maxCompleted.accumulateAndGet(completed, Math::max);
+            assertEquals(csrGraph.getVertexCount(), total);
+        });
+
+        allPairs.compute();
+
+        assertEquals(csrGraph.getVertexCount(), reports.get());
+        assertEquals(csrGraph.getVertexCount(), maxCompleted.get());
+    }
+
+    @Test
+    public void cancelDuringComputation_ExpectsCancellationException()
+    {
+        var pool = new ForkJoinPool(2);
+        var reports = new AtomicInteger();
+        var allPairs = new AtomicReference<AllPairsShortestPaths<DspVertex>>();
+        allPairs.set(new AllPairsShortestPaths<>(csrGraph, pool, (completed, total) ->
+        {
+            reports.incrementAndGet();
+            allPairs.get().cancel();
+        }));
+
+        try
+        {
+            assertThrows(CancellationException.class, () -> allPairs.get().compute());
+            assertTrue(allPairs.get().isCancelled());
+            assertTrue(reports.get() < csrGraph.getVertexCount());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    private void assertMatchesDijkstra(DistanceMatrix matrix)
+    {
+        for (int source = 0; source < csrGraph.getVertexCount(); source += 10)
+        {
+            var reference = new DijkstraShortestPaths<>(graph, csrGraph.getVertex(source), DspEdge::weight);
+            while (!reference.isCompleted())
+            {
+                reference.step();
+            }
+
+            for (int target = 0; target < csrGraph.getVertexCount(); ++target)
+            {
+                assertEquals(reference.getShortestPathCostTo(csrGraph.getVertex(target)), matrix.get(source, target));
+            }
+        }
+    }
+}
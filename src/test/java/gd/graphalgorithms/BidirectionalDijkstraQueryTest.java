@@ -0,0 +1,93 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BidirectionalDijkstraQueryTest
+{
+    BidirectionalDijkstraQuery<String> query;
+
+    @BeforeEach
+    public void setupGraph()
+    {
+        Graph<String, Integer> mutableGraph = new Graph<>();
+        mutableGraph.addVertex("A");
+        mutableGraph.addVertex("B");
+        mutableGraph.addVertex("C");
+        mutableGraph.addVertex("D");
+        mutableGraph.addVertex("E");
+        mutableGraph.addEdge("A", "B", 2);
+        mutableGraph.addEdge("A", "C", 2);
+        mutableGraph.addEdge("B", "D", 1);
+        mutableGraph.addEdge("C", "D", 2);
+
+        var graph = CsrGraph.of(mutableGraph, Integer::doubleValue);
+        query = new BidirectionalDijkstraQuery<>(graph, graph.reverse());
+    }
+
+    @Test
+    public void findShortestPath_ExpectsPathAndCostOfSameSearch()
+    {
+        var shortestPath = query.findShortestPath("A", "D");
+
+        assertEquals(List.of("A", "B", "D"), shortestPath.vertices());
+        assertEquals(3.0, shortestPath.cost());
+    }
+
+    @Test
+    public void findShortestPathToUnreachableVertex_ExpectsNoVerticesAndDefaultPathCost()
+    {
+        var shortestPath = query.findShortestPath("A", "E");
+
+        assertFalse(shortestPath.isReachable());
+        assertTrue(shortestPath.vertices().isEmpty());
+        assertEquals(Double.MAX_VALUE, query.getShortestPathCost("A", "E"));
+    }
+
+    @Test
+    public void findShortestPathToSource_ExpectsSourceOnlyAndZeroCost()
+    {
+        var shortestPath = query.findShortestPath("A", "A");
+
+        assertEquals(List.of("A"), shortestPath.vertices());
+        assertEquals(0.0, shortestPath.cost());
+    }
+
+    @Test
+    public void queryUnknownVertex_ExpectsDefaultPathCost()
+    {
+        assertEquals(Double.MAX_VALUE, query.getShortestPathCost("A", "X"));
+    }
+
+    @Test
+    public void reuseOnRandomGraph_ExpectsSameResultsAsBidirectionalDijkstraShortestPaths()
+    {
+        var randomGraph = TestData.generateRandomGraph(150, 500, 23);
+        var csrGraph = CsrGraph.of(randomGraph, DspEdge::weight);
+        var reverseCsrGraph = csrGraph.reverse();
+        var reusedQuery = new BidirectionalDijkstraQuery<>(csrGraph, reverseCsrGraph);
+
+        var vertices = new ArrayList<>(randomGraph.getVertices()).subList(0, 10);
+        for (var source : vertices)
+        {
+            for (var target : randomGraph.getVertices())
+            {
+                var reference = new BidirectionalDijkstraShortestPaths<>(csrGraph, reverseCsrGraph, source, target);
+                reference.run();
+
+                var shortestPath = reusedQuery.findShortestPath(source, target);
+                assertEquals(reference.getShortestPathCostTo(target), shortestPath.cost());
+                assertEquals(reference.getShortestPathCostTo(target), reusedQuery.getShortestPathCost(source, target));
+                if (shortestPath.isReachable() && !source.equals(target))
+                {
+                    assertEquals(reference.getShortestPathTo(target), shortestPath.vertices());
+                }
+            }
+        }
+    }
+}
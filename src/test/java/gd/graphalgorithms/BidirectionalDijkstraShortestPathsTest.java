@@ -0,0 +1,131 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BidirectionalDijkstraShortestPathsTest
+{
+    CsrGraph<String> graph;
+    CsrGraph<String> reverseGraph;
+
+    @BeforeEach
+    public void setupGraph()
+    {
+        Graph<String, Integer> mutableGraph = new Graph<>();
+        mutableGraph.addVertex("A");
+        mutableGraph.addVertex("B");
+        mutableGraph.addVertex("C");
+        mutableGraph.addVertex("D");
+        mutableGraph.addVertex("E");
+        mutableGraph.addEdge("A", "B", 2);
+        mutableGraph.addEdge("A", "C", 2);
+        mutableGraph.addEdge("B", "D", 1);
+        mutableGraph.addEdge("C", "D", 2);
+
+        graph = CsrGraph.of(mutableGraph, Integer::doubleValue);
+        reverseGraph = graph.reverse();
+    }
+
+    @Test
+    public void runShortestPath_ExpectsShortestPathFound()
+    {
+        var search = new BidirectionalDijkstraShortestPaths<>(graph, reverseGraph, "A", "D");
+        search.run();
+
+        assertEquals(List.of("A", "B", "D"), search.getShortestPathTo("D"));
+        assertEquals(3.0, search.getShortestPathCostTo("D"));
+    }
+
+    @Test
+    public void runShortestPathToUnreachableVertex_ExpectsEmptyListAndDefaultPathCost()
+    {
+        var search = new BidirectionalDijkstraShortestPaths<>(graph, reverseGraph, "A", "E");
+        search.run();
+
+        assertTrue(search.getShortestPathTo("E").isEmpty());
+        assertEquals(Double.MAX_VALUE, search.getShortestPathCostTo("E"));
+    }
+
+    @Test
+    public void runShortestPathToSource_ExpectsZeroCost()
+    {
+        var search = new BidirectionalDijkstraShortestPaths<>(graph, reverseGraph, "A", "A");
+
+        assertTrue(search.isCompleted());
+        assertEquals(0.0, search.getShortestPathCostTo("A"));
+    }
+
+    @Test
+    public void queryOtherVertexThanTarget_ExpectsThrowsException()
+    {
+        var search = new BidirectionalDijkstraShortestPaths<>(graph, reverseGraph, "A", "D");
+        search.run();
+
+        assertThrows(IllegalArgumentException.class, () -> search.getShortestPathCostTo("B"));
+    }
+
+    @Test
+    public void runOnRandomGraph_ExpectsSameCostsAsDijkstraShortestPaths()
+    {
+        var randomGraph = TestData.generateRandomGraph(200, 700, 11);
+        var csrGraph = CsrGraph.of(randomGraph, DspEdge::weight);
+        var reverseCsrGraph = csrGraph.reverse();
+        var source = randomGraph.getVertices().iterator().next();
+
+        var reference = new DijkstraShortestPaths<>(randomGraph, source, DspEdge::weight);
+        while (!reference.isCompleted())
+        {
+            reference.step();
+        }
+
+        for (var target : randomGraph.getVertices())
+        {
+            var search = new BidirectionalDijkstraShortestPaths<>(csrGraph, reverseCsrGraph, source, target);
+            search.run();
+
+            assertEquals(reference.getShortestPathCostTo(target), search.getShortestPathCostTo(target));
+
+            var path = search.getShortestPathTo(target);
+            if (!path.isEmpty())
+            {
+                assertEquals(source, path.get(0));
+                assertEquals(target, path.get(path.size() - 1));
+
+                var pathCost = 0.0;
+                for (int i = 0; i < path.size() - 1; ++i)
+                {
+                    pathCost += randomGraph.getEdge(path.get(i), path.get(i + 1)).weight();
+                }
+                assertEquals(search.getShortestPathCostTo(target), pathCost, 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void runOnGridGraph_ExpectsFewerSettledVerticesThanDijkstra()
+    {
+        var gridGraph = TestData.generateGridGraph(30, 5);
+        var csrGraph = CsrGraph.of(gridGraph, DspEdge::weight);
+        var source = gridGraph.getVertices().stream().filter(v -> v.key().equals("0_0")).findFirst().orElseThrow();
+        var target = gridGraph.getVertices().stream().filter(v -> v.key().equals("29_29")).findFirst().orElseThrow();
+
+        var search = new BidirectionalDijkstraShortestPaths<>(csrGraph, csrGraph.reverse(), source, target);
+        search.run();
+
+        var reference = new CsrDijkstraShortestPaths<>(csrGraph, source);
+        var referenceSettled = 0;
+        while (reference.getState().get(target) != DijkstraShortestPaths.VertexState.EXPANDED)
+        {
+            reference.step();
+            referenceSettled++;
+        }
+
+        assertEquals(reference.getShortestPathCostTo(target), search.getShortestPathCostTo(target));
+        assertTrue(search.getSettledVertexCount() < referenceSettled);
+    }
+}
@@ -0,0 +1,145 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContractionHierarchyTest
+{
+    CsrGraph<String> graph;
+
+    @BeforeEach
+    public void setupGraph()
+    {
+        Graph<String, Integer> mutableGraph = new Graph<>();
+        mutableGraph.addVertex("A");
+        mutableGraph.addVertex("B");
+        mutableGraph.addVertex("C");
+        mutableGraph.addVertex("D");
+        mutableGraph.addVertex("E");
+        mutableGraph.addEdge("A", "B", 2);
+        mutableGraph.addEdge("A", "C", 2);
+        mutableGraph.addEdge("B", "D", 1);
+        mutableGraph.addEdge("C", "D", 2);
+
+        graph = CsrGraph.of(mutableGraph, Integer::doubleValue);
+    }
+
+    @Test
+    public void queryShortestPath_ExpectsShortestPathFound()
+    {
+        var query = new ContractionHierarchyQuery<>(ContractionHierarchy.build(graph));
+
+        assertEquals(List.of("A", "B", "D"), query.getShortestPath("A", "D"));
+        assertEquals(3.0, query.getShortestPathCost("A", "D"));
+    }
+
+    @Test
+    public void queryUnreachableVertex_ExpectsEmptyListAndDefaultPathCost()
+    {
+        var query = new ContractionHierarchyQuery<>(ContractionHierarchy.build(graph));
+
+        assertTrue(query.getShortestPath("A", "E").isEmpty());
+        assertEquals(Double.MAX_VALUE, query.getShortestPathCost("A", "E"));
+        assertEquals(Double.MAX_VALUE, query.getShortestPathCost("D", "A"));
+    }
+
+    @Test
+    public void querySourceAsTarget_ExpectsZeroCost()
+    {
+        var query = new ContractionHierarchyQuery<>(ContractionHierarchy.build(graph));
+
+        assertEquals(0.0, query.getShortestPathCost("A", "A"));
+        assertTrue(query.getShortestPath("A", "A").isEmpty());
+    }
+
+    @Test
+    public void findShortestPath_ExpectsPathAndCostOfSameSearch()
+    {
+        var query = new ContractionHierarchyQuery<>(ContractionHierarchy.build(graph));
+
+        assertEquals(new ShortestPath<>(List.of("A", "B", "D"), 3.0), query.findShortestPath("A", "D"));
+        assertEquals(new ShortestPath<>(List.of("A"), 0.0), query.findShortestPath("A", "A"));
+        assertFalse(query.findShortestPath("A", "E").isReachable());
+    }
+
+    @Test
+    public void queryRandomGraph_ExpectsSameCostsAndValidPathsAsDijkstraShortestPaths()
+    {
+        var randomGraph = TestData.generateRandomGraph(300, 1200, 17);
+        assertMatchesDijkstra(randomGraph, new ContractionHierarchyQuery<>(ContractionHierarchy.build(CsrGraph.of(randomGraph, DspEdge::weight))));
+    }
+
+    @Test
+    public void queryGridGraph_ExpectsSameCostsAndValidPathsAsDijkstraShortestPaths()
+    {
+        var gridGraph = TestData.generateGridGraph(20, 3);
+        assertMatchesDijkstra(gridGraph, new ContractionHierarchyQuery<>(ContractionHierarchy.build(CsrGraph.of(gridGraph, DspEdge::weight))));
+    }
+
+    @Test
+    public void writeAndRead_ExpectsSameQueryResults(@TempDir Path directory) throws IOException
+    {
+        var gridGraph = TestData.generateGridGraph(10, 9);
+        var csrGraph = CsrGraph.of(gridGraph, DspEdge::weight);
+        var hierarchy = ContractionHierarchy.build(csrGraph);
+        var file = directory.resolve("grid.ch");
+
+        hierarchy.write(file);
+        var readHierarchy = ContractionHierarchy.read(file, csrGraph);
+
+        assertEquals(hierarchy.getShortcutCount(), readHierarchy.getShortcutCount());
+        assertMatchesDijkstra(gridGraph, new ContractionHierarchyQuery<>(readHierarchy));
+    }
+
+    @Test
+    public void readForDifferentGraph_ExpectsThrowsException(@TempDir Path directory) throws IOException
+    {
+        var file = directory.resolve("graph.ch");
+        ContractionHierarchy.build(graph).write(file);
+
+        var otherGraph = CsrGraph.of(TestData.generateRandomGraph(5, 8, 1), DspEdge::weight);
+
+        assertThrows(IOException.class, () -> ContractionHierarchy.read(file, otherGraph));
+    }
+
+    private static void assertMatchesDijkstra(Graph<DspVertex, DspEdge> graph, ContractionHierarchyQuery<DspVertex> query)
+    {
+        var sources = new ArrayList<>(graph.getVertices()).subList(0, 5);
+        for (var source : sources)
+        {
+            var reference = new DijkstraShortestPaths<>(graph, source, DspEdge::weight);
+            while (!reference.isCompleted())
+            {
+                reference.step();
+            }
+
+            for (var target : graph.getVertices())
+            {
+                var cost = query.getShortestPathCost(source, target);
+                assertEquals(reference.getShortestPathCostTo(target), cost, 1e-9);
+
+                var path = query.getShortestPath(source, target);
+                if (!path.isEmpty())
+                {
+                    assertEquals(source, path.get(0));
+                    assertEquals(target, path.get(path.size() - 1));
+
+                    var pathCost = 0.0;
+                    for (int i = 0; i < path.size() - 1; ++i)
+                    {
+                        pathCost += graph.getEdge(path.get(i), path.get(i + 1)).weight();
+                    }
+                    assertEquals(cost, pathCost, 1e-9);
+                }
+            }
+        }
+    }
+}
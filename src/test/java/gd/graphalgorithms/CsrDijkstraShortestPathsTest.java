@@ -0,0 +1,114 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.graphalgorithms.DijkstraShortestPaths.*;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsrDijkstraShortestPathsTest
+{
+    CsrDijkstraShortestPaths<String> dspInstance;
+
+    @BeforeEach
+    public void setupDspInstance()
+    {
+        Graph<String, Integer> graph = new Graph<>();
+        graph.addVertex("A");
+        graph.addVertex("B");
+        graph.addVertex("C");
+        graph.addVertex("D");
+        graph.addEdge("A", "B", 2);
+        graph.addEdge("A", "C", 3);
+        graph.addEdge("B", "D", 1);
+        graph.addEdge("C", "D", 2);
+
+        dspInstance = new CsrDijkstraShortestPaths<>(CsrGraph.of(graph, Integer::doubleValue), "A");
+    }
+
+    @Test
+    public void newInstance_ExpectsSourceVertexSet()
+    {
+        assertEquals(dspInstance.getSourceVertex(), "A");
+    }
+
+    @Test
+    public void runShortestPath_ExpectsShortestPathFound()
+    {
+        while (!dspInstance.isCompleted())
+        {
+            dspInstance.step();
+        }
+
+        var path = dspInstance.getShortestPathTo("D");
+
+        assertEquals(path.get(0), "A");
+        assertEquals(path.get(1), "B");
+        assertEquals(path.get(2), "D");
+
+        assertEquals(dspInstance.getShortestPathCostTo("D"), 3.0);
+    }
+
+    @Test
+    public void queryShortestPathBeforeCompletion_ExpectsEmptyListAndDefaultPathCost()
+    {
+        assertTrue(dspInstance.getShortestPathTo("D").isEmpty());
+        assertEquals(dspInstance.getShortestPathCostTo("D"), Double.MAX_VALUE);
+    }
+
+    @Test
+    public void queryDspStateDuringExecution_ExpectsConformingVertexStates()
+    {
+        var initialState = dspInstance.getState();
+        assertEquals(VertexState.PENDING, initialState.get("A"));
+        assertEquals(VertexState.PENDING, initialState.get("D"));
+
+        dspInstance.step();
+        var stepOneState = dspInstance.getState();
+        assertEquals(VertexState.EXPANDED, stepOneState.get("A"));
+        assertEquals(VertexState.FRONTIER, stepOneState.get("B"));
+        assertEquals(VertexState.FRONTIER, stepOneState.get("C"));
+        assertEquals(VertexState.PENDING, stepOneState.get("D"));
+
+        dspInstance.step();
+        var stepTwoState = dspInstance.getState();
+        assertEquals(VertexState.EXPANDED, stepTwoState.get("B"));
+        assertEquals(VertexState.FRONTIER, stepTwoState.get("C"));
+        assertEquals(VertexState.FRONTIER, stepTwoState.get("D"));
+    }
+
+    @Test
+    public void stepCompletedSearch_ExpectsThrowsException()
+    {
+        while (!dspInstance.isCompleted())
+        {
+            dspInstance.step();
+        }
+        assertThrows(IllegalStateException.class, () -> dspInstance.step());
+    }
+
+    @Test
+    public void runOnRandomGraph_ExpectsSameCostsAsDijkstraShortestPaths()
+    {
+        var graph = TestData.generateRandomGraph(300, 1500, 7);
+        var source = graph.getVertices().iterator().next();
+
+        var reference = new DijkstraShortestPaths<>(graph, source, DspEdge::weight);
+        var csrSearch = new CsrDijkstraShortestPaths<>(CsrGraph.of(graph, DspEdge::weight), source);
+        while (!reference.isCompleted())
+        {
+            reference.step();
+        }
+        while (!csrSearch.isCompleted())
+        {
+            csrSearch.step();
+        }
+
+        for (var vertex : graph.getVertices())
+        {
+            assertEquals(reference.getShortestPathCostTo(vertex), csrSearch.getShortestPathCostTo(vertex));
+            assertEquals(reference.getShortestPathTo(vertex).isEmpty(), csrSearch.getShortestPathTo(vertex).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeltaSteppingShortestPathsTest
+{
+    CsrGraph<String> graph;
+
+    @BeforeEach
+    public void setupGraph()
+    {
+        Graph<String, Integer> mutableGraph = new Graph<>();
+        mutableGraph.addVertex("A");
+        mutableGraph.addVertex("B");
+        mutableGraph.addVertex("C");
+        mutableGraph.addVertex("D");
+        mutableGraph.addVertex("E");
+        mutableGraph.addEdge("A", "B", 2);
+        mutableGraph.addEdge("A", "C", 2);
+        mutableGraph.addEdge("B", "D", 1);
+        mutableGraph.addEdge("C", "D", 2);
+
+        graph = CsrGraph.of(mutableGraph, Integer::doubleValue);
+    }
+
+    @Test
+    public void runShortestPath_ExpectsShortestPathFound()
+    {
+        var search = new DeltaSteppingShortestPaths<>(graph, "A");
+        search.run();
+
+        assertTrue(search.isCompleted());
+        assertEquals(List.of("A", "B", "D"), search.getShortestPathTo("D"));
+        assertEquals(3.0, search.getShortestPathCostTo("D"));
+        assertTrue(search.getShortestPathTo("E").isEmpty());
+        assertEquals(Double.MAX_VALUE, search.getShortestPathCostTo("E"));
+    }
+
+    @Test
+    public void chooseDelta_ExpectsMaxWeightOverAverageDegree()
+    {
+        //Max weight 2 over 4 edges from 5 vertices, but never below the smallest weight
+        assertEquals(2.0, DeltaSteppingShortestPaths.chooseDelta(graph));
+
+        var gridGraph = CsrGraph.of(TestData.generateGridGraph(10, 1), DspEdge::weight);
+        assertTrue(DeltaSteppingShortestPaths.chooseDelta(gridGraph) >= 1.0);
+        assertTrue(DeltaSteppingShortestPaths.chooseDelta(gridGraph) <= 10.0);
+    }
+
+    @Test
+    public void runOnRandomGraphWithEachDelta_ExpectsSameCostsAsDijkstraShortestPaths()
+    {
+        var randomGraph = TestData.generateRandomGraph(3000, 12000, 5);
+        var csrGraph = CsrGraph.of(randomGraph, DspEdge::weight);
+        var source = csrGraph.getVertex(0);
+        var pool = new ForkJoinPool(4);
+
+        var reference = new DijkstraShortestPaths<>(randomGraph, source, DspEdge::weight);
+        while (!reference.isCompleted())
+        {
+            reference.step();
+        }
+
+        try
+        {
+            for (var delta : List.of(0.5, 3.0, DeltaSteppingShortestPaths.chooseDelta(csrGraph), 100.0))
+            {
+                var search = new DeltaSteppingShortestPaths<>(csrGraph, source, delta, pool);
+                search.run();
+
+                for (var target : randomGraph.getVertices())
+                {
+                    assertEquals(reference.getShortestPathCostTo(target), search.getShortestPathCostTo(target));
+                    assertPathCost(randomGraph, search, target);
+                }
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void runOnGraphWithZeroWeights_ExpectsValidPaths()
+    {
+        var mutableGraph = new Graph<String, Integer>();
+        for (var vertex : List.of("A", "B", "C", "D"))
+        {
+            mutableGraph.addVertex(vertex);
+        }
+        mutableGraph.addEdge("A", "B", 1);
+        mutableGraph.addEdge("B", "C", 0);
+        mutableGraph.addEdge("C", "B", 0);
+        mutableGraph.addEdge("C", "D", 0);
+
+        var search = new DeltaSteppingShortestPaths<>(CsrGraph.of(mutableGraph, Integer::doubleValue), "A");
+        search.run();
+
+        assertEquals(1.0, search.getShortestPathCostTo("D"));
+        assertEquals(List.of("A", "B", "C", "D"), search.getShortestPathTo("D"));
+    }
+
+    @Test
+    public void runWithDeltaFarBelowDistances_ExpectsSameCostsWithoutDenseBuckets()
+    {
+        Graph<String, Double> mutableGraph = new Graph<>();
+        mutableGraph.addVertex("A");
+        mutableGraph.addVertex("B");
+        mutableGraph.addVertex("C");
+        mutableGraph.addEdge("A", "B", 1000.5);
+        mutableGraph.addEdge("B", "C", 1e9);
+        mutableGraph.addEdge("A", "C", 2e9);
+
+        //About 1e15 buckets below the largest distance, of which only three are ever used
+        var search = new DeltaSteppingShortestPaths<>(CsrGraph.of(mutableGraph, Double::doubleValue), "A", 1e-6, ForkJoinPool.commonPool());
+        search.run();
+
+        assertEquals(1000.5, search.getShortestPathCostTo("B"));
+        assertEquals(1e9 + 1000.5, search.getShortestPathCostTo("C"));
+        assertEquals(List.of("A", "B", "C"), search.getShortestPathTo("C"));
+    }
+
+    @Test
+    public void stepAfterCompletion_ExpectsThrowsException()
+    {
+        var search = new DeltaSteppingShortestPaths<>(graph, "A");
+        search.run();
+
+        assertThrows(IllegalStateException.class, search::step);
+    }
+
+    private static void assertPathCost(Graph<DspVertex, DspEdge> graph, DeltaSteppingShortestPaths<DspVertex> search, DspVertex target)
+    {
+        var path = search.getShortestPathTo(target);
+        if (!path.isEmpty())
+        {
+            var pathCost = 0.0;
+            for (int i = 0; i < path.size() - 1; ++i)
+            {
+                pathCost += graph.getEdge(path.get(i), path.get(i + 1)).weight();
+            }
+            assertEquals(search.getShortestPathCostTo(target), pathCost, 1e-9);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package gd.graphalgorithms;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DialQueueTest extends FrontierQueueContractTest
+{
+    @Override
+    protected <T> FrontierQueue<T> createQueue()
+    {
+        return new DialQueue<>(3, 0.5);
+    }
+
+    @Override
+    protected boolean isMonotone()
+    {
+        return true;
+    }
+
+    @Test
+    public void offerPriorityBeyondBucketRange_ExpectsIllegalArgumentException()
+    {
+        queue.offer("A", 0.0);
+
+        assertThrows(IllegalArgumentException.class, () -> queue.offer("B", 10.0));
+    }
+
+    @Test
+    public void offerAfterQueueDrained_ExpectsWindowMovedToNewPriority()
+    {
+        queue.offer("A", 0.0);
+        queue.poll();
+
+        queue.offer("B", 100.0);
+        queue.offer("C", 101.5);
+        queue.offer("B", 101.0);
+
+        assertEquals("B", queue.poll());
+        assertEquals("C", queue.poll());
+    }
+}
@@ -4,17 +4,21 @@ import gd.graph.*;
 import gd.graphalgorithms.DijkstraShortestPaths.*;
 import org.junit.jupiter.api.*;
 
+import java.util.*;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DijkstraShortestPathsTest
 {
+    Graph<String, Integer> graph;
     DijkstraShortestPaths<String, Integer> dspInstance;
 
     @BeforeEach
     public void setupDspInstance()
     {
-        Graph<String, Integer> graph = new Graph<>();
+        graph = new Graph<>();
         graph.addVertex("A");
         graph.addVertex("B");
         graph.addVertex("C");
@@ -94,4 +98,182 @@ public class DijkstraShortestPathsTest
         assertEquals(VertexState.EXPANDED, stepFourState.get("C"));
         assertEquals(VertexState.EXPANDED, stepFourState.get("D"));
     }
+
+    @Test
+    public void newInstanceWithSourceOnly_ExpectsOnlySourceInFrontier()
+    {
+        var dsp = new DijkstraShortestPaths<>(graph, "A", Double::valueOf, Initialization.SOURCE_ONLY);
+
+        var initialState = dsp.getState();
+        assertEquals(VertexState.FRONTIER, initialState.get("A"));
+        assertEquals(VertexState.PENDING, initialState.get("B"));
+        assertEquals(VertexState.PENDING, initialState.get("D"));
+
+        while (!dsp.isCompleted())
+        {
+            dsp.step();
+        }
+
+        assertEquals(List.of("A", "B", "D"), dsp.getShortestPathTo("D"));
+        assertEquals(3.0, dsp.getShortestPathCostTo("D"));
+    }
+
+    @Test
+    public void runUntilTargetSettled_ExpectsStopAfterTarget()
+    {
+        var dsp = new DijkstraShortestPaths<>(graph, "A", Double::valueOf, Initialization.SOURCE_ONLY);
+
+        assertTrue(dsp.runUntilSettled("B"));
+
+        assertEquals(2.0, dsp.getShortestPathCostTo("B"));
+        assertEquals(VertexState.EXPANDED, dsp.getState().get("B"));
+        assertEquals(VertexState.FRONTIER, dsp.getState().get("D"));
+        assertFalse(dsp.isCompleted());
+    }
+
+    @Test
+    public void runUntilUnreachableTargetSettled_ExpectsFalse()
+    {
+        graph.addVertex("E");
+
+        for (var initialization : Initialization.values())
+        {
+            var dsp = new DijkstraShortestPaths<>(graph, "A", Double::valueOf, initialization);
+
+            assertFalse(dsp.runUntilSettled(List.of("D", "E")));
+            assertEquals(3.0, dsp.getShortestPathCostTo("D"));
+            assertEquals(Double.MAX_VALUE, dsp.getShortestPathCostTo("E"));
+            assertEquals(VertexState.PENDING, dsp.getState().get("E"));
+        }
+    }
+
+    @Test
+    public void runWithinDistance_ExpectsOnlyVerticesWithinBudgetSettled()
+    {
+        for (var initialization : Initialization.values())
+        {
+            var dsp = new DijkstraShortestPaths<>(graph, "A", Double::valueOf, initialization);
+            dsp.runWithinDistance(2.0);
+
+            var state = dsp.getState();
+            assertEquals(VertexState.EXPANDED, state.get("A"));
+            assertEquals(VertexState.EXPANDED, state.get("B"));
+            assertEquals(VertexState.EXPANDED, state.get("C"));
+            assertEquals(VertexState.FRONTIER, state.get("D"));
+            assertEquals(3.0, dsp.getShortestPathCostTo("D"));
+        }
+    }
+
+    @Test
+    public void runShortestPathOnEachFrontierQueue_ExpectsSameShortestPathCosts()
+    {
+        List<FrontierQueue<String>> frontierQueues = List.of(
+                new IndexedDAryHeap<>(2),
+                new IndexedDAryHeap<>(8),
+                new LazyDeletionQueue<>(),
+                new DialQueue<>(2, 1.0),
+                new RadixHeap<>(1.0)
+        );
+
+        for (var frontierQueue : frontierQueues)
+        {
+            var dsp = new DijkstraShortestPaths<>(graph, "A", Double::valueOf, frontierQueue);
+            while (!dsp.isCompleted())
+            {
+                dsp.step();
+            }
+
+            assertEquals(0.0, dsp.getShortestPathCostTo("A"));
+            assertEquals(2.0, dsp.getShortestPathCostTo("B"));
+            assertEquals(2.0, dsp.getShortestPathCostTo("C"));
+            assertEquals(3.0, dsp.getShortestPathCostTo("D"));
+        }
+    }
+
+    @Test
+    public void stepWithCount_ExpectsAggregatedDeltaOfTheseSteps()
+    {
+        var delta = dspInstance.step(2);
+
+        assertEquals(List.of("A", "B"), delta.getSettledVertices());
+        assertEquals(Map.of("A", VertexState.EXPANDED, "B", VertexState.EXPANDED, "C", VertexState.FRONTIER, "D", VertexState.FRONTIER),
+                delta.getChangedStates());
+        assertEquals(Map.of("B", 2.0, "C", 2.0, "D", 3.0), delta.getImprovedDistances());
+        assertEquals(3, delta.getRelaxedEdges().size());
+        assertEquals(new SearchDelta.RelaxedEdge<>("B", "D", 3.0), delta.getRelaxedEdges().get(2));
+    }
+
+    @Test
+    public void stepBeyondCompletion_ExpectsStopAtCompletion()
+    {
+        var delta = dspInstance.step(10);
+
+        assertTrue(dspInstance.isCompleted());
+        assertEquals(4, delta.getSettledVertices().size());
+        assertTrue(dspInstance.step(1).isEmpty());
+    }
+
+    @Test
+    public void stepUntilVertexSettled_ExpectsStopAfterThatVertex()
+    {
+        dspInstance.step();
+
+        var delta = dspInstance.stepUntil("D"::equals);
+
+        assertEquals("D", delta.getSettledVertices().get(delta.getSettledVertices().size() - 1));
+        assertFalse(delta.getChangedStates().containsKey("A"));
+        assertEquals(3.0, dspInstance.getShortestPathCostTo("D"));
+    }
+
+    @Test
+    public void addListener_ExpectsOnlyChangedStatesReported()
+    {
+        var changes = new ArrayList<String>();
+        dspInstance.addListener(new SearchListener<>()
+        {
+            @Override
+            public void stateChanged(String vertex, VertexState state)
+            {
+                changes.add(vertex + "=" + state);
+            }
+        });
+
+        dspInstance.step();
+        dspInstance.step();
+
+        //D is reached from B only; C stays in the frontier without a repeated event
+        assertEquals(List.of("A=EXPANDED", "B=FRONTIER", "C=FRONTIER", "B=EXPANDED", "D=FRONTIER"), changes);
+    }
+
+    @Test
+    public void removeListener_ExpectsNoFurtherEvents()
+    {
+        var delta = new SearchDelta<String>();
+        dspInstance.addListener(delta);
+        dspInstance.step();
+        dspInstance.removeListener(delta);
+        dspInstance.step();
+
+        assertEquals(List.of("A"), delta.getSettledVertices());
+    }
+
+    @Test
+    public void removeListenerDuringCallback_ExpectsStepCompletesWithoutFurtherEvents()
+    {
+        var events = new ArrayList<String>();
+        dspInstance.addListener(new SearchListener<>()
+        {
+            @Override
+            public void stateChanged(String vertex, VertexState state)
+            {
+                events.add(vertex);
+                dspInstance.removeListener(this);
+            }
+        });
+
+        var delta = dspInstance.step(2);
+
+        assertEquals(List.of("A"), events);
+        assertEquals(List.of("A", "B"), delta.getSettledVertices());
+    }
 }
@@ -0,0 +1,149 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.graphalgorithms.DijkstraShortestPaths.Initialization;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicShortestPathsTest
+{
+    Graph<String, Integer> graph;
+    DynamicShortestPaths<String, Integer> dsp;
+
+    @BeforeEach
+    public void setupGraph()
+    {
+        graph = new Graph<>();
+        graph.addVertex("A");
+        graph.addVertex("B");
+        graph.addVertex("C");
+        graph.addVertex("D");
+        graph.addEdge("A", "B", 2);
+        graph.addEdge("A", "C", 2);
+        graph.addEdge("B", "D", 1);
+        graph.addEdge("C", "D", 2);
+
+        dsp = new DynamicShortestPaths<>(graph, "A", Double::valueOf);
+    }
+
+    @Test
+    public void newInstance_ExpectsShortestPathFound()
+    {
+        assertTrue(dsp.isCompleted());
+        assertEquals(List.of("A", "B", "D"), dsp.getShortestPathTo("D"));
+        assertEquals(3.0, dsp.getShortestPathCostTo("D"));
+    }
+
+    @Test
+    public void increaseTreeEdge_ExpectsAlternativePathFound()
+    {
+        graph.replaceEdge("B", "D", 5);
+
+        assertEquals(List.of("A", "C", "D"), dsp.getShortestPathTo("D"));
+        assertEquals(4.0, dsp.getShortestPathCostTo("D"));
+    }
+
+    @Test
+    public void decreaseEdge_ExpectsImprovementPropagated()
+    {
+        graph.addVertex("E");
+        graph.addEdge("D", "E", 1);
+        graph.replaceEdge("A", "C", 0);
+
+        assertEquals(List.of("A", "C", "D", "E"), dsp.getShortestPathTo("E"));
+        assertEquals(3.0, dsp.getShortestPathCostTo("E"));
+    }
+
+    @Test
+    public void increaseNonTreeEdge_ExpectsNoVerticesUpdated()
+    {
+        graph.replaceEdge("C", "D", 10);
+
+        assertEquals(0, dsp.getLastUpdatedVertexCount());
+        assertEquals(3.0, dsp.getShortestPathCostTo("D"));
+    }
+
+    @Test
+    public void removeVertex_ExpectsVerticesBehindItUnreachable()
+    {
+        graph.removeEdge("C", "D");
+        graph.removeVertex("B");
+
+        assertEquals(Double.MAX_VALUE, dsp.getShortestPathCostTo("B"));
+        assertEquals(Double.MAX_VALUE, dsp.getShortestPathCostTo("D"));
+        assertTrue(dsp.getShortestPathTo("D").isEmpty());
+        assertEquals(2.0, dsp.getShortestPathCostTo("C"));
+    }
+
+    @Test
+    public void detach_ExpectsGraphChangesIgnored()
+    {
+        dsp.detach();
+        graph.removeEdge("B", "D");
+
+        assertEquals(3.0, dsp.getShortestPathCostTo("D"));
+    }
+
+    @Test
+    public void randomModifications_ExpectsSameCostsAsRecomputation()
+    {
+        var randomGraph = TestData.generateRandomGraph(120, 400, 3);
+        var vertices = new ArrayList<>(randomGraph.getVertices());
+        var source = vertices.get(0);
+        var dynamic = new DynamicShortestPaths<>(randomGraph, source, DspEdge::weight);
+        var random = new Random(7);
+
+        for (int i = 0; i < 300; ++i)
+        {
+            var from = vertices.get(random.nextInt(vertices.size()));
+            var to = vertices.get(random.nextInt(vertices.size()));
+            if (!randomGraph.hasVertex(from) || !randomGraph.hasVertex(to) || from.equals(to))
+            {
+                continue;
+            }
+
+            if (!randomGraph.hasEdge(from, to))
+            {
+                randomGraph.addEdge(from, to, new DspEdge(random.nextInt(10) + 1));
+            }
+            else if (random.nextBoolean())
+            {
+                randomGraph.replaceEdge(from, to, new DspEdge(random.nextInt(10) + 1));
+            }
+            else if (i % 50 == 0 && !from.equals(source))
+            {
+                randomGraph.removeVertex(from);
+            }
+            else
+            {
+                randomGraph.removeEdge(from, to);
+            }
+
+            var reference = new DijkstraShortestPaths<>(randomGraph, source, DspEdge::weight, Initialization.SOURCE_ONLY);
+            while (!reference.isCompleted())
+            {
+                reference.step();
+            }
+
+            for (var vertex : randomGraph.getVertices())
+            {
+                assertEquals(reference.getShortestPathCostTo(vertex), dynamic.getShortestPathCostTo(vertex), 1e-9);
+
+                var path = dynamic.getShortestPathTo(vertex);
+                if (!path.isEmpty())
+                {
+                    var pathCost = 0.0;
+                    for (int j = 0; j < path.size() - 1; ++j)
+                    {
+                        pathCost += randomGraph.getEdge(path.get(j), path.get(j + 1)).weight();
+                    }
+                    assertEquals(dynamic.getShortestPathCostTo(vertex), pathCost, 1e-9);
+                }
+            }
+        }
+    }
+}
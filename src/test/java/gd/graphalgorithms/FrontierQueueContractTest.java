@@ -0,0 +1,187 @@
+package gd.graphalgorithms;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link FrontierQueue} must have. Priorities are multiples of 0.5 and never more than 1.5 above
+ * the last polled one, so that the cases also hold for bucket queues. Cases for arbitrary priorities only run on
+ * queues that are not monotone, and cases for rejected priorities only on queues that are.
+ */
+public abstract class FrontierQueueContractTest
+{
+    protected FrontierQueue<String> queue;
+
+    protected abstract <T> FrontierQueue<T> createQueue();
+
+    /**
+     * @return Whether the queue rejects priorities below the last polled one
+     */
+    protected boolean isMonotone()
+    {
+        return false;
+    }
+
+    @BeforeEach
+    public void setupQueue()
+    {
+        queue = createQueue();
+    }
+
+    @Test
+    public void pollOnEmptyQueue_ExpectsNull()
+    {
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertEquals(Double.POSITIVE_INFINITY, queue.peekPriority());
+    }
+
+    @Test
+    public void peekPriority_ExpectsLowestPriorityWithoutRemoval()
+    {
+        queue.offer("A", 1.0);
+        queue.offer("B", 0.5);
+        queue.offer("B", 1.5);
+
+        assertEquals(1.0, queue.peekPriority());
+        assertEquals(2, queue.size());
+        assertEquals("A", queue.poll());
+        assertEquals(1.5, queue.peekPriority());
+    }
+
+    @Test
+    public void offerVertices_ExpectsPolledInPriorityOrder()
+    {
+        queue.offer("C", 1.0);
+        queue.offer("A", 0.0);
+        queue.offer("D", 1.5);
+        queue.offer("B", 0.5);
+
+        assertEquals(4, queue.size());
+        assertEquals("A", queue.poll());
+        assertEquals("B", queue.poll());
+        assertEquals("C", queue.poll());
+        assertEquals("D", queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void offerQueuedVertexWithLowerPriority_ExpectsPriorityDecreased()
+    {
+        queue.offer("A", 0.5);
+        queue.offer("B", 1.0);
+        queue.offer("C", 1.5);
+
+        queue.offer("C", 0.0);
+
+        assertEquals(3, queue.size());
+        assertEquals("C", queue.poll());
+        assertEquals("A", queue.poll());
+        assertFalse(queue.contains("C"));
+    }
+
+    @Test
+    public void offerQueuedVertexWithHigherPriority_ExpectsPriorityIncreased()
+    {
+        queue.offer("A", 0.5);
+        queue.offer("B", 1.0);
+
+        queue.offer("A", 1.5);
+
+        assertEquals("B", queue.poll());
+        assertEquals("A", queue.poll());
+    }
+
+    @Test
+    public void pollVertex_ExpectsVertexNoLongerContained()
+    {
+        queue.offer("A", 0.5);
+        assertTrue(queue.contains("A"));
+
+        queue.poll();
+        assertFalse(queue.contains("A"));
+    }
+
+    @Test
+    public void offerUnreachedVertex_ExpectsPolledLast()
+    {
+        queue.offer("X", Double.MAX_VALUE);
+        queue.offer("A", 1.0);
+
+        assertEquals("A", queue.poll());
+        assertEquals(Double.MAX_VALUE, queue.peekPriority());
+        assertEquals("X", queue.poll());
+    }
+
+    @Test
+    public void offerMonotonePriorities_ExpectsSortedOutput()
+    {
+        var random = new Random(42);
+        var priorityQueue = this.<Integer>createQueue();
+        var polled = new ArrayList<Double>();
+        var next = 0;
+
+        priorityQueue.offer(next++, 0.0);
+        while (!priorityQueue.isEmpty())
+        {
+            var priority = priorityQueue.peekPriority();
+            priorityQueue.poll();
+            polled.add(priority);
+            for (int i = 0; i < 3 && next < 1000; ++i)
+            {
+                priorityQueue.offer(next++, priority + random.nextInt(4) * 0.5);
+            }
+        }
+
+        var expected = new ArrayList<>(polled);
+        Collections.sort(expected);
+        assertEquals(1000, polled.size());
+        assertEquals(expected, polled);
+    }
+
+    @Test
+    public void offerPriorityBelowPolledPriority_ExpectsIllegalArgumentException()
+    {
+        Assumptions.assumeTrue(isMonotone());
+
+        queue.offer("A", 1.0);
+        queue.offer("B", 1.5);
+        queue.poll();
+
+        assertThrows(IllegalArgumentException.class, () -> queue.offer("C", 0.5));
+    }
+
+    @Test
+    public void offerRandomPriorities_ExpectsSortedOutput()
+    {
+        Assumptions.assumeFalse(isMonotone());
+
+        var random = new Random(42);
+        var expected = new ArrayList<Double>();
+        var priorityQueue = this.<Integer>createQueue();
+
+        for (int i = 0; i < 1000; ++i)
+        {
+            var priority = random.nextDouble();
+            priorityQueue.offer(i, priority);
+            if (i % 3 == 0)
+            {
+                priority = random.nextDouble();
+                priorityQueue.offer(i, priority);
+            }
+            expected.add(priority);
+        }
+
+        var polled = new ArrayList<Double>();
+        while (!priorityQueue.isEmpty())
+        {
+            polled.add(expected.get(priorityQueue.poll()));
+        }
+
+        Collections.sort(expected);
+        assertEquals(expected, polled);
+    }
+}
@@ -0,0 +1,89 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrontierQueuesTest
+{
+    @Test
+    public void forGraphWithSmallIntegerWeights_ExpectsDialQueue()
+    {
+        assertTrue(FrontierQueues.forGraph(createGraph(1.0, 7.0), Double::valueOf) instanceof DialQueue);
+    }
+
+    @Test
+    public void forGraphWithDecimalWeights_ExpectsDialQueue()
+    {
+        assertTrue(FrontierQueues.forGraph(createGraph(0.5, 2.25), Double::valueOf) instanceof DialQueue);
+    }
+
+    @Test
+    public void forGraphWithLargeIntegerWeights_ExpectsRadixHeap()
+    {
+        assertTrue(FrontierQueues.forGraph(createGraph(1.0, 1e9), Double::valueOf) instanceof RadixHeap);
+    }
+
+    @Test
+    public void forGraphWithUnquantizableWeights_ExpectsIndexedDAryHeap()
+    {
+        assertTrue(FrontierQueues.forGraph(createGraph(1.0, 1.0 / 3.0), Double::valueOf) instanceof IndexedDAryHeap);
+    }
+
+    @Test
+    public void forGraphWithNegativeWeights_ExpectsIndexedDAryHeap()
+    {
+        assertTrue(FrontierQueues.forGraph(createGraph(1.0, -1.0), Double::valueOf) instanceof IndexedDAryHeap);
+    }
+
+    @Test
+    public void forGraphWithLargeWeightsBelowQuantum_ExpectsIndexedDAryHeapAndExactCost()
+    {
+        var graph = new Graph<String, Double>();
+        graph.addVertex("s");
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addEdge("s", "a", 500000.0004);
+        graph.addEdge("s", "b", 500000.0001);
+        graph.addEdge("b", "a", 0.0);
+
+        var dsp = new DijkstraShortestPaths<>(graph, "s", Double::doubleValue);
+        while (!dsp.isCompleted())
+        {
+            dsp.step();
+        }
+
+        assertTrue(FrontierQueues.forGraph(graph, Double::doubleValue) instanceof IndexedDAryHeap);
+        assertEquals(500000.0001, dsp.getShortestPathCostTo("a"));
+    }
+
+    @Test
+    public void factoryForSmallIntegerWeights_ExpectsNewDialQueueOnEveryCall()
+    {
+        var factory = FrontierQueues.<String, Double>factoryFor(createGraph(1.0, 7.0), Double::valueOf);
+        var first = factory.get();
+        var second = factory.get();
+
+        assertTrue(first instanceof DialQueue);
+        assertTrue(second instanceof DialQueue);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void forGraphWithLargeDecimalWeights_ExpectsRadixHeap()
+    {
+        assertTrue(FrontierQueues.forGraph(createGraph(123456.789, 98765.432), Double::valueOf) instanceof RadixHeap);
+    }
+
+    private static Graph<String, Double> createGraph(double firstWeight, double secondWeight)
+    {
+        var graph = new Graph<String, Double>();
+        graph.addVertex("A");
+        graph.addVertex("B");
+        graph.addVertex("C");
+        graph.addEdge("A", "B", firstWeight);
+        graph.addEdge("B", "C", secondWeight);
+        return graph;
+    }
+}
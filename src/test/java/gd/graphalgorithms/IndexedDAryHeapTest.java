@@ -0,0 +1,42 @@
+package gd.graphalgorithms;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedDAryHeapTest extends FrontierQueueContractTest
+{
+    @Override
+    protected <T> FrontierQueue<T> createQueue()
+    {
+        return new IndexedDAryHeap<>(3);
+    }
+
+    @Test
+    public void newHeapWithArityBelowTwo_ExpectsIllegalArgumentException()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDAryHeap<String>(1));
+    }
+
+    @Test
+    public void offerWithDifferentArities_ExpectsPolledInPriorityOrder()
+    {
+        for (var arity : List.of(2, 4, 8))
+        {
+            var heap = new IndexedDAryHeap<Integer>(arity);
+            for (int i = 0; i < 100; ++i)
+            {
+                heap.offer(i, (i * 37) % 100);
+            }
+
+            for (int i = 0; i < 100; ++i)
+            {
+                assertEquals(i, heap.peekPriority());
+                heap.poll();
+            }
+            assertTrue(heap.isEmpty());
+        }
+    }
+}
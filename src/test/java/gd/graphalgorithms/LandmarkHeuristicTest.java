@@ -0,0 +1,161 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LandmarkHeuristicTest
+{
+    Graph<DspVertex, DspEdge> graph;
+
+    @BeforeEach
+    public void setupGraph()
+    {
+        graph = TestData.generateRandomGraph(300, 1200, 23);
+    }
+
+    @Test
+    public void selectLandmarks_ExpectsDistinctLandmarks()
+    {
+        var heuristic = LandmarkHeuristic.select(graph, DspEdge::weight, 8);
+
+        var landmarks = heuristic.getLandmarks();
+        assertEquals(8, landmarks.size());
+        assertEquals(8, new HashSet<>(landmarks).size());
+    }
+
+    @Test
+    public void estimate_ExpectsLowerBoundOfShortestPathCost()
+    {
+        var heuristic = LandmarkHeuristic.select(graph, DspEdge::weight, 4);
+        var target = graph.getVertices().iterator().next();
+
+        var reverse = new Graph<DspVertex, DspEdge>();
+        graph.getVertices().forEach(reverse::addVertex);
+        for (var source : graph.getVertices())
+        {
+            for (var neighbour : graph.getNeighbours(source))
+            {
+                reverse.addEdge(neighbour, source, graph.getEdge(source, neighbour));
+            }
+        }
+
+        var reference = new DijkstraShortestPaths<>(reverse, target, DspEdge::weight);
+        while (!reference.isCompleted())
+        {
+            reference.step();
+        }
+
+        for (var vertex : graph.getVertices())
+        {
+            var cost = reference.getShortestPathCostTo(vertex);
+            var estimate = heuristic.estimate(vertex, target);
+            if (cost == Double.MAX_VALUE)
+            {
+                assertTrue(estimate >= 0.0);
+            }
+            else
+            {
+                assertTrue(estimate <= cost, () -> "Estimate " + estimate + " exceeds cost " + cost);
+            }
+        }
+    }
+
+    @Test
+    public void runAStarWithLandmarks_ExpectsSameCostsAsDijkstraShortestPaths()
+    {
+        var heuristic = LandmarkHeuristic.select(graph, DspEdge::weight, 8);
+        var source = graph.getVertices().iterator().next();
+
+        var reference = new DijkstraShortestPaths<>(graph, source, DspEdge::weight);
+        while (!reference.isCompleted())
+        {
+            reference.step();
+        }
+
+        for (var target : graph.getVertices())
+        {
+            var search = new AStarShortestPaths<>(graph, source, target, DspEdge::weight, heuristic);
+            search.run();
+
+            assertEquals(reference.getShortestPathCostTo(target), search.getShortestPathCostTo(target));
+        }
+    }
+
+    @Test
+    public void runAStarWithLandmarksOnGridGraph_ExpectsFewerExpandedVerticesThanDijkstra()
+    {
+        var gridGraph = TestData.generateGridGraph(30, 5);
+        var source = findVertex(gridGraph, "0_0");
+        var target = findVertex(gridGraph, "20_25");
+
+        var search = new AStarShortestPaths<>(gridGraph, source, target, DspEdge::weight, LandmarkHeuristic.select(gridGraph, DspEdge::weight, 4));
+        search.run();
+
+        var reference = new DijkstraShortestPaths<>(gridGraph, source, DspEdge::weight);
+        var referenceExpanded = 0;
+        while (reference.getState().get(target) != DijkstraShortestPaths.VertexState.EXPANDED)
+        {
+            reference.step();
+            referenceExpanded++;
+        }
+
+        assertEquals(reference.getShortestPathCostTo(target), search.getShortestPathCostTo(target));
+        assertTrue(search.getExpandedVertexCount() < referenceExpanded);
+    }
+
+    @Test
+    public void createWithGivenLandmarks_ExpectsSameEstimatesAsSelected()
+    {
+        var csrGraph = CsrGraph.of(graph, DspEdge::weight);
+        var selected = LandmarkHeuristic.select(csrGraph, 4);
+        var given = LandmarkHeuristic.of(csrGraph, selected.getLandmarks());
+
+        var target = graph.getVertices().iterator().next();
+        for (var vertex : graph.getVertices())
+        {
+            assertEquals(selected.estimate(vertex, target), given.estimate(vertex, target));
+        }
+    }
+
+    @Test
+    public void writeAndRead_ExpectsSameEstimates(@TempDir Path directory) throws IOException
+    {
+        var csrGraph = CsrGraph.of(graph, DspEdge::weight);
+        var heuristic = LandmarkHeuristic.select(csrGraph, 4);
+        var file = directory.resolve("graph.landmarks");
+
+        heuristic.write(file);
+        var readHeuristic = LandmarkHeuristic.read(file, csrGraph);
+
+        assertEquals(heuristic.getLandmarks(), readHeuristic.getLandmarks());
+        var target = graph.getVertices().iterator().next();
+        for (var vertex : graph.getVertices())
+        {
+            assertEquals(heuristic.estimate(vertex, target), readHeuristic.estimate(vertex, target));
+        }
+    }
+
+    @Test
+    public void readForDifferentGraph_ExpectsThrowsException(@TempDir Path directory) throws IOException
+    {
+        var file = directory.resolve("graph.landmarks");
+        LandmarkHeuristic.select(graph, DspEdge::weight, 2).write(file);
+
+        var otherGraph = CsrGraph.of(TestData.generateRandomGraph(300, 1000, 1), DspEdge::weight);
+
+        assertThrows(IOException.class, () -> LandmarkHeuristic.read(file, otherGraph));
+    }
+
+    private static DspVertex findVertex(Graph<DspVertex, DspEdge> graph, String key)
+    {
+        return graph.getVertices().stream().filter(v -> v.key().equals(key)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,30 @@
+package gd.graphalgorithms;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyDeletionQueueTest extends FrontierQueueContractTest
+{
+    @Override
+    protected <T> FrontierQueue<T> createQueue()
+    {
+        return new LazyDeletionQueue<>();
+    }
+
+    @Test
+    public void offerQueuedVertexRepeatedly_ExpectsStaleEntriesSkipped()
+    {
+        for (int i = 10; i > 0; --i)
+        {
+            queue.offer("A", i);
+        }
+        queue.offer("B", 5.0);
+
+        assertEquals(2, queue.size());
+        assertEquals("A", queue.poll());
+        assertEquals("B", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+package gd.graphalgorithms;
+
+import gd.geometry.Vector2D;
+import gd.graph.*;
+import gd.utilities.TestData;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ManyToManyShortestPathsTest
+{
+    Graph<DspVertex, DspEdge> graph;
+    CsrGraph<DspVertex> csrGraph;
+    List<DspVertex> sources;
+    List<DspVertex> targets;
+
+    @BeforeEach
+    public void setupGraph()
+    {
+        graph = TestData.generateRandomGraph(200, 800, 23);
+        csrGraph = CsrGraph.of(graph, DspEdge::weight);
+
+        var vertices = new ArrayList<>(graph.getVertices());
+        Collections.shuffle(vertices, new Random(5));
+        sources = vertices.subList(0, 12);
+        targets = new ArrayList<>(vertices.subList(8, 40));
+        targets.add(targets.get(0));
+    }
+
+    @Test
+    public void computeWithDijkstra_ExpectsSameCostsAsDijkstraShortestPaths()
+    {
+        var matrix = new ManyToManyShortestPaths<>(csrGraph).compute(sources, targets);
+
+        assertMatchesDijkstra(matrix);
+    }
+
+    @Test
+    public void computeWithContractionHierarchy_ExpectsSameCostsAsDijkstraShortestPaths()
+    {
+        var matrix = new ManyToManyShortestPaths<>(ContractionHierarchy.build(csrGraph)).compute(sources, targets);
+
+        assertMatchesDijkstra(matrix);
+    }
+
+    @Test
+    public void computeUnreachableTarget_ExpectsDefaultPathCost()
+    {
+        var smallGraph = new Graph<String, Double>();
+        smallGraph.addVertex("A");
+        smallGraph.addVertex("B");
+        smallGraph.addVertex("C");
+        smallGraph.addEdge("A", "B", 1.5);
+
+        var manyToMany = ManyToManyShortestPaths.of(smallGraph, Double::doubleValue);
+        var matrix = manyToMany.compute(List.of("A", "C"), List.of("B", "C"));
+
+        assertArrayEquals(new double[] { 1.5, Double.MAX_VALUE, Double.MAX_VALUE, 0.0 }, matrix.getDistances());
+    }
+
+    @Test
+    public void computeUnknownVertex_ExpectsIllegalArgumentException()
+    {
+        var manyToMany = new ManyToManyShortestPaths<>(csrGraph);
+        var unknownVertex = new DspVertex("unknown", new Vector2D(0.0, 0.0), "unknown");
+
+        assertThrows(IllegalArgumentException.class, () -> manyToMany.compute(List.of(unknownVertex), targets));
+    }
+
+    private void assertMatchesDijkstra(DistanceMatrix matrix)
+    {
+        assertEquals(sources.size(), matrix.getRowCount());
+        assertEquals(targets.size(), matrix.getColumnCount());
+
+        for (int row = 0; row < sources.size(); ++row)
+        {
+            var dsp = new DijkstraShortestPaths<>(graph, sources.get(row), DspEdge::weight);
+            while (!dsp.isCompleted())
+            {
+                dsp.step();
+            }
+
+            for (int column = 0; column < targets.size(); ++column)
+            {
+                assertEquals(dsp.getShortestPathCostTo(targets.get(column)), matrix.get(row, column), 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package gd.graphalgorithms;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RadixHeapTest extends FrontierQueueContractTest
+{
+    @Override
+    protected <T> FrontierQueue<T> createQueue()
+    {
+        return new RadixHeap<>(0.5);
+    }
+
+    @Override
+    protected boolean isMonotone()
+    {
+        return true;
+    }
+
+    @Test
+    public void offerWideMonotonePriorities_ExpectsSortedOutput()
+    {
+        var random = new Random(42);
+        var priorityQueue = new RadixHeap<Integer>(1.0);
+        var polled = new ArrayList<Double>();
+        var next = 0;
+
+        priorityQueue.offer(next++, 0.0);
+        while (!priorityQueue.isEmpty())
+        {
+            var priority = priorityQueue.peekPriority();
+            priorityQueue.poll();
+            polled.add(priority);
+            for (int i = 0; i < 3 && next < 1000; ++i)
+            {
+                priorityQueue.offer(next++, priority + random.nextInt(1 << random.nextInt(20)));
+            }
+        }
+
+        var expected = new ArrayList<>(polled);
+        Collections.sort(expected);
+        assertEquals(1000, polled.size());
+        assertEquals(expected, polled);
+    }
+}
@@ -0,0 +1,112 @@
+package gd.graphalgorithms;
+
+import gd.graph.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortestPathTreeCacheTest
+{
+    Graph<String, Integer> graph;
+    ShortestPathTreeCache<String, Integer> cache;
+
+    @BeforeEach
+    public void setupCache()
+    {
+        graph = new Graph<>();
+        graph.addVertex("A");
+        graph.addVertex("B");
+        graph.addVertex("C");
+        graph.addVertex("D");
+        graph.addEdge("A", "B", 2);
+        graph.addEdge("A", "C", 2);
+        graph.addEdge("B", "D", 1);
+        graph.addEdge("C", "D", 2);
+
+        cache = new ShortestPathTreeCache<>(graph, Double::valueOf, 100);
+    }
+
+    @Test
+    public void getSameSourceTwice_ExpectsCachedTreeReturned()
+    {
+        var first = cache.get("A");
+        var second = cache.get("A");
+
+        assertSame(first, second);
+        assertTrue(first.isCompleted());
+        assertEquals(3.0, first.getShortestPathCostTo("D"));
+        assertEquals(new ShortestPathTreeCache.Statistics(1, 1, 0, 0), cache.getStatistics());
+        assertEquals(0.5, cache.getStatistics().hitRate());
+    }
+
+    @Test
+    public void exceedCapacity_ExpectsLeastRecentlyUsedTreeEvicted()
+    {
+        //Trees from A, B and C settle 4, 2 and 2 vertices
+        var smallCache = new ShortestPathTreeCache<>(graph, Double::valueOf, 6);
+        var treeFromA = smallCache.get("A");
+        var treeFromB = smallCache.get("B");
+        smallCache.get("A");
+        smallCache.get("C");
+
+        assertEquals(1, smallCache.getStatistics().evictions());
+        assertEquals(6, smallCache.getSettledVertexCount());
+        assertSame(treeFromA, smallCache.get("A"));
+        assertNotSame(treeFromB, smallCache.get("B"));
+    }
+
+    @Test
+    public void modifyGraph_ExpectsCachedTreesInvalidated()
+    {
+        var before = cache.get("A");
+
+        graph.removeEdge("B", "D");
+        var afterRemoveEdge = cache.get("A");
+        assertNotSame(before, afterRemoveEdge);
+        assertEquals(4.0, afterRemoveEdge.getShortestPathCostTo("D"));
+
+        graph.addEdge("A", "D", 1);
+        assertEquals(1.0, cache.get("A").getShortestPathCostTo("D"));
+
+        graph.removeVertex("D");
+        assertEquals(Double.MAX_VALUE, cache.get("A").getShortestPathCostTo("D"));
+
+        assertEquals(3, cache.getStatistics().invalidations());
+        assertEquals(4, cache.getStatistics().misses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void modifyGraph_ExpectsCachedTreesDroppedBeforeNextGet()
+    {
+        cache.get("A");
+        cache.get("B");
+
+        graph.addEdge("D", "A", 1);
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getSettledVertexCount());
+        assertEquals(1, cache.getStatistics().invalidations());
+    }
+
+    @Test
+    public void modifyGraphAfterDetach_ExpectsCachedTreesKept()
+    {
+        cache.get("A");
+        cache.detach();
+
+        graph.addEdge("D", "A", 1);
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void stepCachedTree_ExpectsThrowsException()
+    {
+        var tree = cache.get("A");
+
+        assertThrows(UnsupportedOperationException.class, tree::step);
+        assertSame(tree, cache.get("A"));
+        assertEquals(3.0, cache.get("A").getShortestPathCostTo("D"));
+    }
+}
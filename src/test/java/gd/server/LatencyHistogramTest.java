@@ -0,0 +1,50 @@
+package gd.server;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest
+{
+    @Test
+    public void getPercentileOfEmptyHistogram_ExpectsZero()
+    {
+        var histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0.99));
+    }
+
+    @Test
+    public void recordUniformValues_ExpectsPercentilesWithinBucketError()
+    {
+        var histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 10_000; ++micros)
+        {
+            histogram.record(micros);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000, histogram.getMax());
+        assertEquals(5_000, histogram.getPercentile(0.5), 5_000 / 16.0);
+        assertEquals(9_900, histogram.getPercentile(0.99), 9_900 / 16.0);
+        assertEquals(10_000, histogram.getPercentile(1.0));
+    }
+
+    @Test
+    public void bucketBounds_ExpectsEveryValueAtMostItsUpperBound()
+    {
+        for (var value : new long[] { 0, 1, 15, 16, 17, 31, 32, 33, 1_000, 123_456_789, Long.MAX_VALUE })
+        {
+            var index = LatencyHistogram.indexOf(value);
+            assertTrue(value <= LatencyHistogram.upperBoundOf(index), "Value " + value);
+            assertTrue(index == 0 || value > LatencyHistogram.upperBoundOf(index - 1), "Value " + value);
+        }
+    }
+
+    @Test
+    public void getPercentileOutOfRange_ExpectsIllegalArgumentException()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram().getPercentile(1.5));
+    }
+}
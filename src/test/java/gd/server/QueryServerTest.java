@@ -0,0 +1,108 @@
+package gd.server;
+
+import gd.graph.*;
+import gd.graphalgorithms.*;
+import gd.utilities.*;
+import org.junit.jupiter.api.*;
+
+import java.net.*;
+import java.net.http.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryServerTest
+{
+    private Graph<DspVertex, DspEdge> graph;
+    private QueryServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    public void startServer() throws Exception
+    {
+        graph = TestData.generateGridGraph(5, 3);
+        var hierarchy = ContractionHierarchy.build(CsrGraph.of(graph, DspEdge::weight));
+        var options = new QueryServer.Options(InetAddress.getLoopbackAddress(), 0, 2, 4, Duration.ofSeconds(1), 0);
+
+        server = new QueryServer(hierarchy, options);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void stopServer()
+    {
+        server.stop(Duration.ZERO);
+    }
+
+    @Test
+    public void queryRoute_ExpectsSameCostAsDijkstraShortestPaths() throws Exception
+    {
+        var vertices = graph.getVertices().toArray(DspVertex[]::new);
+        var source = vertices[0];
+        var target = vertices[vertices.length - 1];
+
+        var response = get("/route?source=" + encode(source.key()) + "&target=" + encode(target.key()));
+
+        var dsp = new DijkstraShortestPaths<>(graph, source, DspEdge::weight);
+        while (!dsp.isCompleted())
+        {
+            dsp.step();
+        }
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"cost\":" + dsp.getShortestPathCostTo(target)), response.body());
+        assertTrue(response.body().contains("\"path\":[" + Json.quote(source.key())), response.body());
+    }
+
+    @Test
+    public void queryRouteWithAndWithoutPath_ExpectsSameCost() throws Exception
+    {
+        var vertices = graph.getVertices().toArray(DspVertex[]::new);
+        for (var target : vertices)
+        {
+            var route = "/route?source=" + encode(vertices[0].key()) + "&target=" + encode(target.key());
+
+            var withPath = get(route).body();
+            var withoutPath = get(route + "&path=false").body();
+
+            assertEquals(withoutPath.substring(0, withoutPath.indexOf(",\"path\"")), withPath.substring(0, withPath.indexOf(",\"path\"")));
+        }
+    }
+
+    @Test
+    public void queryUnknownVertex_ExpectsNotFound() throws Exception
+    {
+        var key = encode(graph.getVertices().iterator().next().key());
+
+        assertEquals(404, get("/route?source=unknown&target=" + key).statusCode());
+        assertEquals(400, get("/route?source=" + key).statusCode());
+    }
+
+    @Test
+    public void queryStats_ExpectsCompletedQueriesCounted() throws Exception
+    {
+        var key = encode(graph.getVertices().iterator().next().key());
+        for (int i = 0; i < 3; ++i)
+        {
+            get("/route?source=" + key + "&target=" + key + "&path=false");
+        }
+
+        var response = get("/stats");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"completed\":3,\"rejected\":0,"), response.body());
+        assertEquals(3, server.getLatencies().getCount());
+    }
+
+    private HttpResponse<String> get(String pathAndQuery) throws Exception
+    {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + pathAndQuery)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String encode(String value)
+    {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,20 @@
+package gd.utilities;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonTest
+{
+    @Test
+    public void quote_ExpectsJsonEscapes()
+    {
+        assertEquals("\"a\\\"b\\\\c\\n\\u0001\"", Json.quote("a\"b\\c\n\u0001"));
+    }
+
+    @Test
+    public void quotePlainText_ExpectsOnlyQuotesAdded()
+    {
+        assertEquals("\"vertex 1\"", Json.quote("vertex 1"));
+    }
+}